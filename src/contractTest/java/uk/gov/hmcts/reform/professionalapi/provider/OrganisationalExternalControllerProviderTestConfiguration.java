@@ -5,8 +5,10 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
 import uk.gov.hmcts.reform.professionalapi.configuration.ApplicationConfiguration;
 import uk.gov.hmcts.reform.professionalapi.controller.external.OrganisationExternalController;
+import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileAsyncClient;
 import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileFeignClient;
 import uk.gov.hmcts.reform.professionalapi.controller.request.validator.OrganisationCreationRequestValidator;
 import uk.gov.hmcts.reform.professionalapi.controller.request.validator.PaymentAccountValidator;
@@ -15,7 +17,9 @@ import uk.gov.hmcts.reform.professionalapi.controller.request.validator.UpdateOr
 import uk.gov.hmcts.reform.professionalapi.controller.request.validator.UserProfileUpdateRequestValidator;
 import uk.gov.hmcts.reform.professionalapi.controller.request.validator.impl.OrganisationIdentifierValidatorImpl;
 import uk.gov.hmcts.reform.professionalapi.oidc.JwtGrantedAuthoritiesConverter;
+import uk.gov.hmcts.reform.professionalapi.repository.PaymentAccountRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.professionalapi.repository.UserAccountMapRepository;
 import uk.gov.hmcts.reform.professionalapi.service.OrganisationService;
 import uk.gov.hmcts.reform.professionalapi.service.PaymentAccountService;
 import uk.gov.hmcts.reform.professionalapi.service.PrdEnumService;
@@ -23,8 +27,6 @@ import uk.gov.hmcts.reform.professionalapi.service.ProfessionalUserService;
 import uk.gov.hmcts.reform.professionalapi.service.UserAccountMapService;
 import uk.gov.hmcts.reform.professionalapi.service.impl.PaymentAccountServiceImpl;
 
-import javax.persistence.EntityManagerFactory;
-
 @TestConfiguration
 public class OrganisationalExternalControllerProviderTestConfiguration {
 
@@ -38,18 +40,23 @@ public class OrganisationalExternalControllerProviderTestConfiguration {
     @MockBean
     UserProfileFeignClient userProfileFeignClient;
     @MockBean
-    EntityManagerFactory emf;
-    @MockBean
     ProfessionalUserRepository professionalUserRepository;
     @MockBean
+    PaymentAccountRepository paymentAccountRepository;
+    @MockBean
+    UserAccountMapRepository userAccountMapRepository;
+    @MockBean
     UserAccountMapService userAccountMapService;
+    @MockBean
+    PlatformTransactionManager transactionManager;
 
     @Bean
     @Primary
     public PaymentAccountService paymentAccountService() {
-        return new PaymentAccountServiceImpl(configuration, userProfileFeignClient,
-            emf, professionalUserRepository, organisationService,
-            userAccountMapService);
+        return new PaymentAccountServiceImpl(configuration,
+            new UserProfileAsyncClient(userProfileFeignClient, Runnable::run),
+            professionalUserRepository, paymentAccountRepository, userAccountMapRepository,
+            organisationService, userAccountMapService, transactionManager);
     }
 
     @Bean
@@ -45,6 +45,7 @@ public class DeleteOrganisationIntTest extends AuthorizationEnabledIntegrationTe
             "test-flag-1");
         when(featureToggleService.isFlagEnabled(anyString(), anyString())).thenReturn(false);
         when(featureToggleService.getLaunchDarklyMap()).thenReturn(launchDarklyMap);
+        featureConditionEvaluation.resolveFlagNames();
         Map<String, Object> errorResponseMap = deleteOrganization();
         assertThat(errorResponseMap.get("http_status")).isEqualTo("403");
         assertThat((String) errorResponseMap.get("response_body"))
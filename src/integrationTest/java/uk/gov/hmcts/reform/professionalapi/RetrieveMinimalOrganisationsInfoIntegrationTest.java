@@ -62,6 +62,7 @@ public class RetrieveMinimalOrganisationsInfoIntegrationTest extends Authorizati
         launchDarklyMap.put("OrganisationExternalController.retrieveOrganisationsByStatusWithAddressDetailsOptional",
             "test-flag");
         when(featureToggleService.getLaunchDarklyMap()).thenReturn(launchDarklyMap);
+        featureConditionEvaluation.resolveFlagNames();
 
         setUpTestData();
         List<OrganisationMinimalInfoResponse> responseList = (List<OrganisationMinimalInfoResponse>)
@@ -98,6 +99,7 @@ public class RetrieveMinimalOrganisationsInfoIntegrationTest extends Authorizati
             "test-flag");
         when(featureToggleService.isFlagEnabled(anyString(), anyString())).thenReturn(false);
         when(featureToggleService.getLaunchDarklyMap()).thenReturn(launchDarklyMap);
+        featureConditionEvaluation.resolveFlagNames();
         setUpTestData();
         Map<String, Object> errorResponseMap = (Map<String, Object>) professionalReferenceDataClient
             .retrieveOrganisationsWithMinimalInfo(userIdentifier, puiCaa, ACTIVE, true, ErrorResponse.class);
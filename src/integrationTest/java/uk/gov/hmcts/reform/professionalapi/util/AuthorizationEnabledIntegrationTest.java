@@ -157,10 +157,14 @@ public abstract class AuthorizationEnabledIntegrationTest extends SpringBootInte
     @MockBean
     protected FeatureToggleServiceImpl featureToggleService;
 
+    @Autowired
+    protected FeatureConditionEvaluation featureConditionEvaluation;
+
     @Before
     public void setUpClient() {
         professionalReferenceDataClient = new ProfessionalReferenceDataClient(port, issuer, expiration);
         when(featureToggleService.isFlagEnabled(anyString(), anyString())).thenReturn(true);
+        featureConditionEvaluation.resolveFlagNames();
     }
 
     @Before
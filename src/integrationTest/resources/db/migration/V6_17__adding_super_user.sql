@@ -0,0 +1 @@
+create view super_user as select * from super_user_view;
@@ -0,0 +1,49 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.hmcts.reform.professionalapi.oidc.UserInfoCacheExpiry;
+
+@Configuration
+public class CacheConfiguration {
+
+    public static final String USER_PROFILE_CACHE = "userProfiles";
+    public static final String LAST_KNOWN_USER_PROFILE_CACHE = "lastKnownUserProfiles";
+    public static final String IDAM_USER_INFO_CACHE = "idamUserInfo";
+    public static final String ORGANISATION_IDENTIFIER_CACHE = "organisationIdentifiers";
+
+    /**
+     * Caffeine backed caches, each with its own spec. Statistics are recorded so that actuator publishes
+     * cache.gets, cache.puts and cache.evictions for every cache registered here. IDAM user info is kept per
+     * bearer token until the token expires, so it is sized rather than given a spec.
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${userProfileCacheSpec}") String userProfileCacheSpec,
+            @Value("${lastKnownUserProfileCacheSpec}") String lastKnownUserProfileCacheSpec,
+            @Value("${organisationIdentifierCacheSpec}") String organisationIdentifierCacheSpec,
+            @Value("${idamUserInfoCacheMaximumSize}") long idamUserInfoCacheMaximumSize,
+            @Value("${idamUserInfoCacheMaximumTimeToLiveSeconds}") long idamUserInfoCacheMaximumTimeToLiveSeconds) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USER_PROFILE_CACHE, Caffeine.from(userProfileCacheSpec).build());
+        cacheManager.registerCustomCache(LAST_KNOWN_USER_PROFILE_CACHE,
+                Caffeine.from(lastKnownUserProfileCacheSpec).build());
+        cacheManager.registerCustomCache(ORGANISATION_IDENTIFIER_CACHE,
+                Caffeine.from(organisationIdentifierCacheSpec).build());
+        cacheManager.registerCustomCache(IDAM_USER_INFO_CACHE, Caffeine.newBuilder()
+                .maximumSize(idamUserInfoCacheMaximumSize)
+                .expireAfter(new UserInfoCacheExpiry(Duration.ofSeconds(idamUserInfoCacheMaximumTimeToLiveSeconds),
+                        Clock.systemUTC()))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
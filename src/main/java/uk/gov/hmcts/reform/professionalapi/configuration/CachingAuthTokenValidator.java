@@ -0,0 +1,135 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import static uk.gov.hmcts.reform.professionalapi.oidc.TokenHashing.sha256;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import lombok.AllArgsConstructor;
+import uk.gov.hmcts.reform.authorisation.exceptions.InvalidTokenException;
+import uk.gov.hmcts.reform.authorisation.validators.AuthTokenValidator;
+
+/**
+ * Remembers the S2S service's answer for each ServiceAuthorization token, keyed by a SHA-256 hash of the token,
+ * so that ServiceAuthFilter only calls the S2S service the first time it sees a token. An accepted token is
+ * kept until its exp claim, or for the maximum time to live if that is sooner. A rejected token is kept for the
+ * negative time to live, so a client retrying a bad token is turned away without another call. Any other
+ * failure, such as the S2S service being down, is not cached. Lookups are counted in s2s.verification.cache,
+ * tagged hit, negative_hit or miss, where a miss is a lookup that called the S2S service.
+ */
+public class CachingAuthTokenValidator implements AuthTokenValidator {
+
+    static final String METRIC = "s2s.verification.cache";
+
+    private static final String BEARER = "Bearer ";
+
+    private final AuthTokenValidator delegate;
+    private final Duration maximumTimeToLive;
+    private final Duration negativeTimeToLive;
+    private final Clock clock;
+    private final Cache<String, Verification> verifications;
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+
+    public CachingAuthTokenValidator(AuthTokenValidator delegate, long maximumSize, Duration maximumTimeToLive,
+                                     Duration negativeTimeToLive, Clock clock, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maximumTimeToLive = maximumTimeToLive;
+        this.negativeTimeToLive = negativeTimeToLive;
+        this.clock = clock;
+        this.verifications = Caffeine.newBuilder().maximumSize(maximumSize)
+                .expireAfter(new VerificationExpiry()).build();
+        this.hits = meterRegistry.counter(METRIC, "outcome", "hit");
+        this.negativeHits = meterRegistry.counter(METRIC, "outcome", "negative_hit");
+        this.misses = meterRegistry.counter(METRIC, "outcome", "miss");
+    }
+
+    @Override
+    public void validate(String token) {
+        getServiceName(token);
+    }
+
+    @Override
+    public void validate(String token, List<String> roles) {
+        delegate.validate(token, roles);
+    }
+
+    @Override
+    public String getServiceName(String token) {
+        AtomicBoolean verified = new AtomicBoolean();
+        Verification verification = verifications.get(sha256(token), key -> {
+            verified.set(true);
+            return verify(token);
+        });
+        if (!verified.get() && verification.rejection == null) {
+            hits.increment();
+        } else if (!verified.get()) {
+            negativeHits.increment();
+        }
+        if (verification.rejection != null) {
+            throw new InvalidTokenException(verification.rejection.getMessage(), verification.rejection.getCause());
+        }
+        return verification.serviceName;
+    }
+
+    private Verification verify(String token) {
+        misses.increment();
+        Instant now = clock.instant();
+        try {
+            String serviceName = delegate.getServiceName(token);
+            return new Verification(serviceName, null, acceptedUntil(token, now.plus(maximumTimeToLive)));
+        } catch (InvalidTokenException ex) {
+            return new Verification(null, ex, now.plus(negativeTimeToLive));
+        }
+    }
+
+    private static Instant acceptedUntil(String token, Instant latest) {
+        String jwt = token.startsWith(BEARER) ? token.substring(BEARER.length()) : token;
+        try {
+            Date expiresAt = JWT.decode(jwt).getExpiresAt();
+            return expiresAt == null || expiresAt.toInstant().isAfter(latest) ? latest : expiresAt.toInstant();
+        } catch (JWTDecodeException ex) {
+            return latest;
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class Verification {
+
+        private final String serviceName;
+        private final InvalidTokenException rejection;
+        private final Instant expiresAt;
+    }
+
+    private final class VerificationExpiry implements Expiry<String, Verification> {
+
+        @Override
+        public long expireAfterCreate(String key, Verification value, long currentTime) {
+            Duration untilExpiry = Duration.between(clock.instant(), value.expiresAt);
+            return untilExpiry.isNegative() ? 0 : untilExpiry.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Verification value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Verification value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
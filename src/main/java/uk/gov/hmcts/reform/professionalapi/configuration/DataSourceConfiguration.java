@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+@Configuration
+public class DataSourceConfiguration {
+
+    private static final String POOL_PROPERTIES_PREFIX = "spring.datasource.hikari";
+
+    /**
+     * A pool for the spring.datasource primary and one for each of readReplicaUrls. Replica pools share the
+     * primary's credentials and spring.datasource.hikari settings. With no replicas configured every
+     * connection comes from the primary. The pools sit behind the router rather than being beans themselves, so
+     * they publish their hikaricp.connections.* metrics, tagged by pool name, here.
+     */
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+            DataSourceProperties dataSourceProperties, Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${readReplicaUrls:}") String readReplicaUrls,
+            @Value("${readReplicaRetryIntervalSeconds:30}") long readReplicaRetryIntervalSeconds) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        DataSource primary = pool(dataSourceProperties, environment, registry, dataSourceProperties.determineUrl(),
+                "primary");
+        List<String> replicaUrls = Arrays.stream(StringUtils.commaDelimitedListToStringArray(readReplicaUrls))
+                .map(String::trim).filter(StringUtils::hasText).collect(Collectors.toList());
+        List<DataSource> replicas = IntStream.range(0, replicaUrls.size())
+                .mapToObj(i -> pool(dataSourceProperties, environment, registry, replicaUrls.get(i),
+                        "replica-" + i))
+                .collect(Collectors.toList());
+        return new ReadReplicaRoutingDataSource(primary, replicas,
+                Duration.ofSeconds(readReplicaRetryIntervalSeconds), Clock.systemUTC());
+    }
+
+    /**
+     * JPA asks for a connection as soon as a transaction begins, before Spring has marked the transaction
+     * read-only, so the connection is fetched lazily on the first statement and routed then.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    HikariDataSource pool(DataSourceProperties dataSourceProperties, Environment environment,
+                          MeterRegistry meterRegistry, String url, String poolName) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).url(url).build();
+        Binder.get(environment).bind(POOL_PROPERTIES_PREFIX, Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        if (meterRegistry != null) {
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return dataSource;
+    }
+}
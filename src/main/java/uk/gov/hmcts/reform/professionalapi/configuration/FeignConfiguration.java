@@ -1,10 +1,26 @@
 package uk.gov.hmcts.reform.professionalapi.configuration;
 
+import feign.Client;
 import feign.codec.Encoder;
 import feign.form.spring.SpringFormEncoder;
+import feign.httpclient.ApacheHttpClient;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.cloud.openfeign.support.SpringEncoder;
 import org.springframework.context.annotation.Bean;
@@ -22,4 +38,70 @@ public class FeignConfiguration {
     ) {
         return new SpringFormEncoder(new SpringEncoder(messageConverters));
     }
+
+    /**
+     * Connection pool shared by the Feign clients. The User Profile route gets its own limit as it carries
+     * most of PRD's downstream traffic.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager feignConnectionManager(
+            @Value("${feign.httpclient.max-connections}") int maxConnections,
+            @Value("${feign.httpclient.max-connections-per-route}") int maxConnectionsPerRoute,
+            @Value("${feign.httpclient.time-to-live}") long timeToLiveSeconds,
+            @Value("${userProfUrl}") String userProfileUrl,
+            @Value("${userProfileMaxConnectionsPerRoute}") int userProfileMaxConnectionsPerRoute) {
+        PoolingHttpClientConnectionManager connectionManager
+                = new PoolingHttpClientConnectionManager(timeToLiveSeconds, TimeUnit.SECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        connectionManager.setMaxPerRoute(toRoute(userProfileUrl), userProfileMaxConnectionsPerRoute);
+        return connectionManager;
+    }
+
+    /**
+     * Connect and read timeouts are applied per request by Feign from feign.client.config, so only pooling,
+     * keep-alive and idle eviction are configured on the client itself.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient feignHttpClient(
+            PoolingHttpClientConnectionManager feignConnectionManager,
+            @Value("${feignKeepAliveMs}") long keepAliveMs,
+            @Value("${feignIdleConnectionEvictionMs}") long idleConnectionEvictionMs) {
+        return HttpClientBuilder.create()
+                .setConnectionManager(feignConnectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy(keepAliveMs))
+                .evictExpiredConnections()
+                .evictIdleConnections(idleConnectionEvictionMs, TimeUnit.MILLISECONDS)
+                .disableCookieManagement()
+                .useSystemProperties()
+                .build();
+    }
+
+    @Bean
+    public Client feignClient(CloseableHttpClient feignHttpClient) {
+        return new ApacheHttpClient(feignHttpClient);
+    }
+
+    /**
+     * Publishes leased, pending and available connection counts as httpcomponents.httpclient.pool.* metrics.
+     */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(PoolingHttpClientConnectionManager feignConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(feignConnectionManager, "feign");
+    }
+
+    private ConnectionKeepAliveStrategy keepAliveStrategy(long keepAliveMs) {
+        return (response, context) -> {
+            long serverKeepAliveMs = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response,
+                    context);
+            return serverKeepAliveMs > 0 ? Math.min(serverKeepAliveMs, keepAliveMs) : keepAliveMs;
+        };
+    }
+
+    private HttpRoute toRoute(String url) {
+        URI uri = URI.create(url);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getHost(), port, uri.getScheme()), null, secure);
+    }
 }
@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * The caller's headers that the Feign clients forward to downstream services (feign.allow.headers), copied
+ * out of the current request into plain values. A task handed to another thread carries this copy instead
+ * of the live request, which the container may recycle before a slow task finishes.
+ */
+@Slf4j
+public final class ForwardedHeaders {
+
+    private static final ThreadLocal<ForwardedHeaders> HANDED_OVER = new ThreadLocal<>();
+    private static final ForwardedHeaders NONE = new ForwardedHeaders(Collections.emptyMap());
+
+    private final Map<String, String> headers;
+
+    private ForwardedHeaders(Map<String, String> headers) {
+        this.headers = headers;
+    }
+
+    /**
+     * The headers handed over to this thread by wrap, otherwise the allowed headers of the current request.
+     */
+    public static ForwardedHeaders current(Collection<String> allowedHeaders) {
+        ForwardedHeaders handedOver = HANDED_OVER.get();
+        if (handedOver != null) {
+            return handedOver;
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return NONE;
+        }
+        HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
+        Enumeration<String> headerNames = request.getHeaderNames();
+        if (headerNames == null) {
+            log.warn("FeignHeadConfiguration:: Failed to get request header!");
+            return NONE;
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        while (headerNames.hasMoreElements()) {
+            String name = headerNames.nextElement();
+            if (allowedHeaders.contains(name.toLowerCase())) {
+                headers.put(name, request.getHeader(name));
+            }
+        }
+        return new ForwardedHeaders(Collections.unmodifiableMap(headers));
+    }
+
+    public Map<String, String> asMap() {
+        return headers;
+    }
+
+    public String get(String name) {
+        return headers.entrySet().stream().filter(header -> header.getKey().equalsIgnoreCase(name))
+                .map(Map.Entry::getValue).findFirst().orElse(null);
+    }
+
+    /**
+     * Runs the task with these headers handed over to whichever thread runs it.
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            ForwardedHeaders previous = HANDED_OVER.get();
+            HANDED_OVER.set(this);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    HANDED_OVER.remove();
+                } else {
+                    HANDED_OVER.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import java.util.OptionalLong;
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateCacheConfiguration {
+
+    public static final String PRD_ENUM_REGION = "prdEnum";
+    public static final String PRD_ENUM_QUERY_REGION = "prdEnumQueries";
+    public static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String DEFAULT_UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Caffeine backed JCache regions for the Hibernate second-level cache. The regions are local to each
+     * instance and are not invalidated by writes made on other instances, by the bulk load's COPY or by
+     * database triggers, so they hold only read-only reference data: PrdEnum and its queries. Organisations
+     * and their children are always read from the database. Hit, miss and put counts per region are published
+     * as hibernate.second.level.cache.* metrics while hibernate.generate_statistics is on.
+     */
+    @Bean
+    public CacheManager hibernateCacheManager(@Value("${prdEnumCacheMaximumSize}") long prdEnumCacheMaximumSize) {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        cacheManager.createCache(PRD_ENUM_REGION, regionConfiguration(prdEnumCacheMaximumSize));
+        cacheManager.createCache(PRD_ENUM_QUERY_REGION, regionConfiguration(prdEnumCacheMaximumSize));
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS_REGION, regionConfiguration(prdEnumCacheMaximumSize));
+        cacheManager.createCache(DEFAULT_UPDATE_TIMESTAMPS_REGION, regionConfiguration(0));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    /**
+     * Hibernate stores disassembled entity state, so entries are kept by reference rather than copied on
+     * every read. A maximum size of zero leaves the region unbounded.
+     */
+    private CaffeineConfiguration<Object, Object> regionConfiguration(long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        if (maximumSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        return configuration;
+    }
+}
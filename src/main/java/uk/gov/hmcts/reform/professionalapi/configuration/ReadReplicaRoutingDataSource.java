@@ -0,0 +1,110 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections to read-only transactions, round robin across the replicas, and primary
+ * connections to everything else. A replica that fails to give a connection is skipped for the retry interval
+ * and the read falls over to the next replica, and finally to the primary. Wrap it in a
+ * LazyConnectionDataSourceProxy so the connection is only asked for once the read-only flag has been set.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long retryIntervalMillis;
+    private final Clock clock;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration retryInterval,
+                                        Clock clock) {
+        this.primary = primary;
+        replicas.forEach(replica -> this.replicas.add(new Replica(replica)));
+        this.retryIntervalMillis = retryInterval.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!replicas.isEmpty() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            int first = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                int index = (first + i) % replicas.size();
+                Replica replica = replicas.get(index);
+                if (replica.isAvailable()) {
+                    try {
+                        return connect(replica.dataSource, username, password);
+                    } catch (SQLException ex) {
+                        replica.markUnavailable();
+                        log.warn("Read replica {} is unavailable, retrying it in {} ms: {}", index,
+                                retryIntervalMillis, ex.getMessage());
+                    }
+                }
+            }
+        }
+        return connect(primary, username, password);
+    }
+
+    public boolean isReplicaAvailable(int index) {
+        return replicas.get(index).isAvailable();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : dataSources()) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+
+    private List<DataSource> dataSources() {
+        List<DataSource> dataSources = new ArrayList<>();
+        dataSources.add(primary);
+        replicas.forEach(replica -> dataSources.add(replica.dataSource));
+        return dataSources;
+    }
+
+    private static Connection connect(DataSource dataSource, String username, String password)
+            throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    private final class Replica {
+
+        private final DataSource dataSource;
+        private final AtomicLong unavailableUntil = new AtomicLong();
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isAvailable() {
+            return clock.millis() >= unavailableUntil.get();
+        }
+
+        private void markUnavailable() {
+            unavailableUntil.set(clock.millis() + retryIntervalMillis);
+        }
+    }
+}
@@ -2,6 +2,15 @@ package uk.gov.hmcts.reform.professionalapi.configuration;
 
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import javax.inject.Inject;
 
@@ -19,14 +28,16 @@ import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
 import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.JwtDecoders;
 import org.springframework.security.oauth2.jwt.JwtIssuerValidator;
 import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationFilter;
+import org.springframework.util.StringUtils;
 import uk.gov.hmcts.reform.authorisation.filters.ServiceAuthFilter;
+import uk.gov.hmcts.reform.professionalapi.oidc.CachingJwtDecoder;
 import uk.gov.hmcts.reform.professionalapi.oidc.JwtGrantedAuthoritiesConverter;
+import uk.gov.hmcts.reform.professionalapi.oidc.RefreshingJwkSource;
 
 @Configuration
 @ConfigurationProperties(prefix = "security")
@@ -35,6 +46,8 @@ import uk.gov.hmcts.reform.professionalapi.oidc.JwtGrantedAuthoritiesConverter;
 @SuppressWarnings("unchecked")
 public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
+    private static final int JWK_SET_TIMEOUT_MS = 5000;
+    private static final int JWK_SET_SIZE_LIMIT_BYTES = 51200;
 
     @Value("${spring.security.oauth2.client.provider.oidc.issuer-uri}")
     private String issuerUri;
@@ -95,10 +108,35 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
             .oauth2Client();
     }
 
+    /**
+     * IDAM's signing keys, read from the snapshot file when there is one and then refreshed in the background,
+     * so the context starts without calling IDAM.
+     */
     @Bean
-    JwtDecoder jwtDecoder() {
+    RefreshingJwkSource oidcJwkSource(
+            @Value("${oidcJwkSetUri}") String oidcJwkSetUri,
+            @Value("${oidcJwkSetSnapshotPath}") String oidcJwkSetSnapshotPath,
+            @Value("${oidcJwkSetRefreshIntervalSeconds}") long refreshIntervalSeconds,
+            @Value("${oidcJwkSetMinimumRefreshIntervalSeconds}") long minimumRefreshIntervalSeconds) {
+        RefreshingJwkSource jwkSource = new RefreshingJwkSource(issuerUri, oidcJwkSetUri,
+                StringUtils.hasText(oidcJwkSetSnapshotPath) ? Paths.get(oidcJwkSetSnapshotPath) : null,
+                Duration.ofSeconds(minimumRefreshIntervalSeconds),
+                new DefaultResourceRetriever(JWK_SET_TIMEOUT_MS, JWK_SET_TIMEOUT_MS, JWK_SET_SIZE_LIMIT_BYTES),
+                Clock.systemUTC());
+        jwkSource.start(Duration.ofSeconds(refreshIntervalSeconds));
+        return jwkSource;
+    }
+
+    @Bean
+    JwtDecoder jwtDecoder(RefreshingJwkSource oidcJwkSource,
+                          @Value("${jwtClaimsCacheMaximumSize}") long jwtClaimsCacheMaximumSize,
+                          @Value("${jwtClaimsCacheMaximumTimeToLiveSeconds}") long maximumTimeToLiveSeconds) {
 
-        NimbusJwtDecoder jwtDecoder = (NimbusJwtDecoder) JwtDecoders.fromOidcIssuerLocation(issuerUri);
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, oidcJwkSource));
+        // claims are checked by the validator below rather than by Nimbus
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> { });
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
 
         // We are using issuerOverride instead of issuerUri as SIDAM has the wrong issuer at the moment
         OAuth2TokenValidator<Jwt> withTimestamp = new JwtTimestampValidator();
@@ -107,7 +145,8 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
         //OAuth2TokenValidator<Jwt> validator = new DelegatingOAuth2TokenValidator<>(withTimestamp, withIssuer);
         OAuth2TokenValidator<Jwt> validator = new DelegatingOAuth2TokenValidator<>(withTimestamp);
         jwtDecoder.setJwtValidator(validator);
-        return jwtDecoder;
+        return new CachingJwtDecoder(jwtDecoder, jwtClaimsCacheMaximumSize,
+                Duration.ofSeconds(maximumTimeToLiveSeconds), Clock.systemUTC());
     }
 }
 
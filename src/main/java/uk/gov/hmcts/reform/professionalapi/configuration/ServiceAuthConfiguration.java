@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import uk.gov.hmcts.reform.authorisation.ServiceAuthorisationApi;
+import uk.gov.hmcts.reform.authorisation.validators.AuthTokenValidator;
+import uk.gov.hmcts.reform.authorisation.validators.ServiceAuthTokenValidator;
+
+@Configuration
+public class ServiceAuthConfiguration {
+
+    /**
+     * The validator ServiceAuthFilter checks each ServiceAuthorization header with. It wraps the library's own
+     * validator so that a token is only sent to the S2S service once while its answer is cached.
+     */
+    @Bean
+    @Primary
+    public AuthTokenValidator cachingAuthTokenValidator(
+            ServiceAuthorisationApi serviceAuthorisationApi, MeterRegistry meterRegistry,
+            @Value("${s2sVerificationCacheMaximumSize}") long s2sVerificationCacheMaximumSize,
+            @Value("${s2sVerificationCacheMaximumTimeToLiveSeconds}") long maximumTimeToLiveSeconds,
+            @Value("${s2sVerificationNegativeCacheSeconds}") long negativeCacheSeconds) {
+        return new CachingAuthTokenValidator(new ServiceAuthTokenValidator(serviceAuthorisationApi),
+                s2sVerificationCacheMaximumSize, Duration.ofSeconds(maximumTimeToLiveSeconds),
+                Duration.ofSeconds(negativeCacheSeconds), Clock.systemUTC(), meterRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class UserProfileExecutorConfiguration {
+
+    public static final String USER_PROFILE_EXECUTOR = "userProfileExecutor";
+    public static final String USER_PROFILE_HEDGE_EXECUTOR = "userProfileHedgeExecutor";
+
+    /**
+     * Bounded I/O pool on which UserProfileAsyncClient runs User Profile calls. When the queue is full the
+     * calling thread runs the call itself, which throttles callers instead of rejecting their requests.
+     */
+    @Bean(name = USER_PROFILE_EXECUTOR)
+    public ThreadPoolTaskExecutor userProfileExecutor(
+            @Value("${userProfileFanOutPoolSize:8}") int poolSize,
+            @Value("${userProfileFanOutQueueCapacity:64}") int queueCapacity,
+            FeignHeaderConfig feignHeaderConfig) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("up-io-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(forwardedHeadersDecorator(feignHeaderConfig));
+        return executor;
+    }
+
+    /**
+     * Pool for the attempts of hedged User Profile reads. It has no queue, so an attempt never waits behind
+     * slow calls; when every thread is busy the calling thread makes the attempt itself, which is unhedged.
+     */
+    @Bean(name = USER_PROFILE_HEDGE_EXECUTOR)
+    public ThreadPoolTaskExecutor userProfileHedgeExecutor(@Value("${userProfileHedgePoolSize:16}") int poolSize,
+                                                           FeignHeaderConfig feignHeaderConfig) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("up-hedge-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(forwardedHeadersDecorator(feignHeaderConfig));
+        return executor;
+    }
+
+    /**
+     * The Feign interceptor forwards the caller's Authorization headers, so they are copied when the task is
+     * submitted and travel with it onto the worker thread. The live request is not handed over: a task may
+     * still be running after the request has completed and been recycled.
+     */
+    static TaskDecorator forwardedHeadersDecorator(FeignHeaderConfig feignHeaderConfig) {
+        return runnable -> ForwardedHeaders.current(feignHeaderConfig.getHeaders()).wrap(runnable);
+    }
+}
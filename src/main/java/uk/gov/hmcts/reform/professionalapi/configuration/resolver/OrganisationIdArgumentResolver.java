@@ -17,10 +17,8 @@ import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
-import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
-import uk.gov.hmcts.reform.professionalapi.domain.ProfessionalUser;
 import uk.gov.hmcts.reform.professionalapi.oidc.JwtGrantedAuthoritiesConverter;
-import uk.gov.hmcts.reform.professionalapi.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.professionalapi.service.ProfessionalUserService;
 
 
 @Component
@@ -28,7 +26,7 @@ import uk.gov.hmcts.reform.professionalapi.repository.ProfessionalUserRepository
 public class OrganisationIdArgumentResolver implements HandlerMethodArgumentResolver {
 
     @Autowired
-    ProfessionalUserRepository professionalUserRepository;
+    ProfessionalUserService professionalUserService;
 
     @Autowired
     JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
@@ -53,19 +51,13 @@ public class OrganisationIdArgumentResolver implements HandlerMethodArgumentReso
                 = (HttpServletRequest) nativeWebRequest.getNativeRequest();
         String userId;
         String orgId = null;
-        ProfessionalUser professionalUser;
-        Organisation organisation;
 
         UserInfo userInfo = jwtGrantedAuthoritiesConverter.getUserInfo();
 
         if (null != userInfo && StringUtils.isNotEmpty(userInfo.getUid())) {
             userId = userInfo.getUid();
-            professionalUser = professionalUserRepository.findByUserIdentifier(userId.trim());
-            if (null != professionalUser && null != professionalUser.getOrganisation()) {
-
-                organisation = professionalUser.getOrganisation();
-                orgId = organisation.getOrganisationIdentifier();
-            } else {
+            orgId = professionalUserService.findOrganisationIdentifierByUserIdentifier(userId.trim());
+            if (null == orgId) {
                 log.error("{}:: ProfessionalUserUser info null::", loggingComponentName);
                 throw new AccessDeniedException(ERROR_MESSAGE_403_FORBIDDEN);
             }
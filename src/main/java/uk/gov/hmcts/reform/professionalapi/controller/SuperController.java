@@ -5,7 +5,10 @@ import static java.util.Objects.requireNonNull;
 import static org.apache.commons.lang.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.springframework.util.CollectionUtils.isEmpty;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ERROR_MESSAGE_SEARCH_NAME_TOO_SHORT;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ERROR_MESSAGE_SEARCH_PARAMETER_REQUIRED;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.FIRST_NAME;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.MINIMUM_SEARCH_NAME_LENGTH;
 import static uk.gov.hmcts.reform.professionalapi.controller.request.validator.OrganisationCreationRequestValidator.isInputOrganisationStatusValid;
 import static uk.gov.hmcts.reform.professionalapi.controller.request.validator.OrganisationCreationRequestValidator.validateEmail;
 import static uk.gov.hmcts.reform.professionalapi.controller.request.validator.OrganisationCreationRequestValidator.validateNewUserCreationRequestForMandatoryFields;
@@ -13,6 +16,8 @@ import static uk.gov.hmcts.reform.professionalapi.controller.request.validator.U
 import static uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus.ACTIVE;
 import static uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus.valueOf;
 import static uk.gov.hmcts.reform.professionalapi.util.RefDataUtil.createPageableObject;
+import static uk.gov.hmcts.reform.professionalapi.util.RefDataUtil.generateResponseEntityWithPaginationHeader;
+import static uk.gov.hmcts.reform.professionalapi.util.RefDataUtil.getPageSize;
 import static uk.gov.hmcts.reform.professionalapi.util.RefDataUtil.getReturnRolesValue;
 import static uk.gov.hmcts.reform.professionalapi.util.RefDataUtil.getShowDeletedValue;
 import static uk.gov.hmcts.reform.professionalapi.util.RefDataUtil.removeAllSpaces;
@@ -23,15 +28,16 @@ import feign.Response;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -57,9 +63,11 @@ import uk.gov.hmcts.reform.professionalapi.controller.response.NewUserResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationMinimalInfoResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationPbaResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationResponse;
+import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationSearchResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.UserProfileCreationResponse;
 import uk.gov.hmcts.reform.professionalapi.domain.LanguagePreference;
 import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchCriteria;
 import uk.gov.hmcts.reform.professionalapi.domain.ProfessionalUser;
 import uk.gov.hmcts.reform.professionalapi.domain.SuperUser;
 import uk.gov.hmcts.reform.professionalapi.domain.UserCategory;
@@ -281,19 +289,36 @@ public abstract class SuperController {
 
         isInputOrganisationStatusValid(status, allowedOrganisationStatus);
 
-        List<Organisation> organisations = organisationService.getOrganisationByStatus(ACTIVE);
+        List<OrganisationMinimalInfoResponse> organisationMinimalInfoResponses =
+                organisationService.getOrganisationMinimalInfoByStatus(ACTIVE, address);
 
-        if (isEmpty(organisations)) {
+        if (isEmpty(organisationMinimalInfoResponses)) {
             throw new ResourceNotFoundException("No Organisations found");
         }
 
-        List<OrganisationMinimalInfoResponse> organisationMinimalInfoResponses =
-                organisations.stream().map(organisation -> new OrganisationMinimalInfoResponse(organisation, address))
-                        .collect(Collectors.toList());
-
         return ResponseEntity.status(200).body(organisationMinimalInfoResponses);
     }
 
+    protected ResponseEntity<Object> searchOrganisationsBy(OrganisationSearchCriteria criteria, Integer page,
+                                                           Integer size) {
+        if (criteria.isEmpty()) {
+            throw new InvalidRequest(ERROR_MESSAGE_SEARCH_PARAMETER_REQUIRED);
+        }
+        if (!isBlank(criteria.getName()) && criteria.getName().trim().length() < MINIMUM_SEARCH_NAME_LENGTH) {
+            throw new InvalidRequest(ERROR_MESSAGE_SEARCH_NAME_TOO_SHORT);
+        }
+
+        Pageable pageable = createPageableObject(page == null ? 0 : page, size, Sort.unsorted());
+        Page<OrganisationSearchResponse> organisations = organisationService.searchOrganisations(criteria, pageable);
+
+        if (organisations.isEmpty()) {
+            throw new ResourceNotFoundException("No Organisations found");
+        }
+
+        HttpHeaders headers = generateResponseEntityWithPaginationHeader(pageable, organisations, null);
+        return ResponseEntity.status(200).headers(headers).body(organisations.getContent());
+    }
+
     protected ResponseEntity<Object> inviteUserToOrganisation(NewUserCreationRequest newUserCreationRequest,
                                                               String organisationIdentifier, String userId) {
 
@@ -379,7 +404,7 @@ public abstract class SuperController {
 
     protected ResponseEntity<Object> searchUsersByOrganisation(String organisationIdentifier, String showDeleted,
                                                                Boolean returnRoles, String status, Integer page,
-                                                               Integer size) {
+                                                               Integer size, String pageToken) {
 
         organisationCreationRequestValidator.validateOrganisationIdentifier(organisationIdentifier);
         Organisation existingOrganisation = organisationService.getOrganisationByOrgIdentifier(organisationIdentifier);
@@ -390,7 +415,11 @@ public abstract class SuperController {
         showDeleted = getShowDeletedValue(showDeleted);
         returnRoles = getReturnRolesValue(returnRoles);
 
-        if (page != null) {
+        if (pageToken != null) {
+            responseEntity = professionalUserService
+                    .findProfessionalUsersByOrganisationWithPageToken(existingOrganisation, showDeleted, returnRoles,
+                            status, pageToken, getPageSize(size));
+        } else if (page != null) {
             Pageable pageable = createPageableObject(page, size, Sort.by(Sort.DEFAULT_DIRECTION, FIRST_NAME));
             responseEntity = professionalUserService
                     .findProfessionalUsersByOrganisationWithPageable(existingOrganisation, showDeleted, returnRoles,
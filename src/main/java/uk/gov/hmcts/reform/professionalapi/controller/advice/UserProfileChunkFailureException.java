@@ -0,0 +1,24 @@
+package uk.gov.hmcts.reform.professionalapi.controller.advice;
+
+import java.util.List;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when some chunks of a bulk User Profile retrieval fail, naming the chunks and the user ids in them.
+ */
+@Getter
+public class UserProfileChunkFailureException extends ExternalApiException {
+
+    private final List<Integer> failedChunks;
+
+    private final List<String> failedUserIds;
+
+    public UserProfileChunkFailureException(HttpStatus httpStatus, String errorMessage, List<Integer> failedChunks,
+                                            List<String> failedUserIds) {
+        super(httpStatus, errorMessage);
+        this.failedChunks = List.copyOf(failedChunks);
+        this.failedUserIds = List.copyOf(failedUserIds);
+    }
+}
@@ -27,6 +27,15 @@ public class ProfessionalApiConstants {
     public static final String ERROR_MESSAGE_INVALID_STATUS_PASSED =
             "Invalid status param provided, only Active status is allowed";
     public static final String FIRST_NAME = "firstName";
+    public static final String ID = "id";
+    public static final String NEXT_PAGE_TOKEN = "nextPageToken";
+    public static final int MINIMUM_SEARCH_NAME_LENGTH = 3;
+    public static final String ERROR_MESSAGE_SEARCH_PARAMETER_REQUIRED =
+            "At least one of name, sraId, companyNumber, postCode or dxNumber must be provided";
+    public static final String ERROR_MESSAGE_SEARCH_NAME_TOO_SHORT = "name must be at least "
+            + MINIMUM_SEARCH_NAME_LENGTH + " characters";
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String TEXT_CSV_VALUE = "text/csv";
     public static final String EMPTY = "";
     public static final String ERROR_MESSAGE_UP_FAILED = "Error while invoking UP";
     public static final String ERROR_MESSAGE_USER_MUST_BE_ACTIVE = "User status must be Active to perform this "
@@ -36,6 +45,8 @@ public class ProfessionalApiConstants {
     public static final int ERROR_CODE_500 = 500;
     public static final int STATUS_CODE_204 = 204;
     public static final int USER_COUNT = 1;
+    public static final int DEFAULT_USER_PROFILE_BATCH_SIZE = 100;
+    public static final long DEFAULT_USER_PROFILE_CHUNK_TIMEOUT_MS = 10000L;
     public static final String ERROR_MESSAGE_400_ADMIN_NOT_PENDING = "The organisation admin is not in Pending state";
     public static final String ERROR_MESSAGE_400_ORG_MORE_THAN_ONE_USER = "The organisation has more than one user"
             .concat("registered with HMCTS");
@@ -103,6 +103,9 @@ public class ProfessionalExternalUserController extends SuperController {
                     required = false, defaultValue = "true") Boolean returnRoles,
             @RequestParam(value = "page", required = false) Integer page,
             @RequestParam(value = "size", required = false) Integer size,
+            @ApiParam(name = "pageToken", value = "Continuation token from the nextPageToken header of the previous "
+                    + "page; send it empty for the first page. Takes precedence over page")
+            @RequestParam(value = "pageToken", required = false) String pageToken,
             @ApiParam(hidden = true) @UserId String userId) {
 
 
@@ -117,7 +120,7 @@ public class ProfessionalExternalUserController extends SuperController {
         }
 
         profUsersEntityResponse = searchUsersByOrganisation(organisationIdentifier, showDeleted, returnRoles, status,
-                page, size);
+                page, size, pageToken);
         return profUsersEntityResponse;
     }
 
@@ -0,0 +1,76 @@
+package uk.gov.hmcts.reform.professionalapi.controller.feign;
+
+import static uk.gov.hmcts.reform.professionalapi.configuration.UserProfileExecutorConfiguration.USER_PROFILE_EXECUTOR;
+
+import feign.Response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.professionalapi.controller.request.DeleteUserProfilesRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.RetrieveUserProfilesRequest;
+
+/**
+ * Asynchronous counterpart of UserProfileFeignClient for paths that make several User Profile calls.
+ * Each call runs through the primary UserProfileFeignClient, so caching, coalescing and the circuit breaker
+ * still apply, but on the bounded userProfileExecutor pool instead of the request thread. Independent
+ * lookups can therefore be issued together and joined once. The caller owns and must close every Response.
+ *
+ * <p>Completing a returned future exceptionally, for example through orTimeout, cancels the call: a call still
+ * queued never runs and a running call is interrupted. A response that arrives after that is closed here.
+ */
+@Component
+public class UserProfileAsyncClient {
+
+    private final UserProfileFeignClient userProfileFeignClient;
+    private final Executor userProfileExecutor;
+
+    public UserProfileAsyncClient(UserProfileFeignClient userProfileFeignClient,
+                                  @Qualifier(USER_PROFILE_EXECUTOR) Executor userProfileExecutor) {
+        this.userProfileFeignClient = userProfileFeignClient;
+        this.userProfileExecutor = userProfileExecutor;
+    }
+
+    public CompletableFuture<Response> getUserProfileById(String userId) {
+        return call(() -> userProfileFeignClient.getUserProfileById(userId));
+    }
+
+    public CompletableFuture<Response> getUserProfileByEmail(String email) {
+        return call(() -> userProfileFeignClient.getUserProfileByEmail(email));
+    }
+
+    public CompletableFuture<Response> getUserProfiles(RetrieveUserProfilesRequest retrieveUserProfilesRequest,
+                                                       String showDeleted, String rolesRequired) {
+        return call(() -> userProfileFeignClient.getUserProfiles(retrieveUserProfilesRequest, showDeleted,
+                rolesRequired));
+    }
+
+    public CompletableFuture<Response> deleteUserProfile(DeleteUserProfilesRequest deleteUserProfileRequest) {
+        return call(() -> userProfileFeignClient.deleteUserProfile(deleteUserProfileRequest));
+    }
+
+    private CompletableFuture<Response> call(Supplier<Response> userProfileCall) {
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                Response response = userProfileCall.get();
+                if (!result.complete(response) && response != null) {
+                    response.close();
+                }
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        }, null);
+        result.whenComplete((response, ex) -> {
+            if (ex != null) {
+                task.cancel(true);
+            }
+        });
+        userProfileExecutor.execute(task);
+        return result;
+    }
+}
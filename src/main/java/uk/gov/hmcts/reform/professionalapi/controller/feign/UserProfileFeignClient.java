@@ -1,5 +1,7 @@
 package uk.gov.hmcts.reform.professionalapi.controller.feign;
 
+import static uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileFeignClientDecorator.USER_PROFILE_FEIGN_CLIENT_DELEGATE;
+
 import feign.Headers;
 import feign.RequestLine;
 import feign.Response;
@@ -19,7 +21,8 @@ import uk.gov.hmcts.reform.professionalapi.controller.request.RetrieveUserProfil
 import uk.gov.hmcts.reform.professionalapi.controller.request.UserProfileCreationRequest;
 import uk.gov.hmcts.reform.professionalapi.domain.UserProfileUpdatedData;
 
-@FeignClient(name = "UserProfileClient", url = "${userProfUrl}", configuration = FeignInterceptorConfiguration.class)
+@FeignClient(name = "UserProfileClient", url = "${userProfUrl}", configuration = FeignInterceptorConfiguration.class,
+        primary = false, qualifier = USER_PROFILE_FEIGN_CLIENT_DELEGATE)
 public interface UserProfileFeignClient {
 
     @PostMapping(value = "/v1/userprofile")
@@ -0,0 +1,330 @@
+package uk.gov.hmcts.reform.professionalapi.controller.feign;
+
+import static java.util.stream.Collectors.joining;
+import static uk.gov.hmcts.reform.professionalapi.configuration.CacheConfiguration.IDAM_USER_INFO_CACHE;
+import static uk.gov.hmcts.reform.professionalapi.configuration.CacheConfiguration.LAST_KNOWN_USER_PROFILE_CACHE;
+import static uk.gov.hmcts.reform.professionalapi.configuration.CacheConfiguration.USER_PROFILE_CACHE;
+import static uk.gov.hmcts.reform.professionalapi.oidc.TokenHashing.sha256;
+import static uk.gov.hmcts.reform.professionalapi.util.JsonFeignResponseUtil.toBufferedResponse;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import feign.Response;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.authorisation.validators.AuthTokenValidator;
+import uk.gov.hmcts.reform.professionalapi.configuration.FeignHeaderConfig;
+import uk.gov.hmcts.reform.professionalapi.configuration.ForwardedHeaders;
+import uk.gov.hmcts.reform.professionalapi.controller.request.DeleteUserProfilesRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.RetrieveUserProfilesRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.UserProfileCreationRequest;
+import uk.gov.hmcts.reform.professionalapi.domain.UserProfileUpdatedData;
+import uk.gov.hmcts.reform.professionalapi.oidc.UserInfoCacheEntry;
+
+/**
+ * Primary UserProfileFeignClient used across PRD. Successful reads are served from the userProfiles cache and
+ * any entry mentioning a user is evicted once a create, modify or delete call for that user succeeds.
+ * Identical reads issued while a call is still outstanding are coalesced onto that call. Every call runs
+ * behind a per-method circuit breaker and bulkhead, and lookups by user id degrade to the last known response.
+ * Cache misses for the GET lookups go through the UserProfileHedgingPolicy.
+ *
+ * <p>Cache and coalescing keys include the authorisation User Profile applies to the call: the service named by
+ * the forwarded ServiceAuthorization token and the IDAM roles of the user whose Authorization token is
+ * forwarded. Callers from the same service with the same roles are given the same answers, so they share
+ * entries, while a response is never handed to a caller User Profile might have refused.
+ *
+ * <p>The caches are local to each instance and only writes made through this instance evict them. A write
+ * through another instance is seen here once the entry expires: after the userProfileCacheSpec expiry for
+ * normal reads, and after the lastKnownUserProfileCacheSpec expiry for the last known responses served while
+ * User Profile is failing.
+ */
+@Component
+@Primary
+@Slf4j
+public class UserProfileFeignClientDecorator implements UserProfileFeignClient {
+
+    public static final String USER_PROFILE_FEIGN_CLIENT_DELEGATE = "userProfileFeignClientDelegate";
+
+    private static final String BY_ID = "id:";
+    private static final String BY_EMAIL = "email:";
+    private static final String BY_USER_IDS = "users:";
+    private static final String BEARER = "Bearer ";
+    private static final Set<String> USER_REFERENCE_FIELDS = Set.of("userIdentifier", "idamId", "email");
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final UserProfileFeignClient userProfileFeignClient;
+    private final Cache<Object, Object> userProfileCache;
+    private final Cache<Object, Object> lastKnownUserProfileCache;
+    private final Cache<Object, Object> userInfoCache;
+    private final AuthTokenValidator authTokenValidator;
+    private final UserProfileHedgingPolicy hedgingPolicy;
+    private final List<String> forwardedHeaders;
+    private final Map<String, CompletableFuture<Response>> inFlightCalls = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> cacheKeysByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger indexedCacheKeys = new AtomicInteger();
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public UserProfileFeignClientDecorator(
+            @Qualifier(USER_PROFILE_FEIGN_CLIENT_DELEGATE) UserProfileFeignClient userProfileFeignClient,
+            CacheManager cacheManager, UserProfileHedgingPolicy hedgingPolicy, FeignHeaderConfig feignHeaderConfig,
+            AuthTokenValidator authTokenValidator) {
+        this.userProfileFeignClient = userProfileFeignClient;
+        this.hedgingPolicy = hedgingPolicy;
+        this.forwardedHeaders = feignHeaderConfig.getHeaders();
+        this.authTokenValidator = authTokenValidator;
+        this.userProfileCache = (Cache<Object, Object>)
+                ((CaffeineCache) cacheManager.getCache(USER_PROFILE_CACHE)).getNativeCache();
+        this.lastKnownUserProfileCache = (Cache<Object, Object>)
+                ((CaffeineCache) cacheManager.getCache(LAST_KNOWN_USER_PROFILE_CACHE)).getNativeCache();
+        this.userInfoCache = (Cache<Object, Object>)
+                ((CaffeineCache) cacheManager.getCache(IDAM_USER_INFO_CACHE)).getNativeCache();
+    }
+
+    @Override
+    public Response createUserProfile(UserProfileCreationRequest userProfileCreationRequest) {
+        Response response = UserProfileHystrixCommand.execute("createUserProfile",
+                () -> userProfileFeignClient.createUserProfile(userProfileCreationRequest), null);
+        if (isSuccessful(response)) {
+            evictEntriesMentioning(userProfileCreationRequest.getEmail());
+        }
+        return response;
+    }
+
+    @Override
+    public Response getUserProfileById(String userId) {
+        return getCachedOrLoad(BY_ID + userId, List.of(userId), "getUserProfileById", () -> hedgingPolicy.execute(
+                "getUserProfileById", () -> userProfileFeignClient.getUserProfileById(userId)), true);
+    }
+
+    @Override
+    public Response getUserProfileByEmail(String email) {
+        return getCachedOrLoad(BY_EMAIL + email, List.of(email), "getUserProfileByEmail", () -> hedgingPolicy
+                .execute("getUserProfileByEmail", () -> userProfileFeignClient.getUserProfileByEmail(email)), false);
+    }
+
+    @Override
+    public Response getUserProfiles(RetrieveUserProfilesRequest retrieveUserProfilesRequest, String showDeleted,
+                                    String rolesRequired) {
+        String key = BY_USER_IDS + showDeleted + ":" + rolesRequired + ":"
+                + String.join(",", retrieveUserProfilesRequest.getUserIds());
+        return getCachedOrLoad(key, retrieveUserProfilesRequest.getUserIds(), "getUserProfiles",
+                () -> userProfileFeignClient.getUserProfiles(retrieveUserProfilesRequest, showDeleted, rolesRequired),
+                true);
+    }
+
+    @Override
+    public Response modifyUserRoles(UserProfileUpdatedData modifyRoles, String userId, String origin) {
+        Response response = UserProfileHystrixCommand.execute("modifyUserRoles",
+                () -> userProfileFeignClient.modifyUserRoles(modifyRoles, userId, origin), null);
+        if (isSuccessful(response)) {
+            evictEntriesMentioning(userId);
+        }
+        return response;
+    }
+
+    @Override
+    public Response deleteUserProfile(DeleteUserProfilesRequest deleteUserProfileRequest) {
+        Response response = UserProfileHystrixCommand.execute("deleteUserProfile",
+                () -> userProfileFeignClient.deleteUserProfile(deleteUserProfileRequest), null);
+        if (isSuccessful(response)) {
+            deleteUserProfileRequest.getUserIds().forEach(this::evictEntriesMentioning);
+        }
+        return response;
+    }
+
+    /**
+     * Returns a buffered copy of the cached response, or calls User Profile and caches the buffered
+     * response when it is successful. Buffered bodies are repeatable, so one entry can serve many callers.
+     * Concurrent misses for the same key share a single outstanding call instead of each issuing their own.
+     * When degradable, a failed call falls back to the last successful response kept for the key.
+     * A response loaded while a write succeeded is returned to its callers but not cached, since it may
+     * predate the write.
+     */
+    private Response getCachedOrLoad(String lookup, Collection<String> requestedUsers, String commandKey,
+                                     Supplier<Response> loader, boolean degradable) {
+        String key = scopeOf() + lookup;
+        Response cachedResponse = (Response) userProfileCache.getIfPresent(key);
+        if (cachedResponse != null) {
+            return cachedResponse;
+        }
+
+        CompletableFuture<Response> call = new CompletableFuture<>();
+        CompletableFuture<Response> inFlightCall = inFlightCalls.putIfAbsent(key, call);
+        if (inFlightCall != null) {
+            return awaitInFlightCall(inFlightCall);
+        }
+
+        long generation = writeGeneration.get();
+        try {
+            Response response = UserProfileHystrixCommand.execute(commandKey,
+                    () -> cacheIfSuccessful(key, requestedUsers, toBufferedResponse(loader.get()), generation),
+                    degradable ? () -> (Response) lastKnownUserProfileCache.getIfPresent(key) : null);
+            call.complete(response);
+            return response;
+        } catch (Throwable ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlightCalls.remove(key, call);
+        }
+    }
+
+    private Response cacheIfSuccessful(String key, Collection<String> requestedUsers, Response response,
+                                       long generation) {
+        if (isSuccessful(response) && writeGeneration.get() == generation) {
+            Set<String> users = referencedUsers(response);
+            requestedUsers.forEach(user -> users.add(normalise(user)));
+            users.forEach(user -> cacheKeysByUser.compute(user, (ignored, keys) -> {
+                Set<String> userKeys = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+                userKeys.add(key);
+                return userKeys;
+            }));
+            userProfileCache.put(key, response);
+            lastKnownUserProfileCache.put(key, response);
+            // A write that started after the check above evicts the key itself, unless it read the index
+            // before the key was added to it, in which case the generation has moved on by now.
+            if (writeGeneration.get() != generation) {
+                userProfileCache.invalidate(key);
+                lastKnownUserProfileCache.invalidate(key);
+            }
+            pruneCacheKeysByUser(users.size());
+        }
+        return response;
+    }
+
+    /**
+     * The calling service and the user's sorted roles, both as already verified for the current request: the
+     * service name from the S2S verification cache and the roles from the IDAM user info cache. A call without
+     * a user token is scoped to its service alone. When either cannot be told, the call is kept to entries of
+     * its own, keyed by a hash of its tokens.
+     */
+    private String scopeOf() {
+        ForwardedHeaders caller = ForwardedHeaders.current(forwardedHeaders);
+        String serviceAuthorization = caller.get("ServiceAuthorization");
+        String authorization = caller.get("Authorization");
+        String serviceName = serviceNameOf(serviceAuthorization);
+        List<String> roles = authorization == null ? List.of() : rolesOf(authorization);
+        if (serviceName == null || roles == null) {
+            return "caller:" + sha256(authorization + "|" + serviceAuthorization) + ":";
+        }
+        return "scope:" + sha256(serviceName + "|" + roles.stream().sorted().collect(joining(","))) + ":";
+    }
+
+    private String serviceNameOf(String serviceAuthorization) {
+        if (serviceAuthorization == null) {
+            return null;
+        }
+        try {
+            return authTokenValidator.getServiceName(serviceAuthorization);
+        } catch (RuntimeException ex) {
+            log.debug("Could not tell the service of a User Profile call: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private List<String> rolesOf(String authorization) {
+        String token = authorization.startsWith(BEARER) ? authorization.substring(BEARER.length()) : authorization;
+        UserInfoCacheEntry entry = (UserInfoCacheEntry) userInfoCache.getIfPresent(sha256(token));
+        return entry == null || entry.getUserInfo().getRoles() == null ? null : entry.getUserInfo().getRoles();
+    }
+
+    Response awaitInFlightCall(CompletableFuture<Response> inFlightCall) {
+        try {
+            return inFlightCall.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw (RuntimeException) ex.getCause();
+        }
+    }
+
+    /**
+     * Removes every entry that mentions the given user id or email, found through the index of the users each
+     * entry was requested for or whose ids and emails its body contains. Emails are compared case-insensitively.
+     * Calls still in flight are forgotten, so that later reads do not join a call that may predate the write.
+     */
+    private void evictEntriesMentioning(String value) {
+        if (value == null) {
+            return;
+        }
+        writeGeneration.incrementAndGet();
+        inFlightCalls.clear();
+        Set<String> keys = cacheKeysByUser.remove(normalise(value));
+        if (keys != null) {
+            userProfileCache.invalidateAll(keys);
+            lastKnownUserProfileCache.invalidateAll(keys);
+            log.debug("Evicted {} cached User Profile entries for a successful write", keys.size());
+        }
+    }
+
+    /**
+     * Entries the caches expire or evict on their own stay in the index until the user is written to. Once the
+     * index holds twice as many keys as the caches, keys no longer cached are dropped, so the index stays
+     * proportional to the caches at an amortised constant cost per load.
+     */
+    private void pruneCacheKeysByUser(int added) {
+        long cached = userProfileCache.estimatedSize() + lastKnownUserProfileCache.estimatedSize();
+        if (indexedCacheKeys.addAndGet(added) <= 2 * Math.max(cached, 1000)) {
+            return;
+        }
+        indexedCacheKeys.set(0);
+        cacheKeysByUser.keySet().forEach(user -> cacheKeysByUser.computeIfPresent(user, (ignored, keys) -> {
+            keys.removeIf(key -> !userProfileCache.asMap().containsKey(key)
+                    && !lastKnownUserProfileCache.asMap().containsKey(key));
+            indexedCacheKeys.addAndGet(keys.size());
+            return keys.isEmpty() ? null : keys;
+        }));
+    }
+
+    /**
+     * The user ids and emails a User Profile response body refers to, read without mapping the body.
+     */
+    private static Set<String> referencedUsers(Response response) {
+        Set<String> users = new HashSet<>();
+        if (response.body() == null) {
+            return users;
+        }
+        try (JsonParser parser = JSON.createParser(response.body().asInputStream())) {
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                if (token == JsonToken.FIELD_NAME && USER_REFERENCE_FIELDS.contains(parser.getCurrentName())
+                        && parser.nextToken() == JsonToken.VALUE_STRING) {
+                    users.add(normalise(parser.getText()));
+                }
+            }
+        } catch (IOException ex) {
+            log.debug("Could not index the users of a User Profile response: {}", ex.getMessage());
+        }
+        return users;
+    }
+
+    private static String normalise(String user) {
+        return user.toLowerCase(Locale.ROOT);
+    }
+
+    private boolean isSuccessful(Response response) {
+        return response != null && response.status() >= 200 && response.status() < 300;
+    }
+}
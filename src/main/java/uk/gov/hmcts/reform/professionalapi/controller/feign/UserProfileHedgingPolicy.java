@@ -0,0 +1,158 @@
+package uk.gov.hmcts.reform.professionalapi.controller.feign;
+
+import static uk.gov.hmcts.reform.professionalapi.configuration.UserProfileExecutorConfiguration.USER_PROFILE_HEDGE_EXECUTOR;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ERROR_MESSAGE_UP_FAILED;
+
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.professionalapi.controller.advice.ExternalApiException;
+
+/**
+ * Opt-in hedging for idempotent User Profile GETs. When the first attempt has not answered within the configured
+ * latency percentile of recent attempts, an identical second attempt is sent and whichever answers first is
+ * returned; the other response is closed. Every call earns userProfileHedgingBudgetPercent of a hedge, so hedges
+ * add at most that share of extra load. Publishes user.profile.hedging.fired, .won and .skipped counters.
+ */
+@Component
+public class UserProfileHedgingPolicy {
+
+    private static final String METRIC_PREFIX = "user.profile.hedging.";
+    private static final int MIN_LATENCY_SAMPLES = 20;
+    private static final long HEDGE_COST = 100;
+    private static final long MAX_BUDGET = 10 * HEDGE_COST;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayMs;
+    private final long budgetPercent;
+    private final Executor hedgeExecutor;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong budget = new AtomicLong();
+    private final Map<String, Timer> latencyTimers = new ConcurrentHashMap<>();
+
+    public UserProfileHedgingPolicy(@Value("${userProfileHedgingEnabled:false}") boolean enabled,
+                                    @Value("${userProfileHedgingPercentile:0.95}") double percentile,
+                                    @Value("${userProfileHedgingMinDelayMs:50}") long minDelayMs,
+                                    @Value("${userProfileHedgingBudgetPercent:5}") long budgetPercent,
+                                    @Qualifier(USER_PROFILE_HEDGE_EXECUTOR) Executor hedgeExecutor,
+                                    MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayMs = minDelayMs;
+        this.budgetPercent = budgetPercent;
+        this.hedgeExecutor = hedgeExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Response execute(String method, Supplier<Response> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        budget.updateAndGet(available -> Math.min(MAX_BUDGET, available + budgetPercent));
+
+        Timer latency = latencyTimers.computeIfAbsent(method, key -> Timer.builder(METRIC_PREFIX + "latency")
+                .tag("method", key).publishPercentiles(percentile).register(meterRegistry));
+        CompletableFuture<Response> firstAttempt = attempt(call, latency);
+        try {
+            return firstAttempt.get(hedgeDelayMs(latency), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            return hedge(method, call, firstAttempt);
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiException(HttpStatus.INTERNAL_SERVER_ERROR, ERROR_MESSAGE_UP_FAILED);
+        }
+    }
+
+    private Response hedge(String method, Supplier<Response> call, CompletableFuture<Response> firstAttempt) {
+        if (budget.getAndUpdate(available -> available >= HEDGE_COST ? available - HEDGE_COST : available)
+                < HEDGE_COST) {
+            meterRegistry.counter(METRIC_PREFIX + "skipped", "method", method).increment();
+            return await(firstAttempt);
+        }
+        meterRegistry.counter(METRIC_PREFIX + "fired", "method", method).increment();
+
+        CompletableFuture<Response> secondAttempt = attempt(call, null);
+        CompletableFuture<Response> winner = new CompletableFuture<>();
+        firstAttempt.thenAccept(response -> completeOrClose(winner, response));
+        secondAttempt.thenAccept(response -> {
+            if (completeOrClose(winner, response)) {
+                meterRegistry.counter(METRIC_PREFIX + "won", "method", method).increment();
+            }
+        });
+        CompletableFuture.allOf(firstAttempt, secondAttempt).whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                winner.completeExceptionally(ex);
+            }
+        });
+        return await(winner);
+    }
+
+    private CompletableFuture<Response> attempt(Supplier<Response> call, Timer latency) {
+        return CompletableFuture.supplyAsync(() -> latency == null ? call.get() : latency.record(call),
+                hedgeExecutor);
+    }
+
+    /**
+     * The configured percentile of recent first attempts, or userProfileHedgingMinDelayMs until enough attempts
+     * have been seen. Never less than userProfileHedgingMinDelayMs.
+     */
+    private long hedgeDelayMs(Timer latency) {
+        if (latency.count() < MIN_LATENCY_SAMPLES) {
+            return minDelayMs;
+        }
+        double percentileMs = Arrays.stream(latency.takeSnapshot().percentileValues())
+                .filter(value -> value.percentile() == percentile)
+                .mapToDouble(value -> value.value(TimeUnit.MILLISECONDS))
+                .findFirst().orElse(minDelayMs);
+        return Math.max(minDelayMs, (long) percentileMs);
+    }
+
+    private boolean completeOrClose(CompletableFuture<Response> winner, Response response) {
+        if (winner.complete(response)) {
+            return true;
+        }
+        if (response != null) {
+            response.close();
+        }
+        return false;
+    }
+
+    private Response await(CompletableFuture<Response> attempt) {
+        try {
+            return attempt.get();
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiException(HttpStatus.INTERNAL_SERVER_ERROR, ERROR_MESSAGE_UP_FAILED);
+        }
+    }
+
+    private RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            return rethrow(cause.getCause());
+        }
+        return cause instanceof RuntimeException ? (RuntimeException) cause
+                : new ExternalApiException(HttpStatus.INTERNAL_SERVER_ERROR, ERROR_MESSAGE_UP_FAILED);
+    }
+}
@@ -0,0 +1,90 @@
+package uk.gov.hmcts.reform.professionalapi.controller.feign;
+
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ERROR_MESSAGE_UP_FAILED;
+import static uk.gov.hmcts.reform.professionalapi.util.JsonFeignResponseUtil.toBufferedResponse;
+
+import com.netflix.hystrix.HystrixCommand;
+import com.netflix.hystrix.HystrixCommandGroupKey;
+import com.netflix.hystrix.HystrixCommandKey;
+import com.netflix.hystrix.exception.HystrixRuntimeException;
+import feign.Response;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import uk.gov.hmcts.reform.professionalapi.controller.advice.ExternalApiException;
+
+/**
+ * Runs one User Profile call behind the circuit breaker and semaphore bulkhead of its command key. Semaphore
+ * isolation keeps the call on the request thread, so the Feign interceptor can still copy the caller's headers.
+ * Breaker and bulkhead settings are read from hystrix.command.* properties.
+ */
+public class UserProfileHystrixCommand extends HystrixCommand<Response> {
+
+    private static final HystrixCommandGroupKey USER_PROFILE_GROUP
+            = HystrixCommandGroupKey.Factory.asKey("UserProfileClient");
+
+    private final Supplier<Response> call;
+    private final Supplier<Response> fallback;
+
+    private UserProfileHystrixCommand(String commandKey, Supplier<Response> call, Supplier<Response> fallback) {
+        super(Setter.withGroupKey(USER_PROFILE_GROUP).andCommandKey(HystrixCommandKey.Factory.asKey(commandKey)));
+        this.call = call;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Executes the call. 5xx responses count as failures towards the breaker but are still handed back to the
+     * caller unless the fallback has something better. An open breaker or a full bulkhead fails fast with 503.
+     */
+    public static Response execute(String commandKey, Supplier<Response> call, Supplier<Response> fallback) {
+        try {
+            return new UserProfileHystrixCommand(commandKey, call, fallback).execute();
+        } catch (HystrixRuntimeException ex) {
+            if (ex.getCause() instanceof ServerErrorResponse) {
+                return ((ServerErrorResponse) ex.getCause()).getResponse();
+            } else if (ex.getFailureType() == HystrixRuntimeException.FailureType.SHORTCIRCUIT
+                    || ex.getFailureType() == HystrixRuntimeException.FailureType.REJECTED_SEMAPHORE_EXECUTION) {
+                throw new ExternalApiException(HttpStatus.SERVICE_UNAVAILABLE, ERROR_MESSAGE_UP_FAILED);
+            } else if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    protected Response run() {
+        Response response = call.get();
+        if (response != null && response.status() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            throw new ServerErrorResponse(toBufferedResponse(response));
+        }
+        return response;
+    }
+
+    /**
+     * The fallback response when there is one, otherwise Hystrix's own behaviour: execute fails with a
+     * HystrixRuntimeException carrying the original failure, which is what execute hands back to the caller.
+     */
+    @Override
+    protected Response getFallback() {
+        Response fallbackResponse = fallback == null ? null : fallback.get();
+        return fallbackResponse == null ? super.getFallback() : fallbackResponse;
+    }
+
+    private static class ServerErrorResponse extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Response response;
+
+        ServerErrorResponse(Response response) {
+            super("User Profile responded with " + response.status());
+            this.response = response;
+        }
+
+        Response getResponse() {
+            return response;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package uk.gov.hmcts.reform.professionalapi.controller.internal;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.APPLICATION_NDJSON_VALUE;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ORGANISATION_IDENTIFIER_FORMAT_REGEX;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ORG_ID_VALIDATION_ERROR_MESSAGE;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.TEXT_CSV_VALUE;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -10,6 +12,8 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.Authorization;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Optional;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
@@ -18,9 +22,12 @@ import javax.validation.constraints.Pattern;
 
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.validation.annotation.Validated;
@@ -30,6 +37,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -37,16 +45,21 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.hmcts.reform.professionalapi.configuration.resolver.UserId;
 import uk.gov.hmcts.reform.professionalapi.controller.SuperController;
+import uk.gov.hmcts.reform.professionalapi.controller.request.BulkOrganisationRequestReader;
 import uk.gov.hmcts.reform.professionalapi.controller.request.NewUserCreationRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.OrganisationCreationRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.PbaEditRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.response.BulkOrganisationResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.DeleteOrganisationResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.NewUserResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationPbaResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationResponse;
+import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationSearchResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationsDetailResponse;
 import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchCriteria;
 import uk.gov.hmcts.reform.professionalapi.domain.PbaResponse;
+import uk.gov.hmcts.reform.professionalapi.service.BulkOrganisationService;
 
 @RequestMapping(
         path = "refdata/internal/v1/organisations"
@@ -60,6 +73,11 @@ public class OrganisationInternalController extends SuperController {
     @Value("${loggingComponentName}")
     protected String loggingComponentName;
 
+    @Autowired
+    protected BulkOrganisationRequestReader bulkOrganisationRequestReader;
+    @Autowired
+    protected BulkOrganisationService bulkOrganisationService;
+
     @ApiOperation(
             value = "Creates an Organisation",
             authorizations = {
@@ -143,6 +161,103 @@ public class OrganisationInternalController extends SuperController {
         return retrieveAllOrganisationOrById(id, status);
     }
 
+    @ApiOperation(
+            value = "Searches Organisations by name, SRA ID, company number, postcode or DX number",
+            notes = "The name matches by prefix, by similarity or by the words it contains. Every other "
+                    + "parameter must match exactly, ignoring case. Given parameters must all match.",
+            authorizations = {
+                    @Authorization(value = "ServiceAuthorization"),
+                    @Authorization(value = "Authorization")
+            }
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "The matching Organisations, closest names first",
+                    response = OrganisationSearchResponse.class,
+                    responseContainer = "list"
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "No search parameter, or a name shorter than 3 characters, was provided"
+            ),
+            @ApiResponse(
+                    code = 403,
+                    message = "Forbidden Error: Access denied"
+            ),
+            @ApiResponse(
+                    code = 404,
+                    message = "No Organisations found"
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal Server Error"
+            )
+    })
+    @GetMapping(
+            path = "/search",
+            produces = APPLICATION_JSON_VALUE
+    )
+    @Secured("prd-admin")
+    public ResponseEntity<Object> searchOrganisations(
+            @RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "sraId", required = false) String sraId,
+            @RequestParam(value = "companyNumber", required = false) String companyNumber,
+            @RequestParam(value = "postCode", required = false) String postCode,
+            @RequestParam(value = "dxNumber", required = false) String dxNumber,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+
+        return searchOrganisationsBy(new OrganisationSearchCriteria(name, sraId, companyNumber, postCode, dxNumber),
+                page, size);
+    }
+
+    @ApiOperation(
+            value = "Creates Organisations in bulk, each PENDING with its Super User",
+            notes = "The body is either NDJSON, one Organisation creation request per line, or CSV with a header "
+                    + "row of name, sraId, sraRegulated, companyNumber, companyUrl, superUserFirstName, "
+                    + "superUserLastName, superUserEmail, paymentAccounts, addressLine1, addressLine2, addressLine3, "
+                    + "townCity, county, country, postCode, dxNumber and dxExchange. An invalid or duplicate "
+                    + "record is reported as FAILED and the others are still created.",
+            authorizations = {
+                    @Authorization(value = "ServiceAuthorization"),
+                    @Authorization(value = "Authorization")
+            }
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    code = 200,
+                    message = "The outcome of each record, with the Organisation Identifier of each one created",
+                    response = BulkOrganisationResponse.class
+            ),
+            @ApiResponse(
+                    code = 400,
+                    message = "No records, or more than the maximum number of records, were provided"
+            ),
+            @ApiResponse(
+                    code = 403,
+                    message = "Forbidden Error: Access denied"
+            ),
+            @ApiResponse(
+                    code = 500,
+                    message = "Internal Server Error"
+            )
+    })
+    @PostMapping(
+            path = "/bulk",
+            consumes = {APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE},
+            produces = APPLICATION_JSON_VALUE
+    )
+    @Secured("prd-admin")
+    public ResponseEntity<BulkOrganisationResponse> onboardOrganisations(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) throws IOException {
+
+        BulkOrganisationResponse response = bulkOrganisationService.onboardOrganisations(
+                bulkOrganisationRequestReader.read(body, MediaType.parseMediaType(contentType)));
+        return ResponseEntity.status(200).body(response);
+    }
+
 
     @ApiOperation(
             value = "Retrieves an Organisation's Payment Accounts with a User's Email Address",
@@ -93,13 +93,17 @@ public class ProfessionalUserInternalController extends SuperController {
             @ApiParam(name = "returnRoles")
             @RequestParam(value = "returnRoles", required = false, defaultValue = "true") Boolean returnRoles,
             @RequestParam(value = "page", required = false) Integer page,
-            @RequestParam(value = "size", required = false) Integer size
+            @RequestParam(value = "size", required = false) Integer size,
+            @ApiParam(name = "pageToken", value = "Continuation token from the nextPageToken header of the previous "
+                    + "page; send it empty for the first page. Takes precedence over page")
+            @RequestParam(value = "pageToken", required = false) String pageToken
     ) {
         String status = EMPTY;
         if (isSystemRoleUser(jwtGrantedAuthoritiesConverter.getUserInfo().getRoles())) {
             status = ACTIVE;
         }
-        return searchUsersByOrganisation(organisationIdentifier, showDeleted, returnRoles, status, page, size);
+        return searchUsersByOrganisation(organisationIdentifier, showDeleted, returnRoles, status, page, size,
+                pageToken);
     }
 
     @ApiOperation(
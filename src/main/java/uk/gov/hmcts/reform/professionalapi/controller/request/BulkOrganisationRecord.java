@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.professionalapi.controller.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One record of a bulk onboarding request, numbered from 1 in the order received. A record that could not be
+ * read has no request and carries the reason instead.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkOrganisationRecord {
+
+    private final int recordNumber;
+    private final OrganisationCreationRequest organisationCreationRequest;
+    private final String error;
+}
@@ -0,0 +1,171 @@
+package uk.gov.hmcts.reform.professionalapi.controller.request;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.lang3.StringUtils.isAllBlank;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.TEXT_CSV_VALUE;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the records of a bulk onboarding request. NDJSON carries one OrganisationCreationRequest per line. CSV
+ * has a header row and one organisation per row, with a single contact address and DX address, and its payment
+ * accounts separated by semicolons or spaces:
+ * name, sraId, sraRegulated, companyNumber, companyUrl, superUserFirstName, superUserLastName, superUserEmail,
+ * paymentAccounts, addressLine1, addressLine2, addressLine3, townCity, county, country, postCode, dxNumber,
+ * dxExchange. A record that cannot be read is returned with the reason, so the rest are still onboarded.
+ */
+@Component
+public class BulkOrganisationRequestReader {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    private static final TypeReference<Map<String, String>> CSV_ROW = new TypeReference<>() {
+    };
+    private static final String PAYMENT_ACCOUNT_SEPARATORS = "[;\\s]+";
+
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    public BulkOrganisationRequestReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the records lazily as they are iterated, so the body is never held in memory as a whole.
+     */
+    public Iterator<BulkOrganisationRecord> read(InputStream body, MediaType contentType) throws IOException {
+        Reader reader = new InputStreamReader(body, UTF_8);
+        return TEXT_CSV.isCompatibleWith(contentType) ? readCsv(reader) : readNdjson(reader);
+    }
+
+    private Iterator<BulkOrganisationRecord> readNdjson(Reader reader) {
+        BufferedReader lines = new BufferedReader(reader);
+        return new RecordIterator() {
+            @Override
+            BulkOrganisationRecord readRecord(int recordNumber) throws IOException {
+                String line = lines.readLine();
+                while (line != null && isBlank(line)) {
+                    line = lines.readLine();
+                }
+                if (line == null) {
+                    return null;
+                }
+                try {
+                    return new BulkOrganisationRecord(recordNumber,
+                            objectMapper.readValue(line, OrganisationCreationRequest.class), null);
+                } catch (JsonProcessingException ex) {
+                    return new BulkOrganisationRecord(recordNumber, null, "Invalid JSON: " + ex.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    private Iterator<BulkOrganisationRecord> readCsv(Reader reader) throws IOException {
+        MappingIterator<Map<String, String>> rows = csvMapper.readerFor(CSV_ROW)
+                .with(CsvSchema.emptySchema().withHeader()).readValues(reader);
+        return new RecordIterator() {
+            @Override
+            BulkOrganisationRecord readRecord(int recordNumber) throws IOException {
+                if (!rows.hasNextValue()) {
+                    return null;
+                }
+                try {
+                    return new BulkOrganisationRecord(recordNumber, toOrganisationCreationRequest(rows.nextValue()),
+                            null);
+                } catch (JsonProcessingException ex) {
+                    return new BulkOrganisationRecord(recordNumber, null, "Invalid CSV: " + ex.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    private OrganisationCreationRequest toOrganisationCreationRequest(Map<String, String> row) {
+        List<DxAddressCreationRequest> dxAddress = isAllBlank(row.get("dxNumber"), row.get("dxExchange"))
+                ? null : List.of(new DxAddressCreationRequest(value(row, "dxNumber"), value(row, "dxExchange")));
+        List<ContactInformationCreationRequest> contactInformation = isAllBlank(row.get("addressLine1"),
+                row.get("addressLine2"), row.get("addressLine3"), row.get("townCity"), row.get("county"),
+                row.get("country"), row.get("postCode")) && dxAddress == null
+                ? null : List.of(new ContactInformationCreationRequest(value(row, "addressLine1"),
+                        value(row, "addressLine2"), value(row, "addressLine3"), value(row, "townCity"),
+                        value(row, "county"), value(row, "country"), value(row, "postCode"), dxAddress));
+        UserCreationRequest superUser = isAllBlank(row.get("superUserFirstName"), row.get("superUserLastName"),
+                row.get("superUserEmail"))
+                ? null : new UserCreationRequest(value(row, "superUserFirstName"), value(row, "superUserLastName"),
+                        value(row, "superUserEmail"));
+
+        return new OrganisationCreationRequest(value(row, "name"), null, value(row, "sraId"),
+                value(row, "sraRegulated"), value(row, "companyNumber"), value(row, "companyUrl"), superUser,
+                paymentAccounts(value(row, "paymentAccounts")), contactInformation);
+    }
+
+    private Set<String> paymentAccounts(String paymentAccounts) {
+        return paymentAccounts == null ? null
+                : new LinkedHashSet<>(Arrays.asList(paymentAccounts.trim().split(PAYMENT_ACCOUNT_SEPARATORS)));
+    }
+
+    private String value(Map<String, String> row, String column) {
+        String value = row.get(column);
+        return isBlank(value) ? null : value;
+    }
+
+    /**
+     * Reads one record ahead, numbering the records from 1.
+     */
+    private abstract static class RecordIterator implements Iterator<BulkOrganisationRecord> {
+
+        private BulkOrganisationRecord next;
+        private int recordNumber;
+
+        /**
+         * The next record, or null once the body is exhausted.
+         */
+        abstract BulkOrganisationRecord readRecord(int recordNumber) throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = readRecord(recordNumber + 1);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                if (next != null) {
+                    recordNumber++;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public BulkOrganisationRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BulkOrganisationRecord record = next;
+            next = null;
+            return record;
+        }
+    }
+}
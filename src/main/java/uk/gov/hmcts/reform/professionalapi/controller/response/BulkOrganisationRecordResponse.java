@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.professionalapi.controller.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOrganisationRecordResponse {
+
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    @JsonProperty
+    private int recordNumber;
+    @JsonProperty
+    private String status;
+    @JsonProperty
+    private String organisationIdentifier;
+    @JsonProperty
+    private String errorDescription;
+}
@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.professionalapi.controller.response;
+
+import static uk.gov.hmcts.reform.professionalapi.controller.response.BulkOrganisationRecordResponse.CREATED;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Getter
+public class BulkOrganisationResponse {
+
+    @JsonProperty
+    private int totalRecords;
+    @JsonProperty
+    private int created;
+    @JsonProperty
+    private int failed;
+    @JsonProperty
+    private List<BulkOrganisationRecordResponse> records;
+
+    public BulkOrganisationResponse(List<BulkOrganisationRecordResponse> records) {
+        this.records = records;
+        this.totalRecords = records.size();
+        this.created = (int) records.stream().filter(record -> CREATED.equals(record.getStatus())).count();
+        this.failed = totalRecords - created;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import uk.gov.hmcts.reform.professionalapi.domain.ContactInformation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationAddress;
 
 @NoArgsConstructor
 @Getter
@@ -33,4 +34,14 @@ public class ContactInformationResponse {
         this.country = contactInfo.getCountry();
         this.postCode = contactInfo.getPostCode();
     }
+
+    public ContactInformationResponse(OrganisationAddress address) {
+        this.addressLine1 = address.getAddressLine1();
+        this.addressLine2 = address.getAddressLine2();
+        this.addressLine3 = address.getAddressLine3();
+        this.townCity = address.getTownCity();
+        this.county = address.getCounty();
+        this.country = address.getCountry();
+        this.postCode = address.getPostCode();
+    }
 }
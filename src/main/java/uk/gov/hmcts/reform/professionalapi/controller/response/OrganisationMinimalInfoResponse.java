@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationMinimalInfo;
 
 import java.util.List;
 
@@ -27,6 +28,13 @@ public class OrganisationMinimalInfoResponse {
         getOrganisationMinimalInfoResponse(organisation, isAddressRequired);
     }
 
+    public OrganisationMinimalInfoResponse(OrganisationMinimalInfo organisation,
+                                           List<ContactInformationResponse> contactInformation) {
+        this.name = organisation.getName();
+        this.organisationIdentifier = organisation.getOrganisationIdentifier();
+        this.contactInformation = contactInformation;
+    }
+
     public void getOrganisationMinimalInfoResponse(Organisation organisation, Boolean isAddressRequired) {
         this.name = organisation.getName();
         this.organisationIdentifier = organisation.getOrganisationIdentifier();
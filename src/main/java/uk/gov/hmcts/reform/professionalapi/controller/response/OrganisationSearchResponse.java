@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.professionalapi.controller.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchResult;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
+
+@NoArgsConstructor
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrganisationSearchResponse {
+
+    @JsonProperty
+    private String name;
+    @JsonProperty
+    private String organisationIdentifier;
+    @JsonProperty
+    private OrganisationStatus status;
+    @JsonProperty
+    private String sraId;
+    @JsonProperty
+    private String companyNumber;
+
+    public OrganisationSearchResponse(OrganisationSearchResult organisation) {
+        this.name = organisation.getName();
+        this.organisationIdentifier = organisation.getOrganisationIdentifier();
+        this.status = organisation.getStatus();
+        this.sraId = organisation.getSraId();
+        this.companyNumber = organisation.getCompanyNumber();
+    }
+}
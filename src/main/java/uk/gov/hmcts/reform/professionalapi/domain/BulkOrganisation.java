@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.professionalapi.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An organisation read from one record of a bulk onboarding request, with its payment accounts, contact
+ * information, DX addresses and super user built and given ids in memory, ready to be copied in by
+ * OrganisationBulkLoadRepository rather than saved through JPA.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkOrganisation {
+
+    private final int recordNumber;
+    private final Organisation organisation;
+    private final ProfessionalUser superUser;
+}
@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.professionalapi.domain;
+
+import java.util.UUID;
+
+/**
+ * Projection of the address columns of ContactInformation, keyed by the id of its organisation.
+ */
+public interface OrganisationAddress {
+
+    UUID getOrganisationId();
+
+    String getAddressLine1();
+
+    String getAddressLine2();
+
+    String getAddressLine3();
+
+    String getTownCity();
+
+    String getCounty();
+
+    String getCountry();
+
+    String getPostCode();
+}
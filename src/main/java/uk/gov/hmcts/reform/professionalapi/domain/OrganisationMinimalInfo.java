@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.professionalapi.domain;
+
+import java.util.UUID;
+
+/**
+ * Closed projection of Organisation, so only these columns are selected and no associations are loaded.
+ */
+public interface OrganisationMinimalInfo {
+
+    UUID getId();
+
+    String getName();
+
+    String getOrganisationIdentifier();
+}
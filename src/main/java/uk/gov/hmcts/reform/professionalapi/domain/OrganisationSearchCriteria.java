@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.professionalapi.domain;
+
+import static org.apache.commons.lang3.StringUtils.isAllBlank;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The organisation search parameters. Blank parameters are left out of the query, and any that are given must
+ * all match.
+ */
+@Getter
+@AllArgsConstructor
+public class OrganisationSearchCriteria {
+
+    private final String name;
+    private final String sraId;
+    private final String companyNumber;
+    private final String postCode;
+    private final String dxNumber;
+
+    public boolean isEmpty() {
+        return isAllBlank(name, sraId, companyNumber, postCode, dxNumber);
+    }
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.professionalapi.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Projection of the organisation columns returned by a search, read without loading the Organisation entity
+ * or any of its associations.
+ */
+@Getter
+@AllArgsConstructor
+public class OrganisationSearchResult {
+
+    private final String name;
+    private final String organisationIdentifier;
+    private final OrganisationStatus status;
+    private final String sraId;
+    private final String companyNumber;
+}
@@ -1,5 +1,8 @@
 package uk.gov.hmcts.reform.professionalapi.domain;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -11,6 +14,8 @@ public class PbaResponse {
 
     private String statusCode;
     private String statusMessage;
+    private List<String> pbasAdded = new ArrayList<>();
+    private List<String> pbasRemoved = new ArrayList<>();
 
     public PbaResponse(String statusCode, String statusMessage) {
 
@@ -18,4 +23,11 @@ public class PbaResponse {
         this.statusMessage = statusMessage;
     }
 
+    public PbaResponse(String statusCode, String statusMessage, List<String> pbasAdded, List<String> pbasRemoved) {
+
+        this(statusCode, statusMessage);
+        this.pbasAdded = pbasAdded;
+        this.pbasRemoved = pbasRemoved;
+    }
+
 }
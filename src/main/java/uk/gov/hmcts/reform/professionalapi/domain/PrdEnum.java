@@ -1,8 +1,11 @@
 package uk.gov.hmcts.reform.professionalapi.domain;
 
+import static uk.gov.hmcts.reform.professionalapi.configuration.HibernateCacheConfiguration.PRD_ENUM_REGION;
+
 import java.io.Serializable;
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
@@ -11,8 +14,13 @@ import javax.validation.constraints.Size;
 
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = PRD_ENUM_REGION)
 public class PrdEnum implements Serializable {
 
     @EmbeddedId
@@ -20,7 +20,12 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-@Entity(name = "super_user_view")
+/**
+ * A professional user holding the organisation-admin attribute. On Postgres super_user is a table kept by the
+ * V6_18 triggers, so a new professional_user column shows here only once a migration adds it to the super_user
+ * table, refresh_super_user and professional_user_update_super_user.
+ */
+@Entity(name = "super_user")
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 @Getter
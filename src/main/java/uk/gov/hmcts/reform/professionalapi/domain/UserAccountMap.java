@@ -6,17 +6,22 @@ import javax.persistence.Column;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
 import javax.persistence.EntityListeners;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity(name = "user_account_map")
 @NoArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 @Getter
-public class UserAccountMap implements Serializable {
+public class UserAccountMap implements Serializable, Persistable<UserAccountMapId> {
 
     @EmbeddedId
     private UserAccountMapId  userAccountMapId;
@@ -24,9 +29,33 @@ public class UserAccountMap implements Serializable {
     @Column(name = "DEFAULTED")
     private Boolean defaulted = false;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
     public UserAccountMap(UserAccountMapId  userAccountMapId) {
 
         this.userAccountMapId = userAccountMapId;
     }
 
+    @Override
+    public UserAccountMapId getId() {
+        return userAccountMapId;
+    }
+
+    /**
+     * The id is assigned before saving, so without this saving a new mapping is a merge that selects the row
+     * first, which also keeps the insert out of the JDBC batch.
+     */
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
 }
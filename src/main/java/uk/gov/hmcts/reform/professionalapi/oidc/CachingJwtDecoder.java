@@ -0,0 +1,60 @@
+package uk.gov.hmcts.reform.professionalapi.oidc;
+
+import static uk.gov.hmcts.reform.professionalapi.oidc.TokenHashing.sha256;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Keeps recently decoded bearer tokens against a SHA-256 hash of the token, so a client calling repeatedly with
+ * the same token has its signature checked and claims parsed once. A token is kept until its exp claim, or for
+ * the maximum time to live if that is sooner. Tokens that fail to decode are not cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Duration maximumTimeToLive;
+    private final Clock clock;
+    private final Cache<String, Jwt> decodedTokens;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Duration maximumTimeToLive, Clock clock) {
+        this.delegate = delegate;
+        this.maximumTimeToLive = maximumTimeToLive;
+        this.clock = clock;
+        this.decodedTokens = Caffeine.newBuilder().maximumSize(maximumSize).expireAfter(new TokenExpiry()).build();
+    }
+
+    @Override
+    public Jwt decode(String token) {
+        return decodedTokens.get(sha256(token), key -> delegate.decode(token));
+    }
+
+    private final class TokenExpiry implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return maximumTimeToLive.toNanos();
+            }
+            Duration untilExpiry = Duration.between(clock.instant(), value.getExpiresAt());
+            return untilExpiry.isNegative() ? 0 : Math.min(untilExpiry.toNanos(), maximumTimeToLive.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
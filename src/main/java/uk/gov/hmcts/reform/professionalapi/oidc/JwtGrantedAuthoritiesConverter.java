@@ -1,6 +1,10 @@
 package uk.gov.hmcts.reform.professionalapi.oidc;
 
 import static org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames.ACCESS_TOKEN;
+import static uk.gov.hmcts.reform.professionalapi.configuration.CacheConfiguration.IDAM_USER_INFO_CACHE;
+import static uk.gov.hmcts.reform.professionalapi.oidc.TokenHashing.sha256;
+
+import com.github.benmanes.caffeine.cache.Cache;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -8,6 +12,8 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -21,6 +27,9 @@ import uk.gov.hmcts.reform.professionalapi.repository.IdamRepository;
  * If GrantedAuthorities present in the token request will pass to the respective controller api methods
  * otherwise it displays unauthorised error message .
  *
+ * <p>The user info is cached against a SHA-256 hash of the token until the token expires, so repeated calls
+ * with the same token make one IDAM call, and is handed to the rest of the request through a request scoped
+ * UserInfoHolder.
  */
 @Component
 public class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
@@ -29,11 +38,18 @@ public class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Collection
 
     private final IdamRepository idamRepository;
 
-    private UserInfo userInfo;
+    private final UserInfoHolder userInfoHolder;
+
+    private final Cache<Object, Object> userInfoCache;
 
     @Autowired
-    public JwtGrantedAuthoritiesConverter(IdamRepository idamRepository) {
+    @SuppressWarnings("unchecked")
+    public JwtGrantedAuthoritiesConverter(IdamRepository idamRepository, UserInfoHolder userInfoHolder,
+                                          CacheManager cacheManager) {
         this.idamRepository = idamRepository;
+        this.userInfoHolder = userInfoHolder;
+        this.userInfoCache = (Cache<Object, Object>)
+                ((CaffeineCache) cacheManager.getCache(IDAM_USER_INFO_CACHE)).getNativeCache();
     }
 
     /**
@@ -43,7 +59,11 @@ public class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Collection
     public Collection<GrantedAuthority> convert(Jwt jwt) {
         List<GrantedAuthority> authorities = new ArrayList<>();
         if (jwt.containsClaim(TOKEN_NAME) && jwt.getClaim(TOKEN_NAME).equals(ACCESS_TOKEN)) {
-            userInfo = idamRepository.getUserInfo(jwt.getTokenValue());
+            String token = jwt.getTokenValue();
+            UserInfoCacheEntry entry = (UserInfoCacheEntry) userInfoCache.get(sha256(token),
+                key -> new UserInfoCacheEntry(idamRepository.getUserInfo(token), jwt.getExpiresAt()));
+            UserInfo userInfo = entry.getUserInfo();
+            userInfoHolder.setUserInfo(userInfo);
             authorities = extractAuthorityFromClaims(userInfo.getRoles());
 
 
@@ -59,7 +79,7 @@ public class JwtGrantedAuthoritiesConverter implements Converter<Jwt, Collection
 
     public  UserInfo getUserInfo() {
 
-        return userInfo;
+        return userInfoHolder.getUserInfo();
     }
 
 }
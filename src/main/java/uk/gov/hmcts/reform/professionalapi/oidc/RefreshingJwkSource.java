@@ -0,0 +1,144 @@
+package uk.gov.hmcts.reform.professionalapi.oidc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jose.util.ResourceRetriever;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+/**
+ * The IDAM signing keys, held in memory and refreshed in the background rather than on the request path.
+ *
+ * <p>The keys start from the snapshot file when one is configured and present, so startup does not wait for
+ * IDAM, and every successful refresh rewrites the snapshot. The JWKS uri comes from the jwkSetUri when it is
+ * configured, otherwise from the issuer's OIDC discovery document on the first refresh. A token signed with a
+ * key that is not held yet, before the first refresh or straight after a rotation, triggers one refresh on the
+ * request path, at most once per minimum refresh interval. A failed refresh keeps the keys already held.
+ */
+@Slf4j
+public class RefreshingJwkSource implements JWKSource<SecurityContext>, Closeable {
+
+    private static final String DISCOVERY_PATH = "/.well-known/openid-configuration";
+
+    private final String issuerUri;
+    private final Path snapshot;
+    private final Duration minimumRefreshInterval;
+    private final ResourceRetriever resourceRetriever;
+    private final Clock clock;
+    private volatile String jwkSetUri;
+    private volatile JWKSet jwkSet = new JWKSet();
+    private long lastRequestRefresh;
+    private ScheduledExecutorService scheduler;
+
+    public RefreshingJwkSource(String issuerUri, String jwkSetUri, Path snapshot, Duration minimumRefreshInterval,
+                               ResourceRetriever resourceRetriever, Clock clock) {
+        this.issuerUri = StringUtils.trimTrailingCharacter(issuerUri, '/');
+        this.jwkSetUri = StringUtils.hasText(jwkSetUri) ? jwkSetUri : null;
+        this.snapshot = snapshot;
+        this.minimumRefreshInterval = minimumRefreshInterval;
+        this.resourceRetriever = resourceRetriever;
+        this.clock = clock;
+        loadSnapshot();
+    }
+
+    /**
+     * Refreshes the keys now and then every refresh interval, on a background thread.
+     */
+    public synchronized void start(Duration refreshInterval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oidc-jwk-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        List<JWK> keys = jwkSelector.select(jwkSet);
+        if (keys.isEmpty()) {
+            synchronized (this) {
+                keys = jwkSelector.select(jwkSet);
+                long now = clock.millis();
+                if (keys.isEmpty() && now - lastRequestRefresh >= minimumRefreshInterval.toMillis()) {
+                    lastRequestRefresh = now;
+                    refreshQuietly();
+                    keys = jwkSelector.select(jwkSet);
+                }
+            }
+        }
+        return keys;
+    }
+
+    void refresh() throws IOException, ParseException {
+        if (jwkSetUri == null) {
+            String discovery = resourceRetriever.retrieveResource(new URL(issuerUri + DISCOVERY_PATH)).getContent();
+            jwkSetUri = JSONObjectUtils.getString(JSONObjectUtils.parse(discovery), "jwks_uri");
+        }
+        JWKSet fetched = JWKSet.parse(resourceRetriever.retrieveResource(new URL(jwkSetUri)).getContent());
+        jwkSet = fetched;
+        saveSnapshot(fetched);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (IOException | ParseException | RuntimeException ex) {
+            log.warn("Could not refresh the OIDC signing keys, keeping the {} held: {}", jwkSet.getKeys().size(),
+                    ex.getMessage());
+        }
+    }
+
+    private void loadSnapshot() {
+        if (snapshot == null || !Files.exists(snapshot)) {
+            return;
+        }
+        try {
+            jwkSet = JWKSet.parse(new String(Files.readAllBytes(snapshot), UTF_8));
+        } catch (IOException | ParseException ex) {
+            log.warn("Could not read the OIDC signing key snapshot {}: {}", snapshot, ex.getMessage());
+        }
+    }
+
+    private void saveSnapshot(JWKSet fetched) {
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            Path temporary = Files.createTempFile(snapshot.toAbsolutePath().getParent(), "jwks", ".tmp");
+            Files.write(temporary, fetched.toString().getBytes(UTF_8));
+            Files.move(temporary, snapshot, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.warn("Could not write the OIDC signing key snapshot {}: {}", snapshot, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.professionalapi.oidc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Cache keys for tokens, so that caches hold a SHA-256 hash of each token rather than the token itself.
+ */
+public final class TokenHashing {
+
+    private TokenHashing() {
+    }
+
+    public static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
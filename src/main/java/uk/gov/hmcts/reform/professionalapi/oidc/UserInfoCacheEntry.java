@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.professionalapi.oidc;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+
+/**
+ * IDAM user info cached against a bearer token, kept no longer than the token's exp claim. A token without an
+ * exp claim has no expiresAt and is kept for the cache's maximum time to live.
+ */
+@Getter
+@AllArgsConstructor
+public class UserInfoCacheEntry {
+
+    private final UserInfo userInfo;
+    private final Instant expiresAt;
+}
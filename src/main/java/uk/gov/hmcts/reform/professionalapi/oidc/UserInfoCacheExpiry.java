@@ -0,0 +1,41 @@
+package uk.gov.hmcts.reform.professionalapi.oidc;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Expires each UserInfoCacheEntry when its token expires, or after the maximum time to live if that is
+ * sooner, so that role changes in IDAM are picked up within the maximum time to live.
+ */
+public class UserInfoCacheExpiry implements Expiry<Object, Object> {
+
+    private final Duration maximumTimeToLive;
+    private final Clock clock;
+
+    public UserInfoCacheExpiry(Duration maximumTimeToLive, Clock clock) {
+        this.maximumTimeToLive = maximumTimeToLive;
+        this.clock = clock;
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        UserInfoCacheEntry entry = (UserInfoCacheEntry) value;
+        if (entry.getExpiresAt() == null) {
+            return maximumTimeToLive.toNanos();
+        }
+        Duration untilExpiry = Duration.between(clock.instant(), entry.getExpiresAt());
+        return untilExpiry.isNegative() ? 0 : Math.min(untilExpiry.toNanos(), maximumTimeToLive.toNanos());
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.professionalapi.oidc;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+
+/**
+ * The IDAM user info of the user making the current request, set when the bearer token is converted.
+ */
+@Component
+@RequestScope
+@Getter
+@Setter
+public class UserInfoHolder {
+
+    private UserInfo userInfo;
+}
@@ -1,13 +1,22 @@
 package uk.gov.hmcts.reform.professionalapi.repository;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.professionalapi.domain.ContactInformation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationAddress;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
 
 @Repository
 public interface ContactInformationRepository extends JpaRepository<ContactInformation, UUID> {
 
+    @Query(value = "SELECT ci.organisation.id AS organisationId, ci.addressLine1 AS addressLine1,"
+            + " ci.addressLine2 AS addressLine2, ci.addressLine3 AS addressLine3, ci.townCity AS townCity,"
+            + " ci.county AS county, ci.country AS country, ci.postCode AS postCode"
+            + " FROM contact_information ci WHERE ci.organisation.status = ?1")
+    List<OrganisationAddress> findAddressesByOrganisationStatus(OrganisationStatus status);
 }
@@ -0,0 +1,263 @@
+package uk.gov.hmcts.reform.professionalapi.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.professionalapi.domain.BulkOrganisation;
+import uk.gov.hmcts.reform.professionalapi.domain.ContactInformation;
+import uk.gov.hmcts.reform.professionalapi.domain.DxAddress;
+import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.PaymentAccount;
+import uk.gov.hmcts.reform.professionalapi.domain.PrdEnum;
+import uk.gov.hmcts.reform.professionalapi.domain.ProfessionalUser;
+
+/**
+ * Postgres only. Copies bulk onboarded organisations into temporary staging tables with COPY, rejects the
+ * records that clash with an existing SRA ID, company number, organisation identifier, email address or PBA
+ * number, and merges the rest into the real tables with one INSERT ... SELECT per table. The staging tables
+ * are dropped on commit, so this must run inside a transaction.
+ */
+@Repository
+@Slf4j
+public class OrganisationBulkLoadRepository {
+
+    private static final int MERGE_ATTEMPTS = 3;
+
+    private static final String CREATE_STAGING_TABLES =
+            "CREATE TEMPORARY TABLE bulk_organisation (record_number integer, id uuid, name varchar(255),"
+                    + " status varchar(50), sra_id varchar(255), sra_regulated boolean, company_number varchar(8),"
+                    + " company_url varchar(512), organisation_identifier varchar(7)) ON COMMIT DROP;"
+                    + "CREATE TEMPORARY TABLE bulk_payment_account (record_number integer, id uuid,"
+                    + " organisation_id uuid, pba_number varchar(255)) ON COMMIT DROP;"
+                    + "CREATE TEMPORARY TABLE bulk_professional_user (record_number integer, id uuid,"
+                    + " organisation_id uuid, first_name varchar(255), last_name varchar(255),"
+                    + " email_address varchar(255)) ON COMMIT DROP;"
+                    + "CREATE TEMPORARY TABLE bulk_user_attribute (record_number integer, id uuid,"
+                    + " professional_user_id uuid, prd_enum_code smallint, prd_enum_type varchar(50)) ON COMMIT DROP;"
+                    + "CREATE TEMPORARY TABLE bulk_contact_information (record_number integer, id uuid,"
+                    + " organisation_id uuid, address_line1 varchar(150), address_line2 varchar(50),"
+                    + " address_line3 varchar(50), town_city varchar(50), county varchar(50), country varchar(50),"
+                    + " postcode varchar(14)) ON COMMIT DROP;"
+                    + "CREATE TEMPORARY TABLE bulk_dx_address (record_number integer, id uuid,"
+                    + " contact_information_id uuid, dx_number varchar(13), dx_exchange varchar(20)) ON COMMIT DROP;"
+                    + "CREATE TEMPORARY TABLE bulk_rejected (record_number integer, reason text) ON COMMIT DROP";
+
+    private static final String ANALYZE_STAGING_TABLES = "ANALYZE bulk_organisation, bulk_payment_account,"
+            + " bulk_professional_user, bulk_user_attribute, bulk_contact_information, bulk_dx_address";
+
+    private static final String REJECT_EXISTING =
+            "INSERT INTO bulk_rejected (record_number, reason)"
+                    + " SELECT b.record_number, 'SRA ID ' || b.sra_id || ' already exists' FROM bulk_organisation b"
+                    + " JOIN organisation o ON o.sra_id = b.sra_id"
+                    + " UNION ALL SELECT b.record_number, 'Company number ' || b.company_number || ' already exists'"
+                    + " FROM bulk_organisation b JOIN organisation o ON o.company_number = b.company_number"
+                    + " UNION ALL SELECT b.record_number, 'Organisation identifier clash, please resubmit'"
+                    + " FROM bulk_organisation b JOIN organisation o"
+                    + " ON o.organisation_identifier = b.organisation_identifier"
+                    + " UNION ALL SELECT b.record_number, 'Email address ' || b.email_address || ' already exists'"
+                    + " FROM bulk_professional_user b JOIN professional_user p ON p.email_address = b.email_address"
+                    + " UNION ALL SELECT b.record_number, 'PBA number ' || b.pba_number || ' already exists'"
+                    + " FROM bulk_payment_account b JOIN payment_account p ON p.pba_number = b.pba_number";
+
+    private static final String NOT_REJECTED =
+            " WHERE NOT EXISTS (SELECT 1 FROM bulk_rejected r WHERE r.record_number = b.record_number)";
+
+    private static final List<String> MERGE_WITH_TIMESTAMPS = List.of(
+            "INSERT INTO organisation (id, name, status, sra_id, sra_regulated, company_number, company_url,"
+                    + " organisation_identifier, created, last_updated) SELECT b.id, b.name, b.status, b.sra_id,"
+                    + " b.sra_regulated, b.company_number, b.company_url, b.organisation_identifier, ?, ?"
+                    + " FROM bulk_organisation b" + NOT_REJECTED,
+            "INSERT INTO payment_account (id, pba_number, organisation_id, created, last_updated)"
+                    + " SELECT b.id, b.pba_number, b.organisation_id, ?, ? FROM bulk_payment_account b"
+                    + NOT_REJECTED,
+            "INSERT INTO professional_user (id, first_name, last_name, email_address, organisation_id, created,"
+                    + " last_updated) SELECT b.id, b.first_name, b.last_name, b.email_address, b.organisation_id,"
+                    + " ?, ? FROM bulk_professional_user b" + NOT_REJECTED);
+
+    private static final List<String> MERGE = List.of(
+            "INSERT INTO user_attribute (id, professional_user_id, prd_enum_code, prd_enum_type)"
+                    + " SELECT b.id, b.professional_user_id, b.prd_enum_code, b.prd_enum_type"
+                    + " FROM bulk_user_attribute b" + NOT_REJECTED,
+            "INSERT INTO user_account_map (professional_user_id, payment_account_id, defaulted)"
+                    + " SELECT b.id, p.id, false FROM bulk_professional_user b"
+                    + " JOIN bulk_payment_account p ON p.record_number = b.record_number" + NOT_REJECTED);
+
+    private static final List<String> MERGE_CONTACTS_WITH_TIMESTAMPS = List.of(
+            "INSERT INTO contact_information (id, address_line1, address_line2, address_line3, town_city, county,"
+                    + " country, postcode, organisation_id, created, last_updated) SELECT b.id, b.address_line1,"
+                    + " b.address_line2, b.address_line3, b.town_city, b.county, b.country, b.postcode,"
+                    + " b.organisation_id, ?, ? FROM bulk_contact_information b" + NOT_REJECTED,
+            "INSERT INTO dx_address (id, dx_number, dx_exchange, contact_information_id, created, last_updated)"
+                    + " SELECT b.id, b.dx_number, b.dx_exchange, b.contact_information_id, ?, ?"
+                    + " FROM bulk_dx_address b" + NOT_REJECTED);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${loggingComponentName}")
+    private String loggingComponentName;
+
+    public OrganisationBulkLoadRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the reason for each record number that was not loaded. The super user of every other organisation
+     * is given the superUserRoles. A row committed by a concurrent writer after the records were checked makes
+     * the merge fail on a unique constraint, so the merge is then rolled back to a savepoint and the records are
+     * checked again, which rejects the ones that now clash, up to MERGE_ATTEMPTS times. A record rejected on an
+     * earlier attempt is rejected again, and only its first reason is kept.
+     */
+    public Map<Integer, String> load(List<BulkOrganisation> organisations, List<PrdEnum> superUserRoles,
+                                     LocalDateTime now) {
+        jdbcTemplate.execute(CREATE_STAGING_TABLES);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            copyStagingTables(connection.unwrap(PGConnection.class), organisations, superUserRoles);
+            return null;
+        });
+        jdbcTemplate.execute(ANALYZE_STAGING_TABLES);
+
+        Timestamp timestamp = Timestamp.valueOf(now);
+        for (int attempt = 1; ; attempt++) {
+            jdbcTemplate.update(REJECT_EXISTING);
+            Savepoint savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) connection ->
+                    connection.setSavepoint());
+            try {
+                merge(timestamp);
+                break;
+            } catch (DuplicateKeyException ex) {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    connection.rollback(savepoint);
+                    return null;
+                });
+                if (attempt == MERGE_ATTEMPTS) {
+                    throw ex;
+                }
+                log.warn("{}:: Bulk onboarding merge clashed with a concurrent write, checking the records again",
+                        loggingComponentName);
+            }
+        }
+
+        Map<Integer, String> rejected = new HashMap<>();
+        jdbcTemplate.query("SELECT record_number, reason FROM bulk_rejected ORDER BY reason",
+                resultSet -> {
+                    rejected.putIfAbsent(resultSet.getInt(1), resultSet.getString(2));
+                });
+        return rejected;
+    }
+
+    private void merge(Timestamp timestamp) {
+        MERGE_WITH_TIMESTAMPS.forEach(sql -> jdbcTemplate.update(sql, timestamp, timestamp));
+        MERGE.forEach(jdbcTemplate::update);
+        MERGE_CONTACTS_WITH_TIMESTAMPS.forEach(sql -> jdbcTemplate.update(sql, timestamp, timestamp));
+    }
+
+    private void copyStagingTables(PGConnection connection, List<BulkOrganisation> organisations,
+                                   List<PrdEnum> superUserRoles) throws SQLException {
+        copy(connection, "bulk_organisation (record_number, id, name, status, sra_id, sra_regulated,"
+                + " company_number, company_url, organisation_identifier)", organisations, (bulk, rows) -> {
+                    Organisation organisation = bulk.getOrganisation();
+                    rows.write(row(bulk.getRecordNumber(), organisation.getId(), organisation.getName(),
+                            organisation.getStatus(), organisation.getSraId(), organisation.getSraRegulated(),
+                            organisation.getCompanyNumber(), organisation.getCompanyUrl(),
+                            organisation.getOrganisationIdentifier()));
+                });
+        copy(connection, "bulk_payment_account (record_number, id, organisation_id, pba_number)", organisations,
+            (bulk, rows) -> {
+                for (PaymentAccount paymentAccount : bulk.getOrganisation().getPaymentAccounts()) {
+                    rows.write(row(bulk.getRecordNumber(), paymentAccount.getId(), bulk.getOrganisation().getId(),
+                            paymentAccount.getPbaNumber()));
+                }
+            });
+        copy(connection, "bulk_professional_user (record_number, id, organisation_id, first_name, last_name,"
+                + " email_address)", organisations, (bulk, rows) -> {
+                    ProfessionalUser superUser = bulk.getSuperUser();
+                    rows.write(row(bulk.getRecordNumber(), superUser.getId(), bulk.getOrganisation().getId(),
+                            superUser.getFirstName(), superUser.getLastName(), superUser.getEmailAddress()));
+                });
+        copy(connection, "bulk_user_attribute (record_number, id, professional_user_id, prd_enum_code,"
+                + " prd_enum_type)", organisations, (bulk, rows) -> {
+                    for (PrdEnum role : superUserRoles) {
+                        rows.write(row(bulk.getRecordNumber(), UUID.randomUUID(), bulk.getSuperUser().getId(),
+                                role.getPrdEnumId().getEnumCode(), role.getPrdEnumId().getEnumType()));
+                    }
+                });
+        copy(connection, "bulk_contact_information (record_number, id, organisation_id, address_line1,"
+                + " address_line2, address_line3, town_city, county, country, postcode)", organisations,
+            (bulk, rows) -> {
+                for (ContactInformation contact : bulk.getOrganisation().getContactInformations()) {
+                    rows.write(row(bulk.getRecordNumber(), contact.getId(), bulk.getOrganisation().getId(),
+                            contact.getAddressLine1(), contact.getAddressLine2(), contact.getAddressLine3(),
+                            contact.getTownCity(), contact.getCounty(), contact.getCountry(),
+                            contact.getPostCode()));
+                }
+            });
+        copy(connection, "bulk_dx_address (record_number, id, contact_information_id, dx_number, dx_exchange)",
+                organisations, (bulk, rows) -> {
+                    for (ContactInformation contact : bulk.getOrganisation().getContactInformations()) {
+                        for (DxAddress dxAddress : contact.getDxAddresses()) {
+                            rows.write(row(bulk.getRecordNumber(), dxAddress.getId(), contact.getId(),
+                                    dxAddress.getDxNumber(), dxAddress.getDxExchange()));
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Writes the rows straight into the COPY as they are made, rather than building the table's CSV first.
+     */
+    private void copy(PGConnection connection, String table, List<BulkOrganisation> organisations,
+                      StagingRows stagingRows) throws SQLException {
+        try (Writer rows = new BufferedWriter(new OutputStreamWriter(new PGCopyOutputStream(connection,
+                "COPY " + table + " FROM STDIN WITH (FORMAT csv)"), UTF_8))) {
+            for (BulkOrganisation bulk : organisations) {
+                stagingRows.write(bulk, rows);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * A CSV line in which nulls are left empty and every other value is quoted, so that COPY reads an empty
+     * field as null and a quoted one as a value.
+     */
+    private static String row(Object... values) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            if (values[i] != null) {
+                row.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        return row.append('\n').toString();
+    }
+
+    @FunctionalInterface
+    private interface StagingRows {
+
+        void write(BulkOrganisation organisation, Writer rows) throws IOException;
+    }
+}
@@ -7,11 +7,12 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationMinimalInfo;
 import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
 import uk.gov.hmcts.reform.professionalapi.domain.ProfessionalUser;
 
 @Repository
-public interface OrganisationRepository extends JpaRepository<Organisation, UUID> {
+public interface OrganisationRepository extends JpaRepository<Organisation, UUID>, OrganisationRepositoryCustom {
 
     Organisation findByName(String name);
 
@@ -23,6 +24,8 @@ public interface OrganisationRepository extends JpaRepository<Organisation, UUID
 
     List<Organisation> findByStatus(OrganisationStatus status);
 
+    List<OrganisationMinimalInfo> findMinimalInfoByStatus(OrganisationStatus status);
+
     @EntityGraph(value = "Organisation.alljoins")
     List<Organisation> findAll();
 }
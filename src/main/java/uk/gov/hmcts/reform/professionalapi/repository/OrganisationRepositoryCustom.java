@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.professionalapi.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchCriteria;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchResult;
+
+public interface OrganisationRepositoryCustom {
+
+    Page<OrganisationSearchResult> search(OrganisationSearchCriteria criteria, Pageable pageable);
+}
@@ -0,0 +1,92 @@
+package uk.gov.hmcts.reform.professionalapi.repository;
+
+import static org.apache.commons.lang3.StringUtils.deleteWhitespace;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchCriteria;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchResult;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
+
+public class OrganisationRepositoryCustomImpl implements OrganisationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Postgres only. Each given criterion adds one predicate, so every query the planner sees can use the
+     * indexes of V6_19: the name is matched by prefix or trigram similarity on lower(name) and by its words
+     * against to_tsvector('simple', name), closest names first. Only the projected columns are read.
+     * The order is the search's own, closest names first and then by name, so a sorted pageable is refused
+     * rather than silently ignored.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<OrganisationSearchResult> search(OrganisationSearchCriteria criteria, Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            throw new IllegalArgumentException("Organisation search results are ordered by relevance, "
+                    + "not by " + pageable.getSort());
+        }
+        StringBuilder where = new StringBuilder(" FROM organisation o WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        String order = " ORDER BY o.name, o.id";
+
+        if (isNotBlank(criteria.getName())) {
+            String name = criteria.getName().trim().toLowerCase();
+            where.append(" AND (lower(o.name) LIKE :namePrefix OR lower(o.name) % :name"
+                    + " OR to_tsvector('simple', o.name) @@ plainto_tsquery('simple', :name))");
+            parameters.put("name", name);
+            parameters.put("namePrefix", escapeLike(name) + "%");
+            order = " ORDER BY similarity(lower(o.name), :name) DESC, o.name, o.id";
+        }
+        if (isNotBlank(criteria.getSraId())) {
+            where.append(" AND lower(o.sra_id) = :sraId");
+            parameters.put("sraId", criteria.getSraId().trim().toLowerCase());
+        }
+        if (isNotBlank(criteria.getCompanyNumber())) {
+            where.append(" AND lower(o.company_number) = :companyNumber");
+            parameters.put("companyNumber", criteria.getCompanyNumber().trim().toLowerCase());
+        }
+        if (isNotBlank(criteria.getPostCode())) {
+            where.append(" AND EXISTS (SELECT 1 FROM contact_information ci WHERE ci.organisation_id = o.id"
+                    + " AND replace(lower(ci.postcode), ' ', '') = :postCode)");
+            parameters.put("postCode", deleteWhitespace(criteria.getPostCode()).toLowerCase());
+        }
+        if (isNotBlank(criteria.getDxNumber())) {
+            where.append(" AND EXISTS (SELECT 1 FROM contact_information ci JOIN dx_address dx"
+                    + " ON dx.contact_information_id = ci.id WHERE ci.organisation_id = o.id"
+                    + " AND lower(dx.dx_number) = :dxNumber)");
+            parameters.put("dxNumber", criteria.getDxNumber().trim().toLowerCase());
+        }
+
+        Query query = entityManager.createNativeQuery("SELECT o.name, o.organisation_identifier, o.status,"
+                + " o.sra_id, o.company_number" + where + order);
+        parameters.forEach(query::setParameter);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<OrganisationSearchResult> results = ((List<Object[]>) query.getResultList()).stream()
+                .map(row -> new OrganisationSearchResult((String) row[0], (String) row[1],
+                        OrganisationStatus.valueOf((String) row[2]), (String) row[3], (String) row[4]))
+                .collect(Collectors.toList());
+
+        return PageableExecutionUtils.getPage(results, pageable, () -> {
+            Query count = entityManager.createNativeQuery("SELECT count(*)" + where);
+            parameters.forEach(count::setParameter);
+            return ((Number) count.getSingleResult()).longValue();
+        });
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
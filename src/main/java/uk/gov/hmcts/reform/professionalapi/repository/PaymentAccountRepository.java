@@ -4,6 +4,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.professionalapi.domain.PaymentAccount;
 
@@ -13,4 +15,8 @@ public interface PaymentAccountRepository extends JpaRepository<PaymentAccount,
     List<PaymentAccount> findByPbaNumber(String pbaNumbersFrom);
 
     List<PaymentAccount> findByPbaNumberIn(Set<String> pbaNumbers);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM payment_account pa WHERE pa.id IN ?1")
+    int deleteByIdIn(List<UUID> paymentAccountIds);
 }
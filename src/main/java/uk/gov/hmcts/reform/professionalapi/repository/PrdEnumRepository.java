@@ -1,14 +1,24 @@
 package uk.gov.hmcts.reform.professionalapi.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+import static uk.gov.hmcts.reform.professionalapi.configuration.HibernateCacheConfiguration.PRD_ENUM_QUERY_REGION;
+
 import java.util.List;
 import java.util.UUID;
+import javax.persistence.QueryHint;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.professionalapi.domain.PrdEnum;
 
 @Repository
 public interface PrdEnumRepository extends JpaRepository<PrdEnum, UUID> {
 
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = PRD_ENUM_QUERY_REGION)
+    })
     List<PrdEnum> findByEnabled(String flag);
 }
@@ -24,8 +24,23 @@ public interface ProfessionalUserRepository extends JpaRepository<ProfessionalUs
 
     List<ProfessionalUser> findByOrganisation(Organisation organisation);
 
+    List<ProfessionalUser> findByOrganisationOrderByFirstNameAscIdAsc(Organisation organisation, Pageable pageable);
+
+    @Query(value = "SELECT pu FROM professional_user pu WHERE pu.organisation = ?1"
+            + " AND (pu.firstName > ?2 OR (pu.firstName = ?2 AND pu.id > ?3)) ORDER BY pu.firstName, pu.id")
+    List<ProfessionalUser> findByOrganisationAfter(Organisation organisation, String firstName, UUID id,
+                                                   Pageable pageable);
+
     ProfessionalUser findByUserIdentifier(String userIdentifier);
 
+    @Query(value = "SELECT o.organisationIdentifier FROM professional_user pu JOIN pu.organisation o"
+            + " WHERE pu.userIdentifier = ?1")
+    String findOrganisationIdentifierByUserIdentifier(String userIdentifier);
+
+    @Query(value = "SELECT pu.userIdentifier FROM professional_user pu WHERE pu.organisation = ?1"
+            + " AND pu.userIdentifier IS NOT NULL")
+    List<String> findUserIdentifiersByOrganisation(Organisation organisation);
+
     @Query(value = "SELECT count(*) FROM professional_user pu WHERE pu.organisation_id = :organisationId",
             nativeQuery = true)
     int findByUserCountByOrganisationId(@Param("organisationId") UUID organisationId);
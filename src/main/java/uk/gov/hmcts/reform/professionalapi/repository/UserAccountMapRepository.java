@@ -1,9 +1,12 @@
 package uk.gov.hmcts.reform.professionalapi.repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.professionalapi.domain.UserAccountMap;
 import uk.gov.hmcts.reform.professionalapi.domain.UserAccountMapId;
@@ -12,4 +15,8 @@ import uk.gov.hmcts.reform.professionalapi.domain.UserAccountMapId;
 public interface UserAccountMapRepository extends JpaRepository<UserAccountMap,UUID> {
 
     Optional<UserAccountMap> findByUserAccountMapId(UserAccountMapId userAccountMapId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM user_account_map uam WHERE uam.userAccountMapId.paymentAccount.id IN ?1")
+    int deleteByPaymentAccountIdIn(List<UUID> paymentAccountIds);
 }
@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.professionalapi.service;
+
+import java.util.Iterator;
+
+import uk.gov.hmcts.reform.professionalapi.controller.request.BulkOrganisationRecord;
+import uk.gov.hmcts.reform.professionalapi.controller.response.BulkOrganisationResponse;
+
+public interface BulkOrganisationService {
+
+    BulkOrganisationResponse onboardOrganisations(Iterator<BulkOrganisationRecord> records);
+}
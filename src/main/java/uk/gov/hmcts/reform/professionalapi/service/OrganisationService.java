@@ -3,12 +3,16 @@ package uk.gov.hmcts.reform.professionalapi.service;
 import java.util.List;
 import java.util.Set;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import uk.gov.hmcts.reform.professionalapi.controller.request.OrganisationCreationRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.response.DeleteOrganisationResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationEntityResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationResponse;
+import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationSearchResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationsDetailResponse;
 import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchCriteria;
 import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
 
 
@@ -31,6 +35,11 @@ public interface OrganisationService {
 
     List<Organisation> getOrganisationByStatus(OrganisationStatus status);
 
+    List<OrganisationMinimalInfoResponse> getOrganisationMinimalInfoByStatus(OrganisationStatus status,
+                                                                             boolean address);
+
+    Page<OrganisationSearchResponse> searchOrganisations(OrganisationSearchCriteria criteria, Pageable pageable);
+
     void addPbaAccountToOrganisation(Set<String> paymentAccounts, Organisation organisation, boolean pbasValidated);
 }
 
@@ -26,6 +26,11 @@ public interface ProfessionalUserService {
                                                                            String showDeleted, boolean rolesRequired,
                                                                            String status, Pageable pageable);
 
+    ResponseEntity<Object> findProfessionalUsersByOrganisationWithPageToken(Organisation existingOrganisation,
+                                                                            String showDeleted, boolean rolesRequired,
+                                                                            String status, String pageToken,
+                                                                            Integer size);
+
     ProfessionalUser persistUser(ProfessionalUser professionalUser);
 
     ResponseEntity<Object> modifyRolesForUser(UserProfileUpdatedData userProfileUpdatedData, String userId,
@@ -36,5 +41,9 @@ public interface ProfessionalUserService {
     void checkUserStatusIsActiveByUserId(String userId);
 
     ProfessionalUser findProfessionalUserByEmailAddress(String email);
+
+    String findOrganisationIdentifierByUserIdentifier(String userIdentifier);
+
+    void evictOrganisationIdentifiers(Organisation organisation);
 }
 
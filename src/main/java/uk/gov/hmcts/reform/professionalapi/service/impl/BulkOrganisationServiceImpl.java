@@ -0,0 +1,314 @@
+package uk.gov.hmcts.reform.professionalapi.service.impl;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.LENGTH_OF_ORGANISATION_IDENTIFIER;
+import static uk.gov.hmcts.reform.professionalapi.controller.response.BulkOrganisationRecordResponse.CREATED;
+import static uk.gov.hmcts.reform.professionalapi.controller.response.BulkOrganisationRecordResponse.FAILED;
+import static uk.gov.hmcts.reform.professionalapi.generator.ProfessionalApiGenerator.generateUniqueAlphanumericId;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.professionalapi.controller.constants.PrdEnumType;
+import uk.gov.hmcts.reform.professionalapi.controller.request.BulkOrganisationRecord;
+import uk.gov.hmcts.reform.professionalapi.controller.request.ContactInformationCreationRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.DxAddressCreationRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.InvalidRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.OrganisationCreationRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.UserCreationRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.validator.OrganisationCreationRequestValidator;
+import uk.gov.hmcts.reform.professionalapi.controller.request.validator.PaymentAccountValidator;
+import uk.gov.hmcts.reform.professionalapi.controller.response.BulkOrganisationRecordResponse;
+import uk.gov.hmcts.reform.professionalapi.controller.response.BulkOrganisationResponse;
+import uk.gov.hmcts.reform.professionalapi.domain.BulkOrganisation;
+import uk.gov.hmcts.reform.professionalapi.domain.ContactInformation;
+import uk.gov.hmcts.reform.professionalapi.domain.DxAddress;
+import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
+import uk.gov.hmcts.reform.professionalapi.domain.PaymentAccount;
+import uk.gov.hmcts.reform.professionalapi.domain.PrdEnum;
+import uk.gov.hmcts.reform.professionalapi.domain.ProfessionalUser;
+import uk.gov.hmcts.reform.professionalapi.repository.OrganisationBulkLoadRepository;
+import uk.gov.hmcts.reform.professionalapi.service.BulkOrganisationService;
+import uk.gov.hmcts.reform.professionalapi.service.PrdEnumService;
+import uk.gov.hmcts.reform.professionalapi.util.RefDataUtil;
+
+@Service
+@Slf4j
+public class BulkOrganisationServiceImpl implements BulkOrganisationService {
+
+    private static final String SRA_REGULATED_FALSE = "false";
+    private static final String RECORD_NOT_PROCESSED = "The record could not be processed";
+
+    @Autowired
+    OrganisationBulkLoadRepository organisationBulkLoadRepository;
+    @Autowired
+    OrganisationCreationRequestValidator organisationCreationRequestValidator;
+    @Autowired
+    PrdEnumService prdEnumService;
+    @Autowired
+    Validator validator;
+
+    @Value("${bulkOnboardingMaximumRecords}")
+    int bulkOnboardingMaximumRecords;
+
+    Supplier<String> organisationIdentifierGenerator =
+            () -> generateUniqueAlphanumericId(LENGTH_OF_ORGANISATION_IDENTIFIER);
+
+    @Value("${loggingComponentName}")
+    private String loggingComponentName;
+
+    /**
+     * Each record is validated and normalised as createOrganisationFrom would, as it is read, then every valid
+     * record is loaded in one pass. A record that fails validation, repeats an SRA ID, company number, email
+     * address or PBA number of an earlier record, or clashes with an existing organisation is reported as FAILED
+     * and does not stop the others. So is a record that fails for any other reason, rather than failing the whole
+     * batch. Reading stops as soon as the request has more than bulkOnboardingMaximumRecords records.
+     */
+    @Override
+    @Transactional
+    public BulkOrganisationResponse onboardOrganisations(Iterator<BulkOrganisationRecord> records) {
+        List<Integer> recordNumbers = new ArrayList<>();
+        Map<Integer, String> errors = new HashMap<>();
+        List<BulkOrganisation> organisations = new ArrayList<>();
+        UniqueValues uniqueValues = new UniqueValues(organisationIdentifierGenerator);
+        while (records.hasNext()) {
+            BulkOrganisationRecord record = records.next();
+            if (recordNumbers.size() == bulkOnboardingMaximumRecords) {
+                throw new InvalidRequest("A bulk request must not contain more than " + bulkOnboardingMaximumRecords
+                        + " organisations");
+            }
+            recordNumbers.add(record.getRecordNumber());
+            try {
+                BulkOrganisation organisation = toBulkOrganisation(record);
+                uniqueValues.check(organisation);
+                organisations.add(organisation);
+            } catch (InvalidRequest ex) {
+                errors.put(record.getRecordNumber(), ex.getMessage());
+            } catch (RuntimeException ex) {
+                log.warn("{}:: Bulk onboarding record {} could not be processed", loggingComponentName,
+                        record.getRecordNumber(), ex);
+                errors.put(record.getRecordNumber(), RECORD_NOT_PROCESSED);
+            }
+        }
+        if (recordNumbers.isEmpty()) {
+            throw new InvalidRequest("No organisations were found in the request");
+        }
+
+        if (!organisations.isEmpty()) {
+            errors.putAll(organisationBulkLoadRepository.load(organisations, superUserRoles(),
+                    LocalDateTime.now()));
+        }
+        log.info("{}:: Bulk onboarded {} of {} organisations", loggingComponentName,
+                recordNumbers.size() - errors.size(), recordNumbers.size());
+
+        Map<Integer, String> organisationIdentifiers = new HashMap<>();
+        organisations.forEach(organisation -> organisationIdentifiers.put(organisation.getRecordNumber(),
+                organisation.getOrganisation().getOrganisationIdentifier()));
+        return new BulkOrganisationResponse(recordNumbers.stream()
+                .map(recordNumber -> errors.containsKey(recordNumber)
+                        ? new BulkOrganisationRecordResponse(recordNumber, FAILED, null, errors.get(recordNumber))
+                        : new BulkOrganisationRecordResponse(recordNumber, CREATED,
+                                organisationIdentifiers.get(recordNumber), null))
+                .collect(toList()));
+    }
+
+    private BulkOrganisation toBulkOrganisation(BulkOrganisationRecord record) {
+        if (record.getError() != null) {
+            throw new InvalidRequest(record.getError());
+        }
+        OrganisationCreationRequest request = record.getOrganisationCreationRequest();
+        validate(request);
+        requireMandatoryFields(request);
+        organisationCreationRequestValidator.validate(request);
+        if (isBlank(request.getSraRegulated())) {
+            request.setSraRegulated(SRA_REGULATED_FALSE);
+        }
+        if (request.getCompanyNumber() != null) {
+            organisationCreationRequestValidator.validateCompanyNumber(request);
+        }
+        if (request.getPaymentAccount() != null) {
+            PaymentAccountValidator.checkPbaNumberIsValid(request.getPaymentAccount());
+        }
+
+        Organisation organisation = new Organisation(
+                RefDataUtil.removeEmptySpaces(request.getName()),
+                OrganisationStatus.PENDING,
+                RefDataUtil.removeEmptySpaces(request.getSraId()),
+                RefDataUtil.removeEmptySpaces(request.getCompanyNumber()),
+                Boolean.parseBoolean(RefDataUtil.removeEmptySpaces(request.getSraRegulated().toLowerCase())),
+                RefDataUtil.removeAllSpaces(request.getCompanyUrl()));
+        organisation.setId(UUID.randomUUID());
+        validate(organisation);
+
+        if (request.getPaymentAccount() != null) {
+            request.getPaymentAccount().forEach(pbaNumber -> {
+                PaymentAccount paymentAccount = new PaymentAccount(pbaNumber.toUpperCase());
+                paymentAccount.setId(UUID.randomUUID());
+                paymentAccount.setOrganisation(organisation);
+                validate(paymentAccount);
+                organisation.addPaymentAccount(paymentAccount);
+            });
+        }
+
+        UserCreationRequest superUserRequest = request.getSuperUser();
+        ProfessionalUser superUser = new ProfessionalUser(
+                RefDataUtil.removeEmptySpaces(superUserRequest.getFirstName()),
+                RefDataUtil.removeEmptySpaces(superUserRequest.getLastName()),
+                RefDataUtil.removeAllSpaces(superUserRequest.getEmail().toLowerCase()),
+                organisation);
+        superUser.setId(UUID.randomUUID());
+        validate(superUser);
+
+        for (ContactInformationCreationRequest contactRequest : request.getContactInformation()) {
+            ContactInformation contactInformation = new ContactInformation();
+            contactInformation.setId(UUID.randomUUID());
+            contactInformation.setAddressLine1(RefDataUtil.removeEmptySpaces(contactRequest.getAddressLine1()));
+            contactInformation.setAddressLine2(RefDataUtil.removeEmptySpaces(contactRequest.getAddressLine2()));
+            contactInformation.setAddressLine3(RefDataUtil.removeEmptySpaces(contactRequest.getAddressLine3()));
+            contactInformation.setTownCity(RefDataUtil.removeEmptySpaces(contactRequest.getTownCity()));
+            contactInformation.setCounty(RefDataUtil.removeEmptySpaces(contactRequest.getCounty()));
+            contactInformation.setCountry(RefDataUtil.removeEmptySpaces(contactRequest.getCountry()));
+            contactInformation.setPostCode(RefDataUtil.removeEmptySpaces(contactRequest.getPostCode()));
+            contactInformation.setOrganisation(organisation);
+            validate(contactInformation);
+            if (contactRequest.getDxAddress() != null) {
+                for (DxAddressCreationRequest dxRequest : contactRequest.getDxAddress()) {
+                    DxAddress dxAddress = new DxAddress(
+                            RefDataUtil.removeEmptySpaces(dxRequest.getDxNumber()),
+                            RefDataUtil.removeEmptySpaces(dxRequest.getDxExchange()),
+                            contactInformation);
+                    dxAddress.setId(UUID.randomUUID());
+                    validate(dxAddress);
+                    contactInformation.addDxAddress(dxAddress);
+                }
+            }
+            organisation.addContactInformation(contactInformation);
+        }
+        return new BulkOrganisation(record.getRecordNumber(), organisation, superUser);
+    }
+
+    /**
+     * The constraints that @Valid and Hibernate would otherwise check, so that an invalid record fails on its
+     * own rather than failing the COPY for every record.
+     */
+    private void validate(Object object) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(object);
+        if (!violations.isEmpty()) {
+            throw new InvalidRequest(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(joining(", ")));
+        }
+    }
+
+    /**
+     * The nested values the validators leave unchecked but the record cannot be built without.
+     */
+    private static void requireMandatoryFields(OrganisationCreationRequest request) {
+        UserCreationRequest superUser = request.getSuperUser();
+        List<String> missing = new ArrayList<>();
+        if (isBlank(superUser.getFirstName())) {
+            missing.add("superUser.firstName must not be blank");
+        }
+        if (isBlank(superUser.getLastName())) {
+            missing.add("superUser.lastName must not be blank");
+        }
+        if (isBlank(superUser.getEmail())) {
+            missing.add("superUser.email must not be blank");
+        }
+        if (request.getContactInformation().stream().anyMatch(Objects::isNull)) {
+            missing.add("contactInformation must not contain null");
+        }
+        if (!missing.isEmpty()) {
+            throw new InvalidRequest(String.join(", ", missing));
+        }
+    }
+
+    private List<PrdEnum> superUserRoles() {
+        return prdEnumService.findAllPrdEnums().stream()
+                .filter(prdEnum -> PrdEnumType.SIDAM_ROLE.name()
+                        .equalsIgnoreCase(prdEnum.getPrdEnumId().getEnumType())
+                        || PrdEnumType.ADMIN_ROLE.name().equalsIgnoreCase(prdEnum.getPrdEnumId().getEnumType()))
+                .collect(toList());
+    }
+
+    /**
+     * The values that must be unique across the request, with the record that first used each one, and the
+     * organisation identifiers given out so far.
+     */
+    private static final class UniqueValues {
+
+        private final Supplier<String> organisationIdentifierGenerator;
+        private final Set<String> organisationIdentifiers = new HashSet<>();
+        private final Map<String, Integer> sraIds = new LinkedHashMap<>();
+        private final Map<String, Integer> companyNumbers = new LinkedHashMap<>();
+        private final Map<String, Integer> emailAddresses = new LinkedHashMap<>();
+        private final Map<String, Integer> pbaNumbers = new LinkedHashMap<>();
+
+        private UniqueValues(Supplier<String> organisationIdentifierGenerator) {
+            this.organisationIdentifierGenerator = organisationIdentifierGenerator;
+        }
+
+        private void check(BulkOrganisation bulkOrganisation) {
+            Organisation organisation = bulkOrganisation.getOrganisation();
+            List<String> duplicates = new ArrayList<>();
+            duplicate(sraIds, organisation.getSraId(), "SRA ID", duplicates);
+            duplicate(companyNumbers, organisation.getCompanyNumber(), "Company number", duplicates);
+            duplicate(emailAddresses, bulkOrganisation.getSuperUser().getEmailAddress(), "Email address",
+                    duplicates);
+            organisation.getPaymentAccounts().forEach(paymentAccount ->
+                    duplicate(pbaNumbers, paymentAccount.getPbaNumber(), "PBA number", duplicates));
+            if (!duplicates.isEmpty()) {
+                throw new InvalidRequest(String.join(", ", duplicates));
+            }
+
+            int recordNumber = bulkOrganisation.getRecordNumber();
+            putIfPresent(sraIds, organisation.getSraId(), recordNumber);
+            putIfPresent(companyNumbers, organisation.getCompanyNumber(), recordNumber);
+            putIfPresent(emailAddresses, bulkOrganisation.getSuperUser().getEmailAddress(), recordNumber);
+            organisation.getPaymentAccounts().forEach(paymentAccount ->
+                    putIfPresent(pbaNumbers, paymentAccount.getPbaNumber(), recordNumber));
+
+            // a generated identifier that repeats an earlier record's would fail the merge for the whole batch
+            String organisationIdentifier = organisationIdentifierGenerator.get();
+            while (!organisationIdentifiers.add(organisationIdentifier)) {
+                organisationIdentifier = organisationIdentifierGenerator.get();
+            }
+            organisation.setOrganisationIdentifier(organisationIdentifier);
+        }
+
+        private static void duplicate(Map<String, Integer> seen, String value, String description,
+                                      List<String> duplicates) {
+            if (value != null && seen.containsKey(value)) {
+                duplicates.add(description + " " + value + " is already used by record " + seen.get(value));
+            }
+        }
+
+        private static void putIfPresent(Map<String, Integer> seen, String value, int recordNumber) {
+            if (value != null) {
+                seen.putIfAbsent(value, recordNumber);
+            }
+        }
+    }
+}
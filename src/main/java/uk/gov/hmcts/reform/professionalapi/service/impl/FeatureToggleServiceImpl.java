@@ -4,6 +4,8 @@ import com.launchdarkly.sdk.LDUser;
 import com.launchdarkly.sdk.server.LDClient;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +13,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.professionalapi.service.FeatureToggleService;
 
+/**
+ * Keeps a snapshot of each flag's value per service. A value is evaluated the first time it is asked for and
+ * re-evaluated whenever LaunchDarkly reports a change to the flag, so the last known values keep being served
+ * while LaunchDarkly is unreachable. Nothing is kept until the client has initialised, so the default of false
+ * served before then is not remembered. Every change to a flag moves its version on, and a value is only served
+ * from the snapshot while it carries the current version, so a value evaluated just before a change is never
+ * kept in place of the changed one.
+ */
 @Service
 public class FeatureToggleServiceImpl implements FeatureToggleService {
 
@@ -24,6 +34,8 @@ public class FeatureToggleServiceImpl implements FeatureToggleService {
 
     private Map<String, String> launchDarklyMap;
 
+    private final Map<String, FlagState> flagStates = new ConcurrentHashMap<>();
+
     @Autowired
     public FeatureToggleServiceImpl(LDClient ldClient, @Value("${launchdarkly.sdk.user}") String userName) {
         this.ldClient = ldClient;
@@ -31,6 +43,11 @@ public class FeatureToggleServiceImpl implements FeatureToggleService {
     }
 
     @PostConstruct
+    public void init() {
+        mapServiceToFlag();
+        ldClient.getFlagTracker().addFlagChangeListener(event -> refresh(event.getKey()));
+    }
+
     public void mapServiceToFlag() {
         launchDarklyMap = new HashMap<>();
         launchDarklyMap.put("OrganisationExternalController.retrieveOrganisationsByStatusWithAddressDetailsOptional",
@@ -41,6 +58,34 @@ public class FeatureToggleServiceImpl implements FeatureToggleService {
 
     @Override
     public boolean isFlagEnabled(String serviceName, String flagName) {
+        FlagState state = flagStates.computeIfAbsent(flagName, flag -> new FlagState());
+        long version = state.version.get();
+        FlagValue value = state.values.get(serviceName);
+        if (value != null && value.version == version) {
+            return value.enabled;
+        }
+        boolean enabled = evaluate(serviceName, flagName);
+        if (ldClient.isInitialized()) {
+            state.values.merge(serviceName, new FlagValue(version, enabled), FlagValue::latest);
+        }
+        return enabled;
+    }
+
+    @Override
+    public Map<String, String> getLaunchDarklyMap() {
+        return launchDarklyMap;
+    }
+
+    private void refresh(String flagName) {
+        FlagState state = flagStates.get(flagName);
+        if (state != null) {
+            long version = state.version.incrementAndGet();
+            state.values.replaceAll((serviceName, value) -> value.version >= version
+                ? value : new FlagValue(version, evaluate(serviceName, flagName)));
+        }
+    }
+
+    private boolean evaluate(String serviceName, String flagName) {
         LDUser user = new LDUser.Builder(userName)
             .firstName(userName)
             .custom("servicename", serviceName)
@@ -50,12 +95,24 @@ public class FeatureToggleServiceImpl implements FeatureToggleService {
         return ldClient.boolVariation(flagName, user, false);
     }
 
-    @Override
-    public Map<String, String> getLaunchDarklyMap() {
-        return launchDarklyMap;
+    private static final class FlagState {
+
+        private final AtomicLong version = new AtomicLong();
+        private final Map<String, FlagValue> values = new ConcurrentHashMap<>();
     }
-}
 
+    private static final class FlagValue {
 
+        private final long version;
+        private final boolean enabled;
 
+        private FlagValue(long version, boolean enabled) {
+            this.version = version;
+            this.enabled = enabled;
+        }
 
+        private static FlagValue latest(FlagValue kept, FlagValue evaluated) {
+            return evaluated.version >= kept.version ? evaluated : kept;
+        }
+    }
+}
@@ -6,45 +6,58 @@ import static uk.gov.hmcts.reform.professionalapi.controller.constants.Professio
 import static uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus.ACTIVE;
 import static uk.gov.hmcts.reform.professionalapi.generator.ProfessionalApiGenerator.generateUniqueAlphanumericId;
 
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import org.hibernate.Hibernate;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 import org.springframework.util.StringUtils;
 import uk.gov.hmcts.reform.professionalapi.controller.constants.IdamStatus;
 import uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants;
-import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileFeignClient;
+import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileAsyncClient;
 import uk.gov.hmcts.reform.professionalapi.controller.request.ContactInformationCreationRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.DeleteUserProfilesRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.DxAddressCreationRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.InvalidRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.OrganisationCreationRequest;
-import uk.gov.hmcts.reform.professionalapi.controller.request.RetrieveUserProfilesRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.UserCreationRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.validator.PaymentAccountValidator;
+import uk.gov.hmcts.reform.professionalapi.controller.response.ContactInformationResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.DeleteOrganisationResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.NewUserResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationEntityResponse;
+import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationMinimalInfoResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationResponse;
+import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationSearchResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationsDetailResponse;
 import uk.gov.hmcts.reform.professionalapi.domain.ContactInformation;
 import uk.gov.hmcts.reform.professionalapi.domain.DxAddress;
 import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationAddress;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchCriteria;
 import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
 import uk.gov.hmcts.reform.professionalapi.domain.PaymentAccount;
 import uk.gov.hmcts.reform.professionalapi.domain.ProfessionalUser;
@@ -57,6 +70,7 @@ import uk.gov.hmcts.reform.professionalapi.repository.PrdEnumRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.ProfessionalUserRepository;
 import uk.gov.hmcts.reform.professionalapi.service.OrganisationService;
 import uk.gov.hmcts.reform.professionalapi.service.PrdEnumService;
+import uk.gov.hmcts.reform.professionalapi.service.ProfessionalUserService;
 import uk.gov.hmcts.reform.professionalapi.service.UserAccountMapService;
 import uk.gov.hmcts.reform.professionalapi.service.UserAttributeService;
 import uk.gov.hmcts.reform.professionalapi.util.RefDataUtil;
@@ -81,13 +95,17 @@ public class OrganisationServiceImpl implements OrganisationService {
     @Autowired
     UserAccountMapService userAccountMapService;
     @Autowired
-    UserProfileFeignClient userProfileFeignClient;
-    @Autowired
     PrdEnumService prdEnumService;
     @Autowired
     UserAttributeService userAttributeService;
     @Autowired
     PaymentAccountValidator paymentAccountValidator;
+    @Autowired
+    UserProfileAsyncClient userProfileAsyncClient;
+    @Autowired
+    ProfessionalUserService professionalUserService;
+    @Autowired
+    PlatformTransactionManager transactionManager;
 
     @Value("${loggingComponentName}")
     private String loggingComponentName;
@@ -136,12 +154,13 @@ public class OrganisationServiceImpl implements OrganisationService {
                 PaymentAccountValidator.checkPbaNumberIsValid(paymentAccounts);
             }
 
-            paymentAccounts.forEach(pbaAccount -> {
+            List<PaymentAccount> newPaymentAccounts = paymentAccounts.stream().map(pbaAccount -> {
                 PaymentAccount paymentAccount = new PaymentAccount(pbaAccount.toUpperCase());
                 paymentAccount.setOrganisation(organisation);
-                PaymentAccount persistedPaymentAccount = paymentAccountRepository.save(paymentAccount);
-                organisation.addPaymentAccount(persistedPaymentAccount);
-            });
+                return paymentAccount;
+            }).collect(toList());
+            paymentAccountRepository.saveAll(newPaymentAccounts);
+            newPaymentAccounts.forEach(organisation::addPaymentAccount);
         }
     }
 
@@ -172,21 +191,30 @@ public class OrganisationServiceImpl implements OrganisationService {
 
     }
 
+    /**
+     * Saves every contact and then every DX address of the organisation together, so that with ordered inserts
+     * each table is written in one JDBC batch however many were submitted.
+     */
     public void addContactInformationToOrganisation(
             List<ContactInformationCreationRequest> contactInformationCreationRequest,
             Organisation organisation) {
 
         if (contactInformationCreationRequest != null) {
+            List<ContactInformation> contactInformations = new ArrayList<>();
+            List<DxAddress> dxAddresses = new ArrayList<>();
             contactInformationCreationRequest.forEach(contactInfo -> {
                 ContactInformation newContactInformation = new ContactInformation();
                 newContactInformation = setNewContactInformationFromRequest(newContactInformation, contactInfo,
                         organisation);
+                contactInformations.add(newContactInformation);
 
-                ContactInformation contactInformation = contactInformationRepository.save(newContactInformation);
-
-                addDxAddressToContactInformation(contactInfo.getDxAddress(), contactInformation);
-
+                addDxAddressToContactInformation(contactInfo.getDxAddress(), newContactInformation, dxAddresses);
             });
+
+            contactInformationRepository.saveAll(contactInformations);
+            if (!dxAddresses.isEmpty()) {
+                dxAddressRepository.saveAll(dxAddresses);
+            }
         }
     }
 
@@ -205,9 +233,8 @@ public class OrganisationServiceImpl implements OrganisationService {
     }
 
     private void addDxAddressToContactInformation(List<DxAddressCreationRequest> dxAddressCreationRequest,
-                                                  ContactInformation contactInformation) {
+                                                  ContactInformation contactInformation, List<DxAddress> dxAddresses) {
         if (dxAddressCreationRequest != null) {
-            List<DxAddress> dxAddresses = new ArrayList<>();
             dxAddressCreationRequest.forEach(dxAdd -> {
                 DxAddress dxAddress = new DxAddress(
                         RefDataUtil.removeEmptySpaces(dxAdd.getDxNumber()),
@@ -215,7 +242,6 @@ public class OrganisationServiceImpl implements OrganisationService {
                         contactInformation);
                 dxAddresses.add(dxAddress);
             });
-            dxAddressRepository.saveAll(dxAddresses);
         }
     }
 
@@ -224,7 +250,8 @@ public class OrganisationServiceImpl implements OrganisationService {
         List<Organisation> updatedOrganisationDetails = new ArrayList<>();
         Map<String, Organisation> activeOrganisationDtls = new ConcurrentHashMap<>();
 
-        List<Organisation> activeOrganisations = getOrganisationByStatus(ACTIVE);
+        List<Organisation> activeOrganisations = readOnlyTransaction().execute(transaction ->
+                withDetails(getOrganisationByStatus(ACTIVE)));
 
         activeOrganisations.forEach(organisation -> {
             if (!organisation.getUsers().isEmpty() && null != organisation.getUsers().get(ZERO_INDEX)
@@ -235,11 +262,7 @@ public class OrganisationServiceImpl implements OrganisationService {
 
         if (!CollectionUtils.isEmpty(activeOrganisations)) {
 
-            RetrieveUserProfilesRequest retrieveUserProfilesRequest
-                    = new RetrieveUserProfilesRequest(activeOrganisationDtls.keySet().stream().sorted()
-                    .collect(Collectors.toList()));
-            updatedOrganisationDetails = RefDataUtil.getMultipleUserProfilesFromUp(userProfileFeignClient,
-                    retrieveUserProfilesRequest,
+            updatedOrganisationDetails = RefDataUtil.getMultipleUserProfilesFromUp(userProfileAsyncClient,
                     "false", activeOrganisationDtls);
 
         }
@@ -248,7 +271,8 @@ public class OrganisationServiceImpl implements OrganisationService {
 
     @Override
     public OrganisationsDetailResponse retrieveAllOrganisations() {
-        List<Organisation> retrievedOrganisations = organisationRepository.findAll();
+        List<Organisation> retrievedOrganisations = readOnlyTransaction().execute(transaction ->
+                withDetails(organisationRepository.findAll()));
 
         if (retrievedOrganisations.isEmpty()) {
             throw new EmptyResultDataAccessException(1);
@@ -277,11 +301,7 @@ public class OrganisationServiceImpl implements OrganisationService {
 
         if (!CollectionUtils.isEmpty(activeOrganisations)) {
 
-            RetrieveUserProfilesRequest retrieveUserProfilesRequest
-                    = new RetrieveUserProfilesRequest(activeOrganisationDetails.keySet().stream().sorted()
-                    .collect(Collectors.toList()));
-            updatedActiveOrganisations = RefDataUtil.getMultipleUserProfilesFromUp(userProfileFeignClient,
-                    retrieveUserProfilesRequest,
+            updatedActiveOrganisations = RefDataUtil.getMultipleUserProfilesFromUp(userProfileAsyncClient,
                     "false", activeOrganisationDetails);
         }
 
@@ -319,13 +339,14 @@ public class OrganisationServiceImpl implements OrganisationService {
 
     @Override
     public OrganisationEntityResponse retrieveOrganisation(String organisationIdentifier) {
-        Organisation organisation = organisationRepository.findByOrganisationIdentifier(organisationIdentifier);
+        Organisation organisation = readOnlyTransaction().execute(transaction ->
+                withDetails(organisationRepository.findByOrganisationIdentifier(organisationIdentifier)));
         if (organisation == null) {
             throw new EmptyResultDataAccessException(ONE);
 
         } else if (ACTIVE.name().equalsIgnoreCase(organisation.getStatus().name())) {
             log.debug("{}:: Retrieving organisation", loggingComponentName);
-            organisation.setUsers(RefDataUtil.getUserIdFromUserProfile(organisation.getUsers(), userProfileFeignClient,
+            organisation.setUsers(RefDataUtil.getUserIdFromUserProfile(organisation.getUsers(), userProfileAsyncClient,
                     false));
         }
         return new OrganisationEntityResponse(organisation, true);
@@ -337,7 +358,7 @@ public class OrganisationServiceImpl implements OrganisationService {
         List<Organisation> organisations = null;
         if (OrganisationStatus.PENDING.name().equalsIgnoreCase(status.name())) {
 
-            organisations = getOrganisationByStatus(status);
+            organisations = readOnlyTransaction().execute(transaction -> withDetails(getOrganisationByStatus(status)));
 
         } else if (ACTIVE.name().equalsIgnoreCase(status.name())) {
 
@@ -372,6 +393,7 @@ public class OrganisationServiceImpl implements OrganisationService {
     private DeleteOrganisationResponse deleteOrganisationEntity(Organisation organisation,
                                                                 DeleteOrganisationResponse deleteOrganisationResponse,
                                                                 String prdAdminUserId) {
+        professionalUserService.evictOrganisationIdentifiers(organisation);
         organisationRepository.deleteById(organisation.getId());
         deleteOrganisationResponse.setStatusCode(ProfessionalApiConstants.STATUS_CODE_204);
         deleteOrganisationResponse.setMessage(ProfessionalApiConstants.DELETION_SUCCESS_MSG);
@@ -389,7 +411,7 @@ public class OrganisationServiceImpl implements OrganisationService {
             ProfessionalUser user = organisation.getUsers()
                     .get(ProfessionalApiConstants.ZERO_INDEX).toProfessionalUser();
             NewUserResponse newUserResponse = RefDataUtil
-                    .findUserProfileStatusByEmail(user.getEmailAddress(), userProfileFeignClient);
+                    .findUserProfileStatusByEmail(user.getEmailAddress(), userProfileAsyncClient);
 
             if (StringUtils.isEmpty(newUserResponse.getIdamStatus())) {
 
@@ -402,7 +424,7 @@ public class OrganisationServiceImpl implements OrganisationService {
                 userIds.add(user.getUserIdentifier());
                 DeleteUserProfilesRequest deleteUserRequest = new DeleteUserProfilesRequest(userIds);
                 deleteOrganisationResponse = RefDataUtil
-                        .deleteUserProfilesFromUp(deleteUserRequest, userProfileFeignClient);
+                        .deleteUserProfilesFromUp(deleteUserRequest, userProfileAsyncClient);
             } else {
                 deleteOrganisationResponse.setStatusCode(ProfessionalApiConstants.ERROR_CODE_400);
                 deleteOrganisationResponse.setMessage(ProfessionalApiConstants.ERROR_MESSAGE_400_ADMIN_NOT_PENDING);
@@ -418,5 +440,64 @@ public class OrganisationServiceImpl implements OrganisationService {
         return organisationRepository.findByStatus(status);
     }
 
+    /**
+     * A read-only transaction for the database reads alone. They can go to a replica, and the connection is
+     * handed back before User Profile is called rather than held for the length of those calls.
+     */
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    /**
+     * Loads the users, payment accounts, contact information and DX addresses the responses read while the
+     * transaction is still open. The collections are fetched by subselect, so a list of organisations costs one
+     * query per collection.
+     */
+    private static List<Organisation> withDetails(List<Organisation> organisations) {
+        organisations.forEach(OrganisationServiceImpl::withDetails);
+        return organisations;
+    }
+
+    static Organisation withDetails(Organisation organisation) {
+        if (organisation != null) {
+            Hibernate.initialize(organisation.getUsers());
+            Hibernate.initialize(organisation.getPaymentAccounts());
+            organisation.getContactInformation().forEach(contactInformation ->
+                    Hibernate.initialize(contactInformation.getDxAddresses()));
+        }
+        return organisation;
+    }
+
+    /**
+     * Reads only the columns OrganisationMinimalInfoResponse needs instead of whole Organisation entities, whose
+     * users, payment accounts and contact information would otherwise all be loaded. When addresses are asked
+     * for, the addresses of every matching organisation are read in one further query.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrganisationMinimalInfoResponse> getOrganisationMinimalInfoByStatus(OrganisationStatus status,
+                                                                                    boolean address) {
+        Map<UUID, List<ContactInformationResponse>> addressesByOrganisationId = address
+                ? contactInformationRepository.findAddressesByOrganisationStatus(status).stream()
+                        .collect(groupingBy(OrganisationAddress::getOrganisationId,
+                                mapping(ContactInformationResponse::new, toList())))
+                : null;
+
+        return organisationRepository.findMinimalInfoByStatus(status).stream()
+                .map(organisation -> new OrganisationMinimalInfoResponse(organisation,
+                        address ? addressesByOrganisationId.getOrDefault(organisation.getId(), new ArrayList<>())
+                                : null))
+                .collect(toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<OrganisationSearchResponse> searchOrganisations(OrganisationSearchCriteria criteria,
+                                                                Pageable pageable) {
+        return organisationRepository.search(criteria, pageable).map(OrganisationSearchResponse::new);
+    }
+
 }
 
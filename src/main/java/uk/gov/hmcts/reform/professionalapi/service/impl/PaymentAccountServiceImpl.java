@@ -1,8 +1,15 @@
 package uk.gov.hmcts.reform.professionalapi.service.impl;
 
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,9 +17,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import uk.gov.hmcts.reform.professionalapi.configuration.ApplicationConfiguration;
-import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileFeignClient;
+import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileAsyncClient;
 import uk.gov.hmcts.reform.professionalapi.controller.request.PbaEditRequest;
 import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
 import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
@@ -20,18 +29,14 @@ import uk.gov.hmcts.reform.professionalapi.domain.PaymentAccount;
 import uk.gov.hmcts.reform.professionalapi.domain.PbaResponse;
 import uk.gov.hmcts.reform.professionalapi.domain.ProfessionalUser;
 import uk.gov.hmcts.reform.professionalapi.domain.SuperUser;
-import uk.gov.hmcts.reform.professionalapi.domain.UserAccountMap;
-import uk.gov.hmcts.reform.professionalapi.domain.UserAccountMapId;
+import uk.gov.hmcts.reform.professionalapi.repository.PaymentAccountRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.professionalapi.repository.UserAccountMapRepository;
 import uk.gov.hmcts.reform.professionalapi.service.OrganisationService;
 import uk.gov.hmcts.reform.professionalapi.service.PaymentAccountService;
 import uk.gov.hmcts.reform.professionalapi.service.UserAccountMapService;
 import uk.gov.hmcts.reform.professionalapi.util.RefDataUtil;
 
-import javax.persistence.EntityManager;
-import javax.persistence.EntityManagerFactory;
-import javax.persistence.EntityTransaction;
-
 @Service
 @Slf4j
 @AllArgsConstructor
@@ -40,27 +45,39 @@ public class PaymentAccountServiceImpl implements PaymentAccountService {
     @Autowired
     ApplicationConfiguration configuration;
     @Autowired
-    UserProfileFeignClient userProfileFeignClient;
-    @Autowired
-    EntityManagerFactory emf;
+    UserProfileAsyncClient userProfileAsyncClient;
 
     private ProfessionalUserRepository professionalUserRepository;
+    private PaymentAccountRepository paymentAccountRepository;
+    private UserAccountMapRepository userAccountMapRepository;
     private OrganisationService organisationService;
     private UserAccountMapService userAccountMapService;
+    private PlatformTransactionManager transactionManager;
 
+    /**
+     * The organisation is read in a read-only transaction of its own, which can go to a replica and never
+     * flushes the payment accounts and users set on it to shape the response. User Profile is called once
+     * that transaction has handed its connection back.
+     */
     public Organisation findPaymentAccountsByEmail(String email) {
-
-        ProfessionalUser user = professionalUserRepository.findByEmailAddress(RefDataUtil.removeAllSpaces(email));
-        Organisation organisation = null;
-        List<PaymentAccount> paymentAccountsEntity;
-
-        if (null != user && OrganisationStatus.ACTIVE.equals(user.getOrganisation().getStatus())) {
-
-            paymentAccountsEntity = RefDataUtil.getPaymentAccount(user.getOrganisation().getPaymentAccounts());
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        Organisation organisation = readOnlyTransaction.execute(transaction -> {
+            ProfessionalUser user = professionalUserRepository.findByEmailAddress(
+                    RefDataUtil.removeAllSpaces(email));
+            if (null == user || !OrganisationStatus.ACTIVE.equals(user.getOrganisation().getStatus())) {
+                return null;
+            }
+            List<PaymentAccount> paymentAccountsEntity = RefDataUtil.getPaymentAccount(
+                    user.getOrganisation().getPaymentAccounts());
             user.getOrganisation().setPaymentAccounts(paymentAccountsEntity);
-            user.getOrganisation().setUsers(RefDataUtil.getUserIdFromUserProfile(user.getOrganisation().getUsers(),
-                    userProfileFeignClient, false));
-            organisation = user.getOrganisation();
+            return OrganisationServiceImpl.withDetails(user.getOrganisation());
+        });
+
+        if (organisation != null) {
+            organisation.setUsers(RefDataUtil.getUserIdFromUserProfile(organisation.getUsers(),
+                    userProfileAsyncClient, false));
         }
         return organisation;
     }
@@ -68,60 +85,62 @@ public class PaymentAccountServiceImpl implements PaymentAccountService {
     @Override
     @Transactional
     public PbaResponse editPaymentAccountsByOrganisation(Organisation organisation, PbaEditRequest pbaEditRequest) {
-        EntityManager em = emf.createEntityManager();
-        EntityTransaction transaction = em.getTransaction();
-        transaction.begin();
-
-        deleteUserAccountMapsAndPaymentAccounts(em, organisation);
-        addPaymentAccountsToOrganisation(pbaEditRequest, organisation);
-        PbaResponse pbaResponse = addUserAndPaymentAccountsToUserAccountMap(organisation);
-
-        transaction.commit();
-        em.close();
-        return pbaResponse;
+        Set<String> requestedPbas = pbaEditRequest.getPaymentAccounts() == null ? new HashSet<>()
+                : pbaEditRequest.getPaymentAccounts().stream().map(String::toUpperCase).collect(toSet());
+        Set<String> existingPbas = organisation.getPaymentAccounts().stream()
+                .map(paymentAccount -> paymentAccount.getPbaNumber().toUpperCase()).collect(toSet());
+
+        List<PaymentAccount> removedAccounts = organisation.getPaymentAccounts().stream()
+                .filter(paymentAccount -> !requestedPbas.contains(paymentAccount.getPbaNumber().toUpperCase()))
+                .collect(toList());
+        Set<String> addedPbas = requestedPbas.stream().filter(pba -> !existingPbas.contains(pba))
+                .collect(toCollection(TreeSet::new));
+
+        deleteUserAccountMapsAndPaymentAccounts(organisation, removedAccounts);
+        List<PaymentAccount> addedAccounts = addPaymentAccountsToOrganisation(addedPbas, organisation);
+        addUserAndPaymentAccountsToUserAccountMap(organisation, addedAccounts);
+
+        return new PbaResponse(HttpStatus.OK.toString(), HttpStatus.OK.getReasonPhrase(), new ArrayList<>(addedPbas),
+                removedAccounts.stream().map(PaymentAccount::getPbaNumber).sorted().collect(toList()));
     }
 
-    public void deleteUserAccountMapsAndPaymentAccounts(EntityManager em, Organisation organisation) {
-        List<PaymentAccount> paymentAccount = organisation.getPaymentAccounts();
-
-        /** Please note:
-         * Currently only the Super User of an Organisation is linked to the Payment Accounts via the User Account Map.
-         * If this changes then the below method will need to change accordingly */
-        removePaymentAccountAndUserAccountMaps(em,
-                generateListOfAccountsToDelete(organisation.getUsers().get(0).toProfessionalUser(), paymentAccount));
+    /**
+     * Removes the given Payment Accounts and every User Account Map row pointing at them with one bulk
+     * statement per table, instead of loading and removing each entity in turn.
+     */
+    public void deleteUserAccountMapsAndPaymentAccounts(Organisation organisation,
+                                                        List<PaymentAccount> removedAccounts) {
+        if (removedAccounts.isEmpty()) {
+            return;
+        }
+        List<UUID> removedAccountIds = removedAccounts.stream().map(PaymentAccount::getId).collect(toList());
+        userAccountMapRepository.deleteByPaymentAccountIdIn(removedAccountIds);
+        paymentAccountRepository.deleteByIdIn(removedAccountIds);
 
         /** Please Note:
-         * The below lines are required to set the Organisation's Payment Accounts List to be empty.
-         * If this is not done, the Organisation's list will still contain the previous Accounts */
-        organisation.setPaymentAccounts(new ArrayList<>());
+         * The Organisation's list still holds the removed Accounts, so it is replaced by the retained ones */
+        organisation.setPaymentAccounts(organisation.getPaymentAccounts().stream()
+                .filter(paymentAccount -> !removedAccounts.contains(paymentAccount))
+                .collect(toCollection(ArrayList::new)));
     }
 
-    public void addPaymentAccountsToOrganisation(PbaEditRequest pbaEditRequest, Organisation organisation) {
-        organisationService.addPbaAccountToOrganisation(pbaEditRequest.getPaymentAccounts(), organisation, true);
+    public List<PaymentAccount> addPaymentAccountsToOrganisation(Set<String> addedPbas, Organisation organisation) {
+        if (addedPbas.isEmpty()) {
+            return new ArrayList<>();
+        }
+        organisationService.addPbaAccountToOrganisation(addedPbas, organisation, true);
+        return organisation.getPaymentAccounts().stream()
+                .filter(paymentAccount -> addedPbas.contains(paymentAccount.getPbaNumber()))
+                .collect(toList());
     }
 
-    public PbaResponse addUserAndPaymentAccountsToUserAccountMap(Organisation organisation) {
-        List<PaymentAccount> paymentAccounts = organisation.getPaymentAccounts();
+    public void addUserAndPaymentAccountsToUserAccountMap(Organisation organisation,
+                                                          List<PaymentAccount> addedAccounts) {
         SuperUser superUser = organisation.getUsers().get(0);
 
         /** Please note:
          * Currently only the Super User of an Organisation is linked to the Payment Accounts via the User Account Map.
          * If this changes then the below logic will need to change accordingly */
-        userAccountMapService.persistedUserAccountMap(superUser.toProfessionalUser(), paymentAccounts);
-        return new PbaResponse(HttpStatus.OK.toString(), HttpStatus.OK.getReasonPhrase());
-    }
-
-    public List<UserAccountMapId> generateListOfAccountsToDelete(ProfessionalUser user, List<PaymentAccount> accounts) {
-        return accounts.stream().filter(account -> null != user && null != account)
-                .map(account -> new UserAccountMapId(user, account))
-                .collect(Collectors.toList());
-    }
-
-    public void removePaymentAccountAndUserAccountMaps(EntityManager em, List<UserAccountMapId> userAccountMaps) {
-        userAccountMaps.forEach(userAccountMap -> {
-            em.remove(em.find(UserAccountMap.class, userAccountMap));
-            em.remove(em.find(PaymentAccount.class, userAccountMap.getPaymentAccount().getId()));
-        });
-
+        userAccountMapService.persistedUserAccountMap(superUser.toProfessionalUser(), addedAccounts);
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,11 +1,17 @@
 package uk.gov.hmcts.reform.professionalapi.service.impl;
 
+import static uk.gov.hmcts.reform.professionalapi.configuration.CacheConfiguration.ORGANISATION_IDENTIFIER_CACHE;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ERROR_MESSAGE_UP_FAILED;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ERROR_MESSAGE_USER_MUST_BE_ACTIVE;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.FIRST_NAME;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ID;
+import static uk.gov.hmcts.reform.professionalapi.util.JsonFeignResponseUtil.convertHeaders;
 import static uk.gov.hmcts.reform.professionalapi.util.JsonFeignResponseUtil.toResponseEntity;
 import static uk.gov.hmcts.reform.professionalapi.util.RefDataUtil.filterUsersByStatus;
+import static uk.gov.hmcts.reform.professionalapi.util.RefDataUtil.filterUsersByStatusWithRoles;
 import static uk.gov.hmcts.reform.professionalapi.util.RefDataUtil.setOrgIdInGetUserResponse;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import feign.FeignException;
 import feign.Response;
 
@@ -13,20 +19,28 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import javax.transaction.Transactional;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ErrorResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ExternalApiException;
@@ -48,6 +62,7 @@ import uk.gov.hmcts.reform.professionalapi.repository.PrdEnumRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.ProfessionalUserRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.UserAttributeRepository;
 import uk.gov.hmcts.reform.professionalapi.service.ProfessionalUserService;
+import uk.gov.hmcts.reform.professionalapi.util.KeysetPageToken;
 import uk.gov.hmcts.reform.professionalapi.util.RefDataUtil;
 
 @Service
@@ -61,15 +76,20 @@ public class ProfessionalUserServiceImpl implements ProfessionalUserService {
 
     UserAttributeServiceImpl userAttributeService;
     UserProfileFeignClient userProfileFeignClient;
+    Cache<Object, Object> organisationIdentifierCache;
+    TransactionTemplate readOnlyTransaction;
 
     @Autowired
+    @SuppressWarnings("unchecked")
     public ProfessionalUserServiceImpl(
             OrganisationRepository organisationRepository,
             ProfessionalUserRepository professionalUserRepository,
             UserAttributeRepository userAttributeRepository,
             PrdEnumRepository prdEnumRepository,
             UserAttributeServiceImpl userAttributeService,
-            UserProfileFeignClient userProfileFeignClient) {
+            UserProfileFeignClient userProfileFeignClient,
+            CacheManager cacheManager,
+            PlatformTransactionManager transactionManager) {
 
         this.organisationRepository = organisationRepository;
         this.professionalUserRepository = professionalUserRepository;
@@ -77,6 +97,12 @@ public class ProfessionalUserServiceImpl implements ProfessionalUserService {
         this.prdEnumRepository = prdEnumRepository;
         this.userAttributeService = userAttributeService;
         this.userProfileFeignClient = userProfileFeignClient;
+        this.organisationIdentifierCache = (Cache<Object, Object>)
+                ((CaffeineCache) cacheManager.getCache(ORGANISATION_IDENTIFIER_CACHE)).getNativeCache();
+        // the users are read in a read-only transaction of their own, which can go to a replica and hands its
+        // connection back before User Profile is called
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Transactional
@@ -96,6 +122,37 @@ public class ProfessionalUserServiceImpl implements ProfessionalUserService {
         return professionalUserRepository.findByEmailAddress(RefDataUtil.removeAllSpaces(email));
     }
 
+    /**
+     * Reads only the organisation identifier rather than the user and its organisation, and caches it by user
+     * id. A user that is not found is not cached, so it is found as soon as it is created. A user never moves
+     * to another organisation, so an entry only goes stale when its organisation is deleted. The cache is local
+     * to each instance and evictOrganisationIdentifiers only clears this one, so the other instances can
+     * resolve a deleted organisation for up to the expireAfterWrite of organisationIdentifierCacheSpec (30s).
+     */
+    @Override
+    public String findOrganisationIdentifierByUserIdentifier(String userIdentifier) {
+        return (String) organisationIdentifierCache.get(userIdentifier,
+            key -> professionalUserRepository.findOrganisationIdentifierByUserIdentifier(userIdentifier));
+    }
+
+    /**
+     * Evicts the cached organisation identifier of every user of the organisation, and again once the
+     * transaction commits so that a lookup made before the commit is not left in the cache.
+     */
+    @Override
+    public void evictOrganisationIdentifiers(Organisation organisation) {
+        List<String> userIdentifiers = professionalUserRepository.findUserIdentifiersByOrganisation(organisation);
+        organisationIdentifierCache.invalidateAll(userIdentifiers);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    organisationIdentifierCache.invalidateAll(userIdentifiers);
+                }
+            });
+        }
+    }
+
     @Override
     public ProfessionalUser findProfessionalUserById(UUID id) {
         Optional<ProfessionalUser> professionalUser = professionalUserRepository.findById(id);
@@ -107,7 +164,8 @@ public class ProfessionalUserServiceImpl implements ProfessionalUserService {
                                                                                   String showDeleted,
                                                                                   boolean rolesRequired,
                                                                                   String status, Pageable pageable) {
-        Page<ProfessionalUser> pagedProfessionalUsers = getPagedListOfUsers(organisation, pageable);
+        Page<ProfessionalUser> pagedProfessionalUsers = readOnlyTransaction.execute(transaction ->
+                getPagedListOfUsers(organisation, pageable));
 
         ResponseEntity<Object> responseEntity
                 = retrieveUserProfiles(generateRetrieveUserProfilesRequest(pagedProfessionalUsers.getContent()),
@@ -119,10 +177,49 @@ public class ProfessionalUserServiceImpl implements ProfessionalUserService {
         return ResponseEntity.status(responseEntity.getStatusCode()).headers(headers).body(responseEntity.getBody());
     }
 
+    /**
+     * Seeks past the (firstName, id) of the last user of the previous page instead of counting and skipping rows,
+     * so every page costs the same however deep it is. One extra user is read to tell whether a next page exists.
+     */
+    @Override
+    public ResponseEntity<Object> findProfessionalUsersByOrganisationWithPageToken(Organisation organisation,
+                                                                                   String showDeleted,
+                                                                                   boolean rolesRequired,
+                                                                                   String status, String pageToken,
+                                                                                   Integer size) {
+        int pageSize = RefDataUtil.getPageSize(size);
+        KeysetPageToken after = KeysetPageToken.decode(pageToken);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<ProfessionalUser> professionalUsers = readOnlyTransaction.execute(transaction -> after == null
+                ? professionalUserRepository.findByOrganisationOrderByFirstNameAscIdAsc(organisation, limit)
+                : professionalUserRepository.findByOrganisationAfter(organisation, after.getFirstName(),
+                        after.getId(), limit));
+
+        if (professionalUsers.isEmpty()) {
+            throw new ResourceNotFoundException("No Users found for page token " + pageToken);
+        }
+
+        String nextPageToken = null;
+        if (professionalUsers.size() > pageSize) {
+            professionalUsers = professionalUsers.subList(0, pageSize);
+            nextPageToken = KeysetPageToken.after(professionalUsers.get(pageSize - 1)).encode();
+        }
+
+        ResponseEntity<Object> responseEntity = retrieveUserProfiles(
+                generateRetrieveUserProfilesRequest(professionalUsers), showDeleted, rolesRequired, status,
+                organisation.getOrganisationIdentifier());
+
+        HttpHeaders headers = RefDataUtil.generateResponseEntityWithPageTokenHeader(pageSize,
+                Sort.by(FIRST_NAME, ID), nextPageToken, responseEntity);
+
+        return ResponseEntity.status(responseEntity.getStatusCode()).headers(headers).body(responseEntity.getBody());
+    }
+
     @Override
     public ResponseEntity<Object> findProfessionalUsersByOrganisation(Organisation organisation, String showDeleted,
                                                                       boolean rolesRequired, String status) {
-        List<ProfessionalUser> professionalUsers = professionalUserRepository.findByOrganisation(organisation);
+        List<ProfessionalUser> professionalUsers = readOnlyTransaction.execute(transaction ->
+                professionalUserRepository.findByOrganisation(organisation));
 
         if (professionalUsers.isEmpty()) {
             throw new ResourceNotFoundException("No Users were found for the given organisation");
@@ -144,6 +241,8 @@ public class ProfessionalUserServiceImpl implements ProfessionalUserService {
 
             if (response.status() > 300) {
                 clazz = ErrorResponse.class;
+            } else if (rolesRequired && !StringUtils.isBlank(status)) {
+                return filterStreamedUsersByStatus(response, status, organisationIdentifier);
             } else {
                 clazz = rolesRequired ? ProfessionalUsersEntityResponse.class
                         : ProfessionalUsersEntityResponseWithoutRoles.class;
@@ -169,6 +268,22 @@ public class ProfessionalUserServiceImpl implements ProfessionalUserService {
         return responseEntity;
     }
 
+    /**
+     * Filters the users with roles while they are read from the response, rather than decoding every user first.
+     */
+    private ResponseEntity<Object> filterStreamedUsersByStatus(Response response, String status,
+                                                               String organisationIdentifier) {
+        HttpStatus httpStatus = HttpStatus.valueOf(response.status());
+        if (!httpStatus.is2xxSuccessful()) {
+            throw new ExternalApiException(HttpStatus.INTERNAL_SERVER_ERROR, ERROR_MESSAGE_UP_FAILED);
+        }
+        ProfessionalUsersEntityResponse professionalUsersEntityResponse = filterUsersByStatusWithRoles(response,
+                status);
+        professionalUsersEntityResponse.setOrganisationIdentifier(organisationIdentifier);
+        return new ResponseEntity<>(professionalUsersEntityResponse, convertHeaders(response.headers()),
+                httpStatus);
+    }
+
     private Page<ProfessionalUser> getPagedListOfUsers(Organisation organisation, Pageable pageable) {
         Page<ProfessionalUser> professionalUsers = professionalUserRepository.findByOrganisation(organisation,
                 pageable);
@@ -209,8 +324,8 @@ public class ProfessionalUserServiceImpl implements ProfessionalUserService {
 
     public ResponseEntity<NewUserResponse> findUserStatusByEmailAddress(String emailAddress) {
 
-        ProfessionalUser user = professionalUserRepository.findByEmailAddress(RefDataUtil
-                .removeAllSpaces(emailAddress));
+        ProfessionalUser user = readOnlyTransaction.execute(transaction -> professionalUserRepository
+                .findByEmailAddress(RefDataUtil.removeAllSpaces(emailAddress)));
         int statusCode = 200;
         NewUserResponse newUserResponse = null;
         if (user == null || user.getOrganisation().getStatus() != OrganisationStatus.ACTIVE) {
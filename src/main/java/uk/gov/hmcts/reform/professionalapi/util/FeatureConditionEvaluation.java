@@ -1,28 +1,50 @@
 package uk.gov.hmcts.reform.professionalapi.util;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.lang.reflect.Method;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
 
-import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import uk.gov.hmcts.reform.professionalapi.exception.ForbiddenException;
 import uk.gov.hmcts.reform.professionalapi.service.FeatureToggleService;
 
 import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang.BooleanUtils.isNotTrue;
 import static org.apache.commons.lang3.StringUtils.SPACE;
-
+import static uk.gov.hmcts.reform.professionalapi.oidc.TokenHashing.sha256;
+
+/**
+ * Rejects requests to endpoints whose LaunchDarkly flag is off for the calling service. The flag of every
+ * handler method is resolved once the application context has started. The service name decoded from each
+ * ServiceAuthorization token is kept against a SHA-256 hash of the token until the token expires, or for the
+ * maximum time to live if that is sooner, so most requests do neither.
+ */
 @Component
-@AllArgsConstructor
-public class FeatureConditionEvaluation implements HandlerInterceptor {
+public class FeatureConditionEvaluation implements HandlerInterceptor, ApplicationContextAware {
 
     public static final String SERVICE_AUTHORIZATION = "ServiceAuthorization";
 
@@ -30,25 +52,89 @@ public class FeatureConditionEvaluation implements HandlerInterceptor {
 
     public static final String FORBIDDEN_EXCEPTION_LD = "feature flag is not released";
 
-    @Autowired
+    private static final int SERVICE_NAME_CACHE_MAXIMUM_SIZE = 1000;
+
+    private static final Duration SERVICE_NAME_MAXIMUM_TIME_TO_LIVE = Duration.ofMinutes(5);
+
     private final FeatureToggleService featureToggleService;
 
+    private final Clock clock;
+
+    private final Cache<String, ServiceName> serviceNames;
+
+    private ApplicationContext applicationContext;
+
+    private volatile List<HandlerMethod> handlerMethods = List.of();
+
+    private volatile Map<Method, String> flagNames = Map.of();
+
+    @Autowired
+    public FeatureConditionEvaluation(FeatureToggleService featureToggleService) {
+        this(featureToggleService, Clock.systemUTC());
+    }
+
+    FeatureConditionEvaluation(FeatureToggleService featureToggleService, Clock clock) {
+        this.featureToggleService = featureToggleService;
+        this.clock = clock;
+        this.serviceNames = Caffeine.newBuilder()
+            .maximumSize(SERVICE_NAME_CACHE_MAXIMUM_SIZE)
+            .expireAfter(new ServiceNameExpiry())
+            .build();
+    }
+
     @Override
-    public boolean preHandle(HttpServletRequest request,
-                             @NotNull HttpServletResponse response, @NotNull Object handler) throws Exception {
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * Child contexts, such as those of the Feign clients, publish their own refresh to this context too, and
+     * hold none of its handler mappings.
+     */
+    @EventListener
+    public void resolveFlagNames(ContextRefreshedEvent event) {
+        if (event.getApplicationContext() != applicationContext) {
+            return;
+        }
+        resolveFlagNames(event.getApplicationContext().getBeansOfType(RequestMappingHandlerMapping.class).values()
+            .stream().flatMap(mapping -> mapping.getHandlerMethods().values().stream()).collect(toList()));
+    }
+
+    /**
+     * Resolves the flags again from the current flag map, for whatever replaces the map after startup.
+     */
+    public void resolveFlagNames() {
+        resolveFlagNames(handlerMethods);
+    }
 
+    void resolveFlagNames(Collection<HandlerMethod> handlerMethods) {
         Map<String, String> launchDarklyUrlMap = featureToggleService.getLaunchDarklyMap();
+        Map<Method, String> resolved = new HashMap<>();
+        if (launchDarklyUrlMap != null) {
+            handlerMethods.forEach(handlerMethod -> {
+                Method method = handlerMethod.getMethod();
+                String flagName = launchDarklyUrlMap.get(method.getDeclaringClass().getSimpleName() + "."
+                    + method.getName());
+                if (nonNull(flagName)) {
+                    resolved.put(method, flagName);
+                }
+            });
+        }
+        this.handlerMethods = List.copyOf(handlerMethods);
+        this.flagNames = Map.copyOf(resolved);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request,
+                             @NotNull HttpServletResponse response, @NotNull Object handler) throws Exception {
 
-        String restMethod = ((HandlerMethod) handler).getMethod().getName();
-        String clazz = ((HandlerMethod) handler).getMethod().getDeclaringClass().getSimpleName();
         boolean flagStatus = Boolean.TRUE;
 
-        String flagName = launchDarklyUrlMap.get(clazz + "." + restMethod);
+        String flagName = flagNames.get(((HandlerMethod) handler).getMethod());
 
-        if (isNotTrue(launchDarklyUrlMap.isEmpty()) && nonNull(flagName)) {
+        if (nonNull(flagName)) {
 
-            flagStatus = featureToggleService
-                .isFlagEnabled(getServiceName(flagName), launchDarklyUrlMap.get(clazz + "." + restMethod));
+            flagStatus = featureToggleService.isFlagEnabled(getServiceName(flagName), flagName);
 
             if (!flagStatus) {
                 throw new ForbiddenException(flagName.concat(SPACE).concat(FORBIDDEN_EXCEPTION_LD));
@@ -64,12 +150,21 @@ public class FeatureConditionEvaluation implements HandlerInterceptor {
 
         if (nonNull(servletRequestAttributes)) {
             HttpServletRequest request = servletRequestAttributes.getRequest();
-            return JWT.decode(removeBearerFromToken(request.getHeader(SERVICE_AUTHORIZATION))).getSubject();
+            String token = removeBearerFromToken(request.getHeader(SERVICE_AUTHORIZATION));
+            return serviceNames.get(sha256(token), key -> decode(token)).name;
         }
 
         throw new ForbiddenException(flagName.concat(SPACE).concat(FORBIDDEN_EXCEPTION_LD));
     }
 
+    private ServiceName decode(String token) {
+        DecodedJWT jwt = JWT.decode(token);
+        Instant latest = clock.instant().plus(SERVICE_NAME_MAXIMUM_TIME_TO_LIVE);
+        Instant expiresAt = jwt.getExpiresAt() == null || jwt.getExpiresAt().toInstant().isAfter(latest)
+            ? latest : jwt.getExpiresAt().toInstant();
+        return new ServiceName(jwt.getSubject(), expiresAt);
+    }
+
     private String removeBearerFromToken(String token) {
         if (isNotTrue(token.startsWith(BEARER))) {
             return token;
@@ -78,4 +173,33 @@ public class FeatureConditionEvaluation implements HandlerInterceptor {
         }
     }
 
+    private static final class ServiceName {
+
+        private final String name;
+        private final Instant expiresAt;
+
+        private ServiceName(String name, Instant expiresAt) {
+            this.name = name;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final class ServiceNameExpiry implements Expiry<String, ServiceName> {
+
+        @Override
+        public long expireAfterCreate(String key, ServiceName value, long currentTime) {
+            Duration untilExpiry = Duration.between(clock.instant(), value.expiresAt);
+            return untilExpiry.isNegative() ? 0 : untilExpiry.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ServiceName value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, ServiceName value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -1,38 +1,102 @@
 package uk.gov.hmcts.reform.professionalapi.util;
 
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ERROR_MESSAGE_UP_FAILED;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import feign.Response;
+import feign.Util;
 import java.io.IOException;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import uk.gov.hmcts.reform.professionalapi.controller.advice.ExternalApiException;
 
 
 @SuppressWarnings("unchecked")
 public class JsonFeignResponseUtil {
     private static final ObjectMapper json = new ObjectMapper()
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
 
     private JsonFeignResponseUtil() {
 
     }
 
+    /**
+     * Decodes the body with the cached reader for the target type. Bytes are handed to Jackson as they are,
+     * which detects the UTF encoding itself instead of going through the platform default charset.
+     */
     public static Optional<Object> decode(Response response, Object clazz) {
         try {
-            return Optional.of(json.readValue(response.body().asReader(Charset.defaultCharset()),
-                    (Class<Object>) clazz));
+            return Optional.of(readerFor((Class<?>) clazz).readValue(response.body().asInputStream()));
         } catch (IOException e) {
             return Optional.empty();
         }
     }
 
+    /**
+     * Reads the userProfiles (or users) array of a User Profile response one element at a time and hands each
+     * element to the consumer, so that callers can filter or apply users without holding the whole list.
+     * Any other field of the response is skipped.
+     */
+    public static <T> void streamUserProfiles(Response response, Class<T> elementType, Consumer<T> consumer) {
+        ObjectReader elementReader = readerFor(elementType);
+        try (JsonParser parser = json.getFactory().createParser(response.body().asInputStream())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY
+                        && ("userProfiles".equals(fieldName) || "users".equals(fieldName))) {
+                    for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.END_ARRAY;
+                         token = parser.nextToken()) {
+                        if (token == JsonToken.START_OBJECT) {
+                            consumer.accept(elementReader.readValue(parser));
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new ExternalApiException(HttpStatus.INTERNAL_SERVER_ERROR, ERROR_MESSAGE_UP_FAILED);
+        }
+    }
+
+    private static ObjectReader readerFor(Class<?> clazz) {
+        return readers.computeIfAbsent(clazz, json::readerFor);
+    }
+
+    /**
+     * Reads the body of the given response into memory and closes it, so that the returned copy can be
+     * decoded any number of times, by any number of callers.
+     */
+    public static Response toBufferedResponse(Response response) {
+        if (response == null || response.body() == null || response.body().isRepeatable()) {
+            return response;
+        }
+        try (Response streamingResponse = response) {
+            byte[] body = Util.toByteArray(streamingResponse.body().asInputStream());
+            return streamingResponse.toBuilder().body(body).build();
+        } catch (IOException e) {
+            throw new ExternalApiException(HttpStatus.INTERNAL_SERVER_ERROR, ERROR_MESSAGE_UP_FAILED);
+        }
+    }
+
     public static ResponseEntity<Object> toResponseEntity(Response response, Object clazz) {
         Optional<Object>  payload = decode(response, clazz);
 
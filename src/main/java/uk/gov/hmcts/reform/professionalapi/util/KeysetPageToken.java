@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.professionalapi.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import uk.gov.hmcts.reform.professionalapi.controller.request.InvalidRequest;
+import uk.gov.hmcts.reform.professionalapi.domain.ProfessionalUser;
+
+/**
+ * Opaque continuation token for keyset pagination of an organisation's users. It carries the sort key of the
+ * last user returned, (firstName, id), and the next page starts strictly after it.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetPageToken {
+
+    private static final String SEPARATOR = "|";
+
+    private final String firstName;
+    private final UUID id;
+
+    public static KeysetPageToken after(ProfessionalUser professionalUser) {
+        return new KeysetPageToken(professionalUser.getFirstName(), professionalUser.getId());
+    }
+
+    /**
+     * Returns null for a blank token, which asks for the first page.
+     */
+    public static KeysetPageToken decode(String pageToken) {
+        if (StringUtils.isBlank(pageToken)) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(pageToken), UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            return new KeysetPageToken(value.substring(0, separator), UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidRequest("Invalid page token: " + pageToken);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((firstName + SEPARATOR + id).getBytes(UTF_8));
+    }
+}
@@ -4,12 +4,17 @@ import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.DEFAULT_USER_PROFILE_BATCH_SIZE;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.DEFAULT_USER_PROFILE_CHUNK_TIMEOUT_MS;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.DELETION_SUCCESS_MSG;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ERROR_CODE_500;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ERROR_MESSAGE_UP_FAILED;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.NEXT_PAGE_TOKEN;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ONE;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.PRD_AAC_SYSTEM;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.STATUS_CODE_204;
 
+import com.google.common.collect.Lists;
 import feign.FeignException;
 import feign.Response;
 
@@ -18,6 +23,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -37,9 +46,13 @@ import org.springframework.util.StringUtils;
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ErrorResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ExternalApiException;
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ResourceNotFoundException;
+import uk.gov.hmcts.reform.professionalapi.controller.advice.UserProfileChunkFailureException;
+import uk.gov.hmcts.reform.professionalapi.controller.constants.IdamStatus;
 import uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants;
+import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileAsyncClient;
 import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileFeignClient;
 import uk.gov.hmcts.reform.professionalapi.controller.request.DeleteUserProfilesRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.InvalidRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.RetrieveUserProfilesRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.response.DeleteOrganisationResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.GetUserProfileResponse;
@@ -65,6 +78,10 @@ public class RefDataUtil {
 
     private static String loggingComponentName;
 
+    private static int userProfileBatchSize = DEFAULT_USER_PROFILE_BATCH_SIZE;
+
+    private static long userProfileChunkTimeoutMs = DEFAULT_USER_PROFILE_CHUNK_TIMEOUT_MS;
+
     public static List<PaymentAccount> getPaymentAccountsFromUserAccountMap(List<UserAccountMap> userAccountMaps) {
 
         List<PaymentAccount> userMapPaymentAccount;
@@ -104,25 +121,98 @@ public class RefDataUtil {
         return paymentAccounts;
     }
 
+    /**
+     * Resolves the given users on the User Profile I/O pool. For more than one user the bounded
+     * POST /v1/userprofile/users batches are issued together; users missing from the batched responses, or all
+     * users when a batch fails, are then resolved with single user lookups that also run concurrently.
+     */
     public static List<SuperUser> getUserIdFromUserProfile(List<SuperUser> users,
-                                                           UserProfileFeignClient userProfileFeignClient,
+                                                           UserProfileAsyncClient userProfileAsyncClient,
                                                            Boolean isRequiredRoles) {
 
-        List<SuperUser> userProfileDtls = new ArrayList<>();
-        ProfessionalUser professionalUser = null;
-        for (SuperUser user : users) {
-            professionalUser = getSingleUserIdFromUserProfile(user.toProfessionalUser(), userProfileFeignClient,
-                    isRequiredRoles);
-            userProfileDtls.add(professionalUser.toSuperUser());
+        Map<String, ProfessionalUsersResponse> userProfiles = users.size() > ONE
+                ? retrieveUserProfilesInBatches(users, userProfileAsyncClient, isRequiredRoles) : new HashMap<>();
+
+        List<CompletableFuture<SuperUser>> userProfileDtls = users.stream().map(user -> {
+            ProfessionalUser professionalUser = user.toProfessionalUser();
+            ProfessionalUsersResponse userProfile = userProfiles.get(user.getUserIdentifier());
+            if (null == userProfile) {
+                return userProfileAsyncClient.getUserProfileById(user.getUserIdentifier())
+                        .thenApply(response -> mapUserProfileResponse(professionalUser, response, isRequiredRoles)
+                                .toSuperUser());
+            }
+            return CompletableFuture.completedFuture(mapUserProfile(professionalUser, userProfile, isRequiredRoles)
+                    .toSuperUser());
+        }).collect(toList());
+
+        return userProfileDtls.stream().map(RefDataUtil::joinUserProfileCall).collect(toList());
+    }
+
+    private static Map<String, ProfessionalUsersResponse> retrieveUserProfilesInBatches(
+            List<SuperUser> users, UserProfileAsyncClient userProfileAsyncClient, Boolean isRequiredRoles) {
+
+        List<CompletableFuture<Map<String, ProfessionalUsersResponse>>> batches = Lists.partition(users.stream()
+                .map(SuperUser::getUserIdentifier).filter(Objects::nonNull).distinct().collect(toList()),
+                userProfileBatchSize).stream()
+                .map(userIds -> userProfileAsyncClient.getUserProfiles(new RetrieveUserProfilesRequest(userIds),
+                        ProfessionalApiConstants.TRUE, TRUE.equals(isRequiredRoles) ? ProfessionalApiConstants.TRUE
+                                : ProfessionalApiConstants.FALSE)
+                        .thenApply(RefDataUtil::toUserProfilesById))
+                .collect(toList());
+
+        Map<String, ProfessionalUsersResponse> userProfiles = new HashMap<>();
+        try {
+            batches.forEach(batch -> userProfiles.putAll(joinUserProfileCall(batch)));
+        } catch (ExternalApiException ex) {
+            log.warn("{}:: Batched UserProfile lookup failed, falling back to single user lookups",
+                    loggingComponentName);
+            return new HashMap<>();
+        }
+        return userProfiles;
+    }
+
+    private static Map<String, ProfessionalUsersResponse> toUserProfilesById(Response userProfilesResponse) {
+
+        Map<String, ProfessionalUsersResponse> userProfiles = new HashMap<>();
+        try (Response response = userProfilesResponse) {
+
+            if (response.status() > 300) {
+                throw new ExternalApiException(HttpStatus.valueOf(response.status()), ERROR_MESSAGE_UP_FAILED);
+            }
+            ProfessionalUsersEntityResponse professionalUsersEntityResponse = (ProfessionalUsersEntityResponse)
+                    JsonFeignResponseUtil.toResponseEntity(response, ProfessionalUsersEntityResponse.class).getBody();
+            if (null != professionalUsersEntityResponse
+                    && !CollectionUtils.isEmpty(professionalUsersEntityResponse.getUserProfiles())) {
+                professionalUsersEntityResponse.getUserProfiles()
+                        .forEach(userProfile -> userProfiles.put(userProfile.getUserIdentifier(), userProfile));
+            }
         }
-        return userProfileDtls;
+        return userProfiles;
     }
 
+    /**
+     * Applies a user profile from the batched response the way mapUserInfo applies a single lookup, including
+     * the IDAM id, status and roles when they are asked for.
+     */
+    private static ProfessionalUser mapUserProfile(ProfessionalUser user, ProfessionalUsersResponse userProfile,
+                                                   Boolean isRequiredRoles) {
+        user.setFirstName(userProfile.getFirstName());
+        user.setLastName(userProfile.getLastName());
+        user.setEmailAddress(userProfile.getEmail());
+        if (TRUE.equals(isRequiredRoles)) {
+            user.setUserIdentifier(userProfile.getUserIdentifier());
+            user.setIdamStatus(StringUtils.isEmpty(userProfile.getIdamStatus()) ? null
+                    : IdamStatus.valueOf(userProfile.getIdamStatus().toUpperCase()));
+            user.setRoles(userProfile.getRoles());
+            user.setIdamStatusCode(userProfile.getIdamStatusCode());
+            user.setIdamMessage(userProfile.getIdamMessage());
+        }
+        return user;
+    }
 
-    public static ProfessionalUser getSingleUserIdFromUserProfile(ProfessionalUser user,
-                                                                  UserProfileFeignClient userProfileFeignClient,
-                                                                  Boolean isRequiredRoles) {
-        try (Response response = userProfileFeignClient.getUserProfileById(user.getUserIdentifier())) {
+    private static ProfessionalUser mapUserProfileResponse(ProfessionalUser user, Response userProfileResponse,
+                                                           Boolean isRequiredRoles) {
+        try (Response response = userProfileResponse) {
 
             Object clazz = response.status() > 300 ? ErrorResponse.class : GetUserProfileResponse.class;
             ResponseEntity<Object> responseResponseEntity = JsonFeignResponseUtil.toResponseEntity(response, clazz);
@@ -135,38 +225,118 @@ public class RefDataUtil {
 
             }
             mapUserInfo(user, responseResponseEntity, isRequiredRoles);
-        } catch (FeignException ex) {
-            throw new ExternalApiException(HttpStatus.valueOf(ex.status()), ERROR_MESSAGE_UP_FAILED);
         }
 
         return user;
     }
 
-    public static List<Organisation> getMultipleUserProfilesFromUp(
-            UserProfileFeignClient userProfileFeignClient,
-            RetrieveUserProfilesRequest retrieveUserProfilesRequest,
-            String showDeleted, Map<String,
-            Organisation> activeOrganisationDetails) {
-        Map<String, Organisation> modifiedOrgProfUserDetails = new HashMap<>();
+    /**
+     * Waits for a User Profile call made on the I/O pool and rethrows its failure the way the synchronous
+     * lookups do, so callers see an ExternalApiException rather than a CompletionException.
+     */
+    private static <T> T joinUserProfileCall(CompletableFuture<T> userProfileCall) {
+        try {
+            return userProfileCall.join();
+        } catch (CompletionException ex) {
+            throw toExternalApiException(ex.getCause());
+        }
+    }
 
-        try (Response response = userProfileFeignClient.getUserProfiles(retrieveUserProfilesRequest, showDeleted,
-                "false")) {
+    private static RuntimeException toExternalApiException(Throwable cause) {
+        if (cause instanceof FeignException) {
+            return new ExternalApiException(HttpStatus.valueOf(((FeignException) cause).status()),
+                    ERROR_MESSAGE_UP_FAILED);
+        }
+        return cause instanceof RuntimeException ? (RuntimeException) cause
+                : new ExternalApiException(HttpStatus.INTERNAL_SERVER_ERROR, ERROR_MESSAGE_UP_FAILED);
+    }
 
+    /**
+     * Splits the super users of the given organisations into chunks of userProfileBatchSize ids and retrieves
+     * them from UP in parallel on the User Profile I/O pool, without calling UP when there are no users.
+     * Every chunk is waited for, each for at most userProfileChunkTimeoutMs. If any chunk fails or answers with
+     * an error status, each failed chunk is logged with its user ids and the call fails with a
+     * UserProfileChunkFailureException naming them. A caller never receives a partial list of organisations,
+     * where a status of 300 or more used to yield an empty one.
+     */
+    public static List<Organisation> getMultipleUserProfilesFromUp(
+            UserProfileAsyncClient userProfileAsyncClient,
+            String showDeleted, Map<String, Organisation> activeOrganisationDetails) {
 
-            Object clazz = response.status() > 300 ? ErrorResponse.class : ProfessionalUsersEntityResponse.class;
-            ResponseEntity<Object> responseResponseEntity = JsonFeignResponseUtil.toResponseEntity(response, clazz);
-            if (response.status() < 300) {
+        if (activeOrganisationDetails.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<List<String>> userIdChunks = Lists.partition(
+                activeOrganisationDetails.keySet().stream().sorted().collect(toList()), userProfileBatchSize);
+
+        // The timeout is set on the call itself rather than on the mapped result, so that expiring it
+        // cancels the User Profile call instead of leaving it running on the I/O pool.
+        List<CompletableFuture<Response>> chunkCalls = userIdChunks.stream()
+                .map(userIds -> userProfileAsyncClient.getUserProfiles(new RetrieveUserProfilesRequest(userIds),
+                        showDeleted, "false").orTimeout(userProfileChunkTimeoutMs, TimeUnit.MILLISECONDS))
+                .collect(toList());
+        List<CompletableFuture<List<Organisation>>> chunkResults = new ArrayList<>();
+        for (int i = 0; i < chunkCalls.size(); i++) {
+            Map<String, Organisation> chunkOrganisations
+                    = getOrganisationsForUserIds(userIdChunks.get(i), activeOrganisationDetails);
+            chunkResults.add(chunkCalls.get(i)
+                    .thenApply(response -> mapMultipleUserProfilesResponse(response, chunkOrganisations)));
+        }
 
-                modifiedOrgProfUserDetails = updateUserDetailsForActiveOrganisation(responseResponseEntity,
-                        activeOrganisationDetails);
+        List<Organisation> organisations = new ArrayList<>();
+        List<Integer> failedChunks = new ArrayList<>();
+        List<String> failedUserIds = new ArrayList<>();
+        HttpStatus failureStatus = null;
+        for (int i = 0; i < chunkResults.size(); i++) {
+            try {
+                organisations.addAll(chunkResults.get(i).join());
+            } catch (CompletionException ex) {
+                log.error("{}:: UP bulk retrieve chunk {} of {} failed for user ids {}: {}", loggingComponentName,
+                        i + 1, userIdChunks.size(), userIdChunks.get(i), String.valueOf(ex.getCause()));
+                failedChunks.add(i + 1);
+                failedUserIds.addAll(userIdChunks.get(i));
+                if (failureStatus == null) {
+                    failureStatus = getFailureStatus(ex.getCause());
+                }
             }
+        }
+        if (!failedChunks.isEmpty()) {
+            throw new UserProfileChunkFailureException(failureStatus, String.format("%s for %d of %d chunks (%d users)",
+                    ERROR_MESSAGE_UP_FAILED, failedChunks.size(), userIdChunks.size(), failedUserIds.size()),
+                    failedChunks, failedUserIds);
+        }
+        return organisations;
+    }
 
-            return new ArrayList<>(modifiedOrgProfUserDetails.values());
-        } catch (FeignException ex) {
+    private static HttpStatus getFailureStatus(Throwable cause) {
+        RuntimeException exception = toExternalApiException(cause);
+        return exception instanceof ExternalApiException ? ((ExternalApiException) exception).getHttpStatus()
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
 
-            throw new ExternalApiException(HttpStatus.valueOf(ex.status()), ERROR_MESSAGE_UP_FAILED);
-        }
+    private static Map<String, Organisation> getOrganisationsForUserIds(List<String> userIds,
+                                                                        Map<String, Organisation> organisations) {
+        Map<String, Organisation> organisationsForUserIds = new HashMap<>();
+        userIds.forEach(userId -> organisationsForUserIds.put(userId, organisations.get(userId)));
+        return organisationsForUserIds;
+    }
+
+    /**
+     * Applies the user profiles to their organisations as they are read from the response, without
+     * materialising the whole userProfiles list.
+     */
+    private static List<Organisation> mapMultipleUserProfilesResponse(Response userProfilesResponse,
+                                                                      Map<String, Organisation> organisations) {
+        try (Response response = userProfilesResponse) {
+
+            if (response.status() >= 300) {
+                throw new ExternalApiException(HttpStatus.valueOf(response.status()), ERROR_MESSAGE_UP_FAILED);
+            }
+            JsonFeignResponseUtil.streamUserProfiles(response, ProfessionalUsersResponse.class,
+                    userProfile -> updateUserDetailsForActiveOrganisation(userProfile, organisations));
 
+            return new ArrayList<>(organisations.values());
+        }
     }
 
     public static Map<String, Organisation> updateUserDetailsForActiveOrganisation(
@@ -177,25 +347,23 @@ public class RefDataUtil {
         if (null != professionalUsersEntityResponse
                 && !CollectionUtils.isEmpty(professionalUsersEntityResponse.getUserProfiles())) {
 
-            List<ProfessionalUsersResponse> userProfiles = professionalUsersEntityResponse.getUserProfiles();
-            userProfiles.forEach(userProfile -> {
-
-                if (null != activeOrganisationDtls.get(userProfile.getUserIdentifier())) {
-
-                    Organisation organisation = activeOrganisationDtls.get(userProfile.getUserIdentifier());
+            professionalUsersEntityResponse.getUserProfiles().forEach(userProfile ->
+                    updateUserDetailsForActiveOrganisation(userProfile, activeOrganisationDtls));
 
-                    organisation.getUsers().get(0).setFirstName(userProfile.getFirstName());
-                    organisation.getUsers().get(0).setLastName(userProfile.getLastName());
-                    organisation.getUsers().get(0).setEmailAddress(userProfile.getEmail());
-
-                    activeOrganisationDtls.put(userProfile.getUserIdentifier(), organisation);
+        }
+        return activeOrganisationDtls;
+    }
 
-                }
+    private static void updateUserDetailsForActiveOrganisation(ProfessionalUsersResponse userProfile,
+                                                               Map<String, Organisation> activeOrganisationDtls) {
 
-            });
+        Organisation organisation = activeOrganisationDtls.get(userProfile.getUserIdentifier());
+        if (null != organisation) {
 
+            organisation.getUsers().get(0).setFirstName(userProfile.getFirstName());
+            organisation.getUsers().get(0).setLastName(userProfile.getLastName());
+            organisation.getUsers().get(0).setEmailAddress(userProfile.getEmail());
         }
-        return activeOrganisationDtls;
     }
 
     public static ProfessionalUser mapUserInfo(ProfessionalUser user, ResponseEntity<Object> responseResponseEntity,
@@ -275,6 +443,25 @@ public class RefDataUtil {
         return professionalUsersEntityResponse;
     }
 
+    /**
+     * Streams the users of a successful User Profile response and keeps only those with the given status, so
+     * users with any other status are never collected.
+     */
+    public static ProfessionalUsersEntityResponse filterUsersByStatusWithRoles(Response response, String status) {
+        List<ProfessionalUsersResponse> filteredUsers = new ArrayList<>();
+        JsonFeignResponseUtil.streamUserProfiles(response, ProfessionalUsersResponse.class, user -> {
+            if (status.equalsIgnoreCase(user.getIdamStatus())) {
+                filteredUsers.add(user);
+            }
+        });
+
+        checkListIsEmpty(filteredUsers, status);
+
+        ProfessionalUsersEntityResponse professionalUsersEntityResponse = new ProfessionalUsersEntityResponse();
+        professionalUsersEntityResponse.setUserProfiles(filteredUsers);
+        return professionalUsersEntityResponse;
+    }
+
     public static ProfessionalUsersEntityResponseWithoutRoles filterUsersByStatusWithoutRoles(
             ProfessionalUsersEntityResponseWithoutRoles professionalUsersEntityResponseWithoutRoles,
             String status) {
@@ -311,23 +498,51 @@ public class RefDataUtil {
         pageInformation.append(",");
         pageInformation.append("sortedBy = " + pageable.getSort());
 
+        return addPaginationInfo(headers, pageInformation.toString(), responseEntity);
+    }
+
+    /**
+     * Keyset pages have no total or page number, so paginationInfo carries the size and sort only. The token
+     * for the following page is sent in the nextPageToken header, which is absent on the last page.
+     */
+    public static HttpHeaders generateResponseEntityWithPageTokenHeader(int size, Sort sort, String nextPageToken,
+                                                                        ResponseEntity<Object> responseEntity) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextPageToken != null) {
+            headers.add(NEXT_PAGE_TOKEN, nextPageToken);
+        }
+        return addPaginationInfo(headers, "size = " + size + ",sortedBy = " + sort, responseEntity);
+    }
+
+    private static HttpHeaders addPaginationInfo(HttpHeaders headers, String pageInformation,
+                                                 ResponseEntity<Object> responseEntity) {
         if (responseEntity == null) {
-            headers.add("paginationInfo", pageInformation.toString());
+            headers.add("paginationInfo", pageInformation);
         } else {
             // since Headers are read only , it can't be modified.
             // Hence copied all existing headers into new one and added new header for pagination
             MultiValueMap<String, String> originalHeaders = responseEntity.getHeaders();
             originalHeaders.forEach(headers::put);
-            headers.put("paginationInfo", Collections.singletonList(pageInformation.toString()));
+            headers.put("paginationInfo", Collections.singletonList(pageInformation));
         }
         return headers;
     }
 
     public static Pageable createPageableObject(Integer page, Integer size, Sort sort) {
+        if (page < 0) {
+            throw new InvalidRequest("The page number must not be negative");
+        }
+        return PageRequest.of(page, getPageSize(size), sort);
+    }
+
+    public static int getPageSize(Integer size) {
         if (size == null) {
-            size = defaultPageSize;
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new InvalidRequest("The page size must be at least 1");
         }
-        return PageRequest.of(page, size, sort);
+        return size;
     }
 
     public static String getShowDeletedValue(String showDeleted) {
@@ -342,8 +557,24 @@ public class RefDataUtil {
     public static NewUserResponse findUserProfileStatusByEmail(String emailAddress,
                                                                UserProfileFeignClient userProfileFeignClient) {
 
+        try {
+            return mapUserProfileStatusResponse(userProfileFeignClient.getUserProfileByEmail(emailAddress));
+        } catch (FeignException ex) {
+            log.error("{}::", loggingComponentName + "Error while invoking UserProfileByEmail service call", ex);
+            throw new ExternalApiException(HttpStatus.valueOf(ex.status()), ERROR_MESSAGE_UP_FAILED);
+        }
+    }
+
+    public static NewUserResponse findUserProfileStatusByEmail(String emailAddress,
+                                                               UserProfileAsyncClient userProfileAsyncClient) {
+        return joinUserProfileCall(userProfileAsyncClient.getUserProfileByEmail(emailAddress)
+                .thenApply(RefDataUtil::mapUserProfileStatusResponse));
+    }
+
+    private static NewUserResponse mapUserProfileStatusResponse(Response userProfileResponse) {
+
         NewUserResponse newUserResponse;
-        try (Response response = userProfileFeignClient.getUserProfileByEmail(emailAddress)) {
+        try (Response response = userProfileResponse) {
 
             Object clazz = response.status() > 300 ? ErrorResponse.class : NewUserResponse.class;
             ResponseEntity<Object> responseResponseEntity = JsonFeignResponseUtil.toResponseEntity(response, clazz);
@@ -357,10 +588,6 @@ public class RefDataUtil {
                         loggingComponentName, errorResponse.getErrorDescription());
                 newUserResponse = new NewUserResponse();
             }
-
-        } catch (FeignException ex) {
-            log.error("{}::", loggingComponentName + "Error while invoking UserProfileByEmail service call", ex);
-            throw new ExternalApiException(HttpStatus.valueOf(ex.status()), ERROR_MESSAGE_UP_FAILED);
         }
 
         return newUserResponse;
@@ -368,10 +595,15 @@ public class RefDataUtil {
     }
 
     public static DeleteOrganisationResponse deleteUserProfilesFromUp(DeleteUserProfilesRequest deleteUserRequest,
-                                                                      UserProfileFeignClient userProfileFeignClient) {
+                                                                      UserProfileAsyncClient userProfileAsyncClient) {
+        return joinUserProfileCall(userProfileAsyncClient.deleteUserProfile(deleteUserRequest)
+                .thenApply(RefDataUtil::mapDeleteUserProfilesResponse));
+    }
+
+    private static DeleteOrganisationResponse mapDeleteUserProfilesResponse(Response deleteResponse) {
 
         DeleteOrganisationResponse deleteOrganisationResponse = null;
-        try (Response response = userProfileFeignClient.deleteUserProfile(deleteUserRequest)) {
+        try (Response response = deleteResponse) {
 
             if (STATUS_CODE_204 == response.status()) {
                 deleteOrganisationResponse = new DeleteOrganisationResponse(STATUS_CODE_204, DELETION_SUCCESS_MSG);
@@ -379,11 +611,6 @@ public class RefDataUtil {
                 log.error("DeleteUserProfiles service call failed in PRD::" + response.reason());
                 deleteOrganisationResponse = new DeleteOrganisationResponse(ERROR_CODE_500, ERROR_MESSAGE_UP_FAILED);
             }
-
-        } catch (FeignException ex) {
-            log.error("DeleteUserProfiles service call failed in PRD:: " + ex);
-            throw new ExternalApiException(HttpStatus.valueOf(ex.status()), ERROR_MESSAGE_UP_FAILED);
-
         }
         return deleteOrganisationResponse;
     }
@@ -412,6 +639,16 @@ public class RefDataUtil {
         RefDataUtil.loggingComponentName = loggingComponentName;
     }
 
+    @Value("${userProfileBatchSize:" + DEFAULT_USER_PROFILE_BATCH_SIZE + "}")
+    public void setUserProfileBatchSize(int userProfileBatchSize) {
+        RefDataUtil.userProfileBatchSize = userProfileBatchSize;
+    }
+
+    @Value("${userProfileChunkTimeoutMs:" + DEFAULT_USER_PROFILE_CHUNK_TIMEOUT_MS + "}")
+    public void setUserProfileChunkTimeoutMs(long userProfileChunkTimeoutMs) {
+        RefDataUtil.userProfileChunkTimeoutMs = userProfileChunkTimeoutMs;
+    }
+
     @Value("${defaultPageSize}")
     public void setDefaultPageSize(int defaultPageSize) {
         RefDataUtil.defaultPageSize = defaultPageSize;
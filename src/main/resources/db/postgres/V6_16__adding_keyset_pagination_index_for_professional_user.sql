@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS organisation_id_first_name_id_idx ON professional_user (organisation_id, first_name, id);
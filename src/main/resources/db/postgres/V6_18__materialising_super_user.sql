@@ -0,0 +1,71 @@
+-- Replaces the super_user view with a table kept in step with professional_user and user_attribute by triggers,
+-- in the same transaction as the change, so organisation reads no longer evaluate the view's subquery.
+-- The table copies professional_user column by column. A column added later to professional_user reaches super_user
+-- only through a new migration that changes all three of: the super_user table, refresh_super_user and
+-- professional_user_update_super_user.
+DROP VIEW super_user;
+
+CREATE TABLE super_user (
+	id uuid NOT NULL,
+	first_name varchar(255) NOT NULL,
+	last_name varchar(255) NOT NULL,
+	email_address varchar(255) NOT NULL,
+	organisation_id uuid NOT NULL,
+	deleted timestamp,
+	last_updated timestamp NOT NULL,
+	created timestamp NOT NULL,
+	user_identifier varchar(50),
+	CONSTRAINT super_user_pk PRIMARY KEY (id),
+	CONSTRAINT super_user_professional_user_fk FOREIGN KEY (id) REFERENCES professional_user (id) ON DELETE CASCADE
+);
+
+CREATE INDEX super_user_organisation_id_idx ON super_user (organisation_id);
+
+INSERT INTO super_user (id, first_name, last_name, email_address, organisation_id, deleted, last_updated, created,
+	user_identifier)
+SELECT id, first_name, last_name, email_address, organisation_id, deleted, last_updated, created, user_identifier
+FROM super_user_view;
+
+-- a user is a super user while they hold the organisation-admin attribute
+CREATE OR REPLACE FUNCTION refresh_super_user(user_id uuid) RETURNS void AS $$
+BEGIN
+	DELETE FROM super_user WHERE id = user_id;
+	INSERT INTO super_user (id, first_name, last_name, email_address, organisation_id, deleted, last_updated,
+		created, user_identifier)
+	SELECT pu.id, pu.first_name, pu.last_name, pu.email_address, pu.organisation_id, pu.deleted, pu.last_updated,
+		pu.created, pu.user_identifier
+	FROM professional_user pu
+	WHERE pu.id = user_id
+	AND EXISTS (SELECT 1 FROM user_attribute ua WHERE ua.professional_user_id = pu.id
+		AND ua.prd_enum_code = 4 AND ua.prd_enum_type = 'ADMIN_ROLE');
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION user_attribute_refresh_super_user() RETURNS trigger AS $$
+BEGIN
+	IF TG_OP <> 'INSERT' AND OLD.prd_enum_code = 4 AND OLD.prd_enum_type = 'ADMIN_ROLE' THEN
+		PERFORM refresh_super_user(OLD.professional_user_id);
+	END IF;
+	IF TG_OP <> 'DELETE' AND NEW.prd_enum_code = 4 AND NEW.prd_enum_type = 'ADMIN_ROLE' THEN
+		PERFORM refresh_super_user(NEW.professional_user_id);
+	END IF;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER user_attribute_super_user_trg AFTER INSERT OR UPDATE OR DELETE ON user_attribute
+	FOR EACH ROW EXECUTE PROCEDURE user_attribute_refresh_super_user();
+
+-- deleting a professional user removes its super user row through the foreign key
+CREATE OR REPLACE FUNCTION professional_user_update_super_user() RETURNS trigger AS $$
+BEGIN
+	UPDATE super_user SET first_name = NEW.first_name, last_name = NEW.last_name,
+		email_address = NEW.email_address, organisation_id = NEW.organisation_id, deleted = NEW.deleted,
+		last_updated = NEW.last_updated, created = NEW.created, user_identifier = NEW.user_identifier
+	WHERE id = NEW.id;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER professional_user_super_user_trg AFTER UPDATE ON professional_user
+	FOR EACH ROW EXECUTE PROCEDURE professional_user_update_super_user();
@@ -0,0 +1,11 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- name prefix and fuzzy matches, and matches on the words of the name
+CREATE INDEX IF NOT EXISTS organisation_name_trgm_idx ON organisation USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS organisation_name_tsv_idx ON organisation USING gin (to_tsvector('simple', name));
+
+CREATE INDEX IF NOT EXISTS organisation_sra_id_lower_idx ON organisation (lower(sra_id));
+CREATE INDEX IF NOT EXISTS organisation_company_number_lower_idx ON organisation (lower(company_number));
+CREATE INDEX IF NOT EXISTS contact_information_postcode_idx
+	ON contact_information (replace(lower(postcode), ' ', ''));
+CREATE INDEX IF NOT EXISTS dx_address_dx_number_lower_idx ON dx_address (lower(dx_number));
@@ -0,0 +1,86 @@
+package uk.gov.hmcts.reform.professionalapi.standin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The IDAM and OpenID endpoints PRD and its callers use. Tokens come from /o/token for any username and
+ * password; the user is looked up, or created, in the shared UserProfileStore.
+ */
+@RestController
+@RequestMapping("/o")
+@AllArgsConstructor
+public class IdamStandInController {
+
+    private final TokenIssuer tokenIssuer;
+    private final UserProfileStore userProfileStore;
+    private final StandInProperties properties;
+
+    @PostMapping("/token")
+    public ResponseEntity<Map<String, Object>> token(@RequestParam("username") String username) {
+        return userProfileStore.findByEmail(username)
+                .map(user -> {
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("access_token", tokenIssuer.issue(user.getEmail(), Map.of(
+                            "uid", user.getUserIdentifier(),
+                            "roles", new ArrayList<>(user.getRoles()),
+                            "tokenName", "access_token")));
+                    body.put("token_type", "Bearer");
+                    body.put("expires_in", 28800);
+                    return ResponseEntity.ok(body);
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    @GetMapping("/userinfo")
+    public ResponseEntity<Map<String, Object>> userInfo(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+        return tokenIssuer.verify(token)
+                .flatMap(claims -> userProfileStore.findById((String) claims.getClaim("uid")))
+                .map(user -> {
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("sub", user.getEmail());
+                    body.put("uid", user.getUserIdentifier());
+                    body.put("id", user.getUserIdentifier());
+                    body.put("email", user.getEmail());
+                    body.put("name", user.getFirstName() + " " + user.getLastName());
+                    body.put("given_name", user.getFirstName());
+                    body.put("family_name", user.getLastName());
+                    body.put("forename", user.getFirstName());
+                    body.put("surname", user.getLastName());
+                    body.put("accountStatus", user.getIdamStatus().toLowerCase());
+                    body.put("roles", new ArrayList<>(user.getRoles()));
+                    return ResponseEntity.ok(body);
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+
+    @GetMapping("/jwks")
+    public Map<String, Object> jwks() {
+        return tokenIssuer.jwks();
+    }
+
+    @GetMapping("/.well-known/openid-configuration")
+    public Map<String, Object> openIdConfiguration() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("issuer", properties.getIssuer());
+        body.put("jwks_uri", properties.getIssuer() + "/jwks");
+        body.put("token_endpoint", properties.getIssuer() + "/token");
+        body.put("userinfo_endpoint", properties.getIssuer() + "/userinfo");
+        body.put("id_token_signing_alg_values_supported", List.of("RS256"));
+        body.put("subject_types_supported", List.of("public"));
+        return body;
+    }
+}
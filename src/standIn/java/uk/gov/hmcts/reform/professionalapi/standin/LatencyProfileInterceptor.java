@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.professionalapi.standin;
+
+import java.util.concurrent.ThreadLocalRandom;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import lombok.AllArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies a latency profile to every request of one stand-in dependency before it reaches the controller.
+ */
+@AllArgsConstructor
+public class LatencyProfileInterceptor implements HandlerInterceptor {
+
+    private final StandInProperties.Latency latency;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayMs = random.nextDouble() < latency.getTailRate()
+                ? latency.getTailLatencyMs()
+                : latency.getLatencyMs() + (latency.getJitterMs() > 0 ? random.nextLong(latency.getJitterMs()) : 0);
+        if (delayMs > 0) {
+            Thread.sleep(delayMs);
+        }
+        if (random.nextDouble() < latency.getErrorRate()) {
+            response.sendError(latency.getErrorStatus(), "Stand-in injected error");
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package uk.gov.hmcts.reform.professionalapi.standin;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import java.util.Map;
+import java.util.Optional;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The service-auth-provider endpoints. Any one time password is accepted on /lease, and /details names the
+ * microservice of a stand-in token and answers 401 for any other token. With standin.acceptAnyServiceToken set,
+ * any other token is accepted as standin.defaultMicroservice instead.
+ */
+@RestController
+@AllArgsConstructor
+public class S2sStandInController {
+
+    private final TokenIssuer tokenIssuer;
+    private final StandInProperties properties;
+
+    @PostMapping("/lease")
+    public String lease(@RequestBody Map<String, String> request) {
+        return tokenIssuer.issue(request.getOrDefault("microservice", properties.getDefaultMicroservice()),
+                Map.of());
+    }
+
+    @GetMapping("/details")
+    public ResponseEntity<String> details(@RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+        return tokenIssuer.verify(token)
+                .map(JWTClaimsSet::getSubject)
+                .or(() -> properties.isAcceptAnyServiceToken()
+                        ? Optional.of(properties.getDefaultMicroservice()) : Optional.empty())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.professionalapi.standin;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+/**
+ * Local stand-in for User Profile, IDAM and S2S, used to load and latency test PRD without the real
+ * dependencies. Run it with ./gradlew runStandIn and point PRD's dependency URLs at it.
+ */
+@SpringBootApplication
+@EnableConfigurationProperties(StandInProperties.class)
+@SuppressWarnings("HideUtilityClassConstructor") // Spring needs a constructor, its not a utility class
+public class StandInApplication {
+
+    public static void main(final String[] args) {
+        SpringApplication.run(StandInApplication.class, args);
+    }
+}
@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.professionalapi.standin;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "standin")
+public class StandInProperties {
+
+    private String issuer = "http://localhost:8099/o";
+    private boolean autoCreateUsers = true;
+    private String defaultMicroservice = "rd_professional_api";
+    private boolean acceptAnyServiceToken;
+    private Latency userProfile = new Latency();
+    private Latency idam = new Latency();
+    private Latency s2s = new Latency();
+    private Payload payload = new Payload();
+
+    /**
+     * Every response waits latencyMs plus up to jitterMs. A tailRate share of responses waits tailLatencyMs
+     * instead, and an errorRate share is answered with errorStatus.
+     */
+    @Getter
+    @Setter
+    public static class Latency {
+        private long latencyMs;
+        private long jitterMs;
+        private long tailLatencyMs;
+        private double tailRate;
+        private double errorRate;
+        private int errorStatus = 503;
+    }
+
+    /**
+     * extraUsersPerResponse adds generated users to every multiple user response and paddingBytes pads the
+     * idamMessage of every user, so response size can be varied independently of the data PRD holds.
+     */
+    @Getter
+    @Setter
+    public static class Payload {
+        private int extraUsersPerResponse;
+        private int paddingBytes;
+    }
+}
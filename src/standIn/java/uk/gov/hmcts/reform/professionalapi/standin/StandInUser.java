@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.professionalapi.standin;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class StandInUser {
+
+    private String userIdentifier;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String idamStatus = "ACTIVE";
+    private Set<String> roles = new CopyOnWriteArraySet<>();
+    private boolean deleted;
+
+    public StandInUser(String userIdentifier, String firstName, String lastName, String email, List<String> roles) {
+        this.userIdentifier = userIdentifier;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        if (roles != null) {
+            this.roles.addAll(roles);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package uk.gov.hmcts.reform.professionalapi.standin;
+
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@AllArgsConstructor
+public class StandInWebConfiguration implements WebMvcConfigurer {
+
+    private final StandInProperties properties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LatencyProfileInterceptor(properties.getUserProfile()))
+                .addPathPatterns("/v1/userprofile/**", "/v1/userprofile");
+        registry.addInterceptor(new LatencyProfileInterceptor(properties.getIdam()))
+                .addPathPatterns("/o/**");
+        registry.addInterceptor(new LatencyProfileInterceptor(properties.getS2s()))
+                .addPathPatterns("/lease", "/details");
+    }
+}
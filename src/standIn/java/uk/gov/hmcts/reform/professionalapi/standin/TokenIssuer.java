@@ -0,0 +1,77 @@
+package uk.gov.hmcts.reform.professionalapi.standin;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Signs stand-in IDAM and S2S tokens with an RS256 key generated at startup, so PRD validates them against the
+ * stand-in's JWKS exactly as it validates real ones.
+ */
+@Component
+public class TokenIssuer {
+
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(8);
+
+    private final StandInProperties properties;
+    private final RSAKey signingKey;
+
+    public TokenIssuer(StandInProperties properties) throws JOSEException {
+        this.properties = properties;
+        this.signingKey = new RSAKeyGenerator(2048).keyID("standin").generate();
+    }
+
+    public String issue(String subject, Map<String, Object> claims) {
+        Instant now = Instant.now();
+        JWTClaimsSet.Builder claimsSet = new JWTClaimsSet.Builder()
+                .issuer(properties.getIssuer())
+                .subject(subject)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(TOKEN_LIFETIME)));
+        claims.forEach(claimsSet::claim);
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+                claimsSet.build());
+        try {
+            jwt.sign(new RSASSASigner(signingKey));
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unable to sign stand-in token", ex);
+        }
+        return jwt.serialize();
+    }
+
+    /**
+     * Returns the claims of a token this issuer signed, accepting an optional Bearer prefix.
+     */
+    public Optional<JWTClaimsSet> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        try {
+            SignedJWT jwt = SignedJWT.parse(token.replaceFirst("^Bearer ", ""));
+            return jwt.verify(new RSASSAVerifier(signingKey.toRSAPublicKey()))
+                    ? Optional.of(jwt.getJWTClaimsSet()) : Optional.empty();
+        } catch (ParseException | JOSEException ex) {
+            return Optional.empty();
+        }
+    }
+
+    public Map<String, Object> jwks() {
+        return new JWKSet(signingKey.toPublicJWK()).toJSONObject();
+    }
+}
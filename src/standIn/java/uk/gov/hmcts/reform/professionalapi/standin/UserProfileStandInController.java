@@ -0,0 +1,153 @@
+package uk.gov.hmcts.reform.professionalapi.standin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The User Profile endpoints called through UserProfileFeignClient, answered with the same JSON shapes.
+ */
+@RestController
+@RequestMapping("/v1/userprofile")
+@AllArgsConstructor
+public class UserProfileStandInController {
+
+    private static final String IDAM_STATUS_CODE = "idamStatusCode";
+    private static final String IDAM_MESSAGE = "idamMessage";
+
+    private final UserProfileStore userProfileStore;
+    private final StandInProperties properties;
+
+    @PostMapping
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Map<String, Object>> createUserProfile(@RequestBody Map<String, Object> request) {
+        StandInUser user = userProfileStore.create((String) request.get("firstName"),
+                (String) request.get("lastName"), (String) request.get("email"),
+                (List<String>) request.get("roles"));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("idamId", user.getUserIdentifier());
+        body.put("idamRegistrationResponse", HttpStatus.CREATED.value());
+        return ResponseEntity.status(HttpStatus.CREATED).body(body);
+    }
+
+    @GetMapping(params = "userId")
+    public ResponseEntity<Map<String, Object>> getUserProfileById(@RequestParam("userId") String userId) {
+        return userProfileStore.findById(userId)
+                .map(user -> {
+                    Map<String, Object> body = toUserProfile(user);
+                    body.put("idamId", body.remove("userIdentifier"));
+                    return ResponseEntity.ok(body);
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getUserProfileByEmail(@RequestHeader("UserEmail") String email) {
+        return userProfileStore.findByEmail(email)
+                .map(user -> {
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("userIdentifier", user.getUserIdentifier());
+                    body.put("idamStatus", user.getIdamStatus());
+                    return ResponseEntity.ok(body);
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/users")
+    public ResponseEntity<Map<String, Object>> getUserProfiles(@RequestBody Map<String, List<String>> request,
+                                                               @RequestParam("showdeleted") String showDeleted,
+                                                               @RequestParam("rolesRequired") String rolesRequired) {
+        boolean includeDeleted = Boolean.parseBoolean(showDeleted);
+        boolean withRoles = Boolean.parseBoolean(rolesRequired);
+        List<Map<String, Object>> userProfiles = request.getOrDefault("userIds", List.of()).stream()
+                .map(userId -> userProfileStore.findById(userId, includeDeleted))
+                .flatMap(user -> user.stream())
+                .map(user -> toUserProfile(user, withRoles))
+                .collect(Collectors.toCollection(ArrayList::new));
+        for (int i = 0; i < properties.getPayload().getExtraUsersPerResponse(); i++) {
+            userProfiles.add(toUserProfile(new StandInUser(UUID.randomUUID().toString(), "extra", "user",
+                    "extra" + i + "@standin.local", List.of("pui-user-manager")), withRoles));
+        }
+        return ResponseEntity.ok(Map.of("userProfiles", userProfiles));
+    }
+
+    @PutMapping("/{userId}")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Map<String, Object>> modifyUserRoles(@RequestBody Map<String, Object> request,
+                                                               @PathVariable("userId") String userId,
+                                                               @RequestParam("origin") String origin) {
+        StandInUser user = userProfileStore.findById(userId).orElse(null);
+        if (user == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        List<Map<String, String>> rolesAdd = (List<Map<String, String>>) request.get("rolesAdd");
+        if (rolesAdd != null) {
+            rolesAdd.forEach(role -> user.getRoles().add(role.get("name")));
+            body.put("roleAdditionResponse", idamResponse());
+        }
+        List<Map<String, String>> rolesDelete = (List<Map<String, String>>) request.get("rolesDelete");
+        if (rolesDelete != null) {
+            body.put("roleDeletionResponse", rolesDelete.stream().map(role -> {
+                user.getRoles().remove(role.get("name"));
+                Map<String, String> deletion = idamResponse();
+                deletion.put("roleName", role.get("name"));
+                return deletion;
+            }).collect(Collectors.toList()));
+        }
+        if (request.get("idamStatus") != null) {
+            user.setIdamStatus((String) request.get("idamStatus"));
+            body.put("statusUpdateResponse", idamResponse());
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> deleteUserProfile(@RequestBody Map<String, List<String>> request) {
+        request.getOrDefault("userIds", List.of()).forEach(userProfileStore::delete);
+        return ResponseEntity.noContent().build();
+    }
+
+    private Map<String, Object> toUserProfile(StandInUser user) {
+        return toUserProfile(user, true);
+    }
+
+    private Map<String, Object> toUserProfile(StandInUser user, boolean withRoles) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("userIdentifier", user.getUserIdentifier());
+        body.put("firstName", user.getFirstName());
+        body.put("lastName", user.getLastName());
+        body.put("email", user.getEmail());
+        body.put("idamStatus", user.isDeleted() ? "DELETED" : user.getIdamStatus());
+        if (withRoles) {
+            body.put("roles", new ArrayList<>(user.getRoles()));
+        }
+        body.put(IDAM_STATUS_CODE, "200");
+        body.put(IDAM_MESSAGE, "11 OK" + " ".repeat(properties.getPayload().getPaddingBytes()));
+        return body;
+    }
+
+    private Map<String, String> idamResponse() {
+        Map<String, String> response = new LinkedHashMap<>();
+        response.put(IDAM_STATUS_CODE, "200");
+        response.put(IDAM_MESSAGE, "11 OK");
+        return response;
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.professionalapi.standin;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory users shared by the User Profile and IDAM stand-ins. With standin.autoCreateUsers, lookups of an
+ * unknown id or email create an active user, so PRD data seeded elsewhere resolves without any setup here.
+ */
+@Component
+public class UserProfileStore {
+
+    private final StandInProperties properties;
+    private final Map<String, StandInUser> usersById = new ConcurrentHashMap<>();
+    private final Map<String, String> idsByEmail = new ConcurrentHashMap<>();
+
+    public UserProfileStore(StandInProperties properties) {
+        this.properties = properties;
+    }
+
+    public StandInUser create(String firstName, String lastName, String email, List<String> roles) {
+        String userIdentifier = idsByEmail.computeIfAbsent(email.toLowerCase(), key -> UUID.randomUUID().toString());
+        StandInUser user = new StandInUser(userIdentifier, firstName, lastName, email, roles);
+        usersById.put(userIdentifier, user);
+        return user;
+    }
+
+    public Optional<StandInUser> findById(String userIdentifier) {
+        return findById(userIdentifier, false);
+    }
+
+    public Optional<StandInUser> findById(String userIdentifier, boolean includeDeleted) {
+        StandInUser user = usersById.get(userIdentifier);
+        if (user == null && properties.isAutoCreateUsers()) {
+            user = usersById.computeIfAbsent(userIdentifier, key -> generated(key, key + "@standin.local"));
+            idsByEmail.putIfAbsent(user.getEmail().toLowerCase(), userIdentifier);
+        }
+        return Optional.ofNullable(user).filter(found -> includeDeleted || !found.isDeleted());
+    }
+
+    public Optional<StandInUser> findByEmail(String email) {
+        String userIdentifier = idsByEmail.get(email.toLowerCase());
+        if (userIdentifier == null && properties.isAutoCreateUsers()) {
+            userIdentifier = idsByEmail.computeIfAbsent(email.toLowerCase(), key -> UUID.randomUUID().toString());
+            usersById.putIfAbsent(userIdentifier, generated(userIdentifier, email));
+        }
+        return userIdentifier == null ? Optional.empty() : findById(userIdentifier);
+    }
+
+    private StandInUser generated(String userIdentifier, String email) {
+        return new StandInUser(userIdentifier, "standin", "user", email, List.of("pui-user-manager"));
+    }
+
+    public void delete(String userIdentifier) {
+        StandInUser user = usersById.get(userIdentifier);
+        if (user != null) {
+            user.setDeleted(true);
+        }
+    }
+}
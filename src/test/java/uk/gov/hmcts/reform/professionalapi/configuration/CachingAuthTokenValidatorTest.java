@@ -0,0 +1,101 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import org.junit.Test;
+import uk.gov.hmcts.reform.authorisation.exceptions.InvalidTokenException;
+import uk.gov.hmcts.reform.authorisation.exceptions.ServiceException;
+import uk.gov.hmcts.reform.authorisation.validators.AuthTokenValidator;
+
+public class CachingAuthTokenValidatorTest {
+
+    private static final Instant NOW = Instant.now();
+
+    private final AuthTokenValidator delegate = mock(AuthTokenValidator.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CachingAuthTokenValidator sut = new CachingAuthTokenValidator(delegate, 100,
+            Duration.ofMinutes(5), Duration.ofMinutes(1), Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+
+    @Test
+    public void test_getServiceName_callsS2sOnceForAValidToken() {
+        String token = "Bearer " + token(NOW.plusSeconds(60));
+        when(delegate.getServiceName(token)).thenReturn("rd_professional_api");
+
+        assertThat(sut.getServiceName(token)).isEqualTo("rd_professional_api");
+        assertThat(sut.getServiceName(token)).isEqualTo("rd_professional_api");
+        sut.validate(token);
+
+        verify(delegate, times(1)).getServiceName(token);
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(2);
+    }
+
+    @Test
+    public void test_getServiceName_doesNotCacheAnExpiredToken() {
+        String token = token(NOW.minusSeconds(1));
+        when(delegate.getServiceName(token)).thenReturn("rd_professional_api");
+
+        sut.getServiceName(token);
+        sut.getServiceName(token);
+
+        verify(delegate, times(2)).getServiceName(token);
+        assertThat(count("miss")).isEqualTo(2);
+        assertThat(count("hit")).isZero();
+    }
+
+    @Test
+    public void test_getServiceName_cachesARejectedToken() {
+        String token = token(NOW.plusSeconds(60));
+        InvalidTokenException rejection = new InvalidTokenException("Invalid S2S token", null);
+        when(delegate.getServiceName(token)).thenThrow(rejection);
+
+        Throwable first = catchThrowable(() -> sut.getServiceName(token));
+        Throwable second = catchThrowable(() -> sut.getServiceName(token));
+
+        assertThat(first).isInstanceOf(InvalidTokenException.class).hasMessage("Invalid S2S token")
+                .isNotSameAs(rejection);
+        assertThat(second).isInstanceOf(InvalidTokenException.class).hasMessage("Invalid S2S token")
+                .isNotSameAs(first);
+        verify(delegate, times(1)).getServiceName(token);
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("negative_hit")).isEqualTo(1);
+    }
+
+    @Test
+    public void test_getServiceName_doesNotCacheAnS2sFailure() {
+        String token = token(NOW.plusSeconds(60));
+        when(delegate.getServiceName(token)).thenThrow(new ServiceException("S2S unavailable", null))
+                .thenReturn("rd_professional_api");
+
+        assertThatThrownBy(() -> sut.getServiceName(token)).isInstanceOf(ServiceException.class);
+        assertThat(sut.getServiceName(token)).isEqualTo("rd_professional_api");
+
+        verify(delegate, times(2)).getServiceName(token);
+        assertThat(count("miss")).isEqualTo(2);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter(CachingAuthTokenValidator.METRIC, "outcome", outcome).count();
+    }
+
+    private static String token(Instant expiresAt) {
+        return JWT.create().withSubject("rd_professional_api").withExpiresAt(Date.from(expiresAt))
+                .sign(Algorithm.HMAC256("secret"));
+    }
+}
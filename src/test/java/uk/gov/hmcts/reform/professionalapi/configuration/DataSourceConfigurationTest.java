@@ -0,0 +1,60 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+public class DataSourceConfigurationTest {
+
+    private static final String URL = "jdbc:postgresql://localhost:5428/dbrefdata";
+
+    private final DataSourceProperties dataSourceProperties = new DataSourceProperties();
+    private final MockEnvironment environment = new MockEnvironment();
+
+    private HikariDataSource pool;
+
+    @Before
+    public void setUp() {
+        dataSourceProperties.setDriverClassName("org.postgresql.Driver");
+        dataSourceProperties.setUrl(URL);
+        dataSourceProperties.setUsername("dbrefdata");
+        dataSourceProperties.setPassword("dbrefdata");
+        environment.setProperty("spring.datasource.hikari.maximum-pool-size", "20");
+        environment.setProperty("spring.datasource.hikari.leak-detection-threshold", "60000");
+        environment.setProperty("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", "true");
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void test_pool_bindsHikariSettingsAndMetrics() {
+        pool = new DataSourceConfiguration().pool(dataSourceProperties, environment, new SimpleMeterRegistry(),
+                URL, "primary");
+
+        assertThat(pool.getJdbcUrl()).isEqualTo(URL);
+        assertThat(pool.getPoolName()).isEqualTo("primary");
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(pool.getLeakDetectionThreshold()).isEqualTo(60000);
+        assertThat(pool.getConnectionTestQuery()).isNull();
+        assertThat(pool.getDataSourceProperties()).containsEntry("reWriteBatchedInserts", "true");
+        assertThat(pool.getMetricsTrackerFactory()).isNotNull();
+    }
+
+    @Test
+    public void test_pool_withoutMeterRegistry() {
+        pool = new DataSourceConfiguration().pool(dataSourceProperties, environment, null, URL, "replica-0");
+
+        assertThat(pool.getPoolName()).isEqualTo("replica-0");
+        assertThat(pool.getMetricsTrackerFactory()).isNull();
+    }
+}
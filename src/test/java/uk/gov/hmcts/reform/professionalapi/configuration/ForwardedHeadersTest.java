@@ -0,0 +1,69 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class ForwardedHeadersTest {
+
+    private static final List<String> ALLOWED = asList("authorization", "serviceauthorization");
+
+    private final AtomicReference<String> seenHeader = new AtomicReference<>();
+    private final AtomicReference<Object> seenAttributes = new AtomicReference<>("not run");
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void test_current_copiesOnlyTheAllowedHeadersOfTheRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer user");
+        request.addHeader("ServiceAuthorization", "Bearer s2s");
+        request.addHeader("Cookie", "session");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        ForwardedHeaders headers = ForwardedHeaders.current(ALLOWED);
+
+        assertThat(headers.asMap()).containsOnlyKeys("Authorization", "ServiceAuthorization");
+        assertThat(headers.get("authorization")).isEqualTo("Bearer user");
+    }
+
+    @Test
+    public void test_wrap_handsTheCopyOverWithoutTheLiveRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer user");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        Runnable task = UserProfileExecutorConfiguration.forwardedHeadersDecorator(new FeignHeaderConfig(ALLOWED))
+                .decorate(() -> {
+                    seenAttributes.set(RequestContextHolder.getRequestAttributes());
+                    seenHeader.set(ForwardedHeaders.current(ALLOWED).get("Authorization"));
+                });
+        RequestContextHolder.resetRequestAttributes();
+
+        Thread worker = new Thread(task);
+        worker.start();
+        joinQuietly(worker);
+
+        assertThat(seenAttributes.get()).isNull();
+        assertThat(seenHeader.get()).isEqualTo("Bearer user");
+        assertThat(ForwardedHeaders.current(ALLOWED).asMap()).isEmpty();
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join(5000);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource firstReplica = mock(DataSource.class);
+    private final DataSource secondReplica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+    private final Clock clock = mock(Clock.class);
+
+    private ReadReplicaRoutingDataSource sut;
+
+    @Before
+    public void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+        when(clock.millis()).thenReturn(0L);
+
+        sut = new ReadReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica),
+                Duration.ofSeconds(30), clock);
+    }
+
+    @After
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void test_getConnection_usesPrimaryOutsideReadOnlyTransactions() throws SQLException {
+        assertThat(sut.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    public void test_getConnection_spreadsReadOnlyTransactionsAcrossReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(sut.getConnection()).isSameAs(firstReplicaConnection);
+        assertThat(sut.getConnection()).isSameAs(secondReplicaConnection);
+        assertThat(sut.getConnection()).isSameAs(firstReplicaConnection);
+    }
+
+    @Test
+    public void test_getConnection_failsOverAndRetriesUnavailableReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(firstReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(secondReplica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        assertThat(sut.getConnection()).isSameAs(primaryConnection);
+        assertThat(sut.isReplicaAvailable(0)).isFalse();
+        assertThat(sut.isReplicaAvailable(1)).isFalse();
+
+        when(clock.millis()).thenReturn(Duration.ofSeconds(30).toMillis());
+
+        assertThat(sut.isReplicaAvailable(0)).isTrue();
+        assertThat(sut.isReplicaAvailable(1)).isTrue();
+    }
+}
@@ -0,0 +1,118 @@
+package uk.gov.hmcts.reform.professionalapi.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileAsyncClient;
+import uk.gov.hmcts.reform.professionalapi.controller.request.validator.PaymentAccountValidator;
+import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationMinimalInfoResponse;
+import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
+import uk.gov.hmcts.reform.professionalapi.repository.OrganisationRepository;
+import uk.gov.hmcts.reform.professionalapi.service.OrganisationService;
+import uk.gov.hmcts.reform.professionalapi.service.PrdEnumService;
+import uk.gov.hmcts.reform.professionalapi.service.ProfessionalUserService;
+import uk.gov.hmcts.reform.professionalapi.service.UserAccountMapService;
+import uk.gov.hmcts.reform.professionalapi.service.UserAttributeService;
+import uk.gov.hmcts.reform.professionalapi.service.impl.OrganisationServiceImpl;
+
+/**
+ * Runs JPA over two H2 databases behind the same LazyConnectionDataSourceProxy and ReadReplicaRoutingDataSource
+ * the application uses, with the application's connection handling mode. Each database holds a row the other
+ * does not, so the rows a call returns show which database served it.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.connection.handling_mode="
+        + "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ReadReplicaRoutingJpaTest.PrimaryAndReplica.class, OrganisationServiceImpl.class})
+public class ReadReplicaRoutingJpaTest {
+
+    private static final DataSource PRIMARY = h2("routing-primary");
+    private static final DataSource REPLICA = h2("routing-replica");
+
+    @Autowired
+    private OrganisationService organisationService;
+    @Autowired
+    private OrganisationRepository organisationRepository;
+
+    @MockBean
+    private UserAccountMapService userAccountMapService;
+    @MockBean
+    private PrdEnumService prdEnumService;
+    @MockBean
+    private UserAttributeService userAttributeService;
+    @MockBean
+    private PaymentAccountValidator paymentAccountValidator;
+    @MockBean
+    private UserProfileAsyncClient userProfileAsyncClient;
+    @MockBean
+    private ProfessionalUserService professionalUserService;
+
+    @Test
+    public void test_readOnlyServiceCallIsServedByTheReplicaAndWritesGoToThePrimary() {
+        new JdbcTemplate(REPLICA).update("INSERT INTO organisation (id, name, status, organisation_identifier, "
+                + "created, last_updated) VALUES (RANDOM_UUID(), 'replica-org', 'ACTIVE', 'REPLICA', "
+                + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        organisationRepository.save(new Organisation("primary-org", OrganisationStatus.ACTIVE, null, null,
+                Boolean.FALSE, null));
+
+        List<OrganisationMinimalInfoResponse> organisations = organisationService
+                .getOrganisationMinimalInfoByStatus(OrganisationStatus.ACTIVE, false);
+
+        assertThat(organisations).extracting(OrganisationMinimalInfoResponse::getName)
+                .containsExactly("replica-org");
+        assertThat(namesIn(PRIMARY)).containsExactly("primary-org");
+        assertThat(namesIn(REPLICA)).containsExactly("replica-org");
+    }
+
+    private static List<String> namesIn(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList("SELECT name FROM organisation", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @TestConfiguration
+    static class PrimaryAndReplica {
+
+        /**
+         * Flyway migrates the primary through the application's DataSource. The replica is migrated here, as
+         * replication would have given it the same schema.
+         */
+        @Bean
+        ReadReplicaRoutingDataSource readReplicaRoutingDataSource() {
+            Flyway.configure().dataSource(REPLICA).locations("classpath:db/migration").load().migrate();
+            return new ReadReplicaRoutingDataSource(PRIMARY, List.of(REPLICA), Duration.ofSeconds(30),
+                    Clock.systemUTC());
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+            return new DataSourceConfiguration().dataSource(readReplicaRoutingDataSource);
+        }
+    }
+}
@@ -274,11 +274,10 @@ public class OrganisationExternalControllerTest {
     @Test
     public void test_retrieveOrganisationsByStatusWithMinimalInfo_should_return_200_with_response() {
         ReflectionTestUtils.setField(organisationExternalController, "allowedOrganisationStatus", ACTIVE.name());
-        List<Organisation> organisations = new ArrayList<>();
-        organisations.add(organisation1);
         OrganisationMinimalInfoResponse organisationMinimalInfoResponse = new OrganisationMinimalInfoResponse(
                 organisation1, true);
-        when(organisationServiceMock.getOrganisationByStatus(any())).thenReturn(organisations);
+        when(organisationServiceMock.getOrganisationMinimalInfoByStatus(ACTIVE, true))
+                .thenReturn(List.of(organisationMinimalInfoResponse));
 
         ResponseEntity<List<OrganisationMinimalInfoResponse>> responseEntity =
                 organisationExternalController.retrieveOrganisationsByStatusWithAddressDetailsOptional(
@@ -287,19 +286,19 @@ public class OrganisationExternalControllerTest {
         assertThat(minimalInfoResponseList).usingFieldByFieldElementComparator()
                 .contains(organisationMinimalInfoResponse);
         assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
-        verify(organisationServiceMock, times(1)).getOrganisationByStatus(any());
+        verify(organisationServiceMock, times(1)).getOrganisationMinimalInfoByStatus(ACTIVE, true);
 
     }
 
     @Test
     public void test_retrieveAllOrganisationsByStatus_should_return_404_when_no_active_orgs_found() {
         ReflectionTestUtils.setField(organisationExternalController, "allowedOrganisationStatus", ACTIVE.name());
-        when(organisationServiceMock.getOrganisationByStatus(any())).thenReturn(new ArrayList<>());
+        when(organisationServiceMock.getOrganisationMinimalInfoByStatus(ACTIVE, true)).thenReturn(new ArrayList<>());
         Throwable raisedException = catchThrowable(() -> organisationExternalController
                 .retrieveOrganisationsByStatusWithAddressDetailsOptional(UUID.randomUUID().toString(),
                         ACTIVE.name(), true));
         assertThat(raisedException).isExactlyInstanceOf(ResourceNotFoundException.class)
                 .hasMessageStartingWith("No Organisations found");
-        verify(organisationServiceMock, times(1)).getOrganisationByStatus(any());
+        verify(organisationServiceMock, times(1)).getOrganisationMinimalInfoByStatus(ACTIVE, true);
     }
 }
\ No newline at end of file
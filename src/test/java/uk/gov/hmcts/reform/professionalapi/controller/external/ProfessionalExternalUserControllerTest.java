@@ -124,7 +124,7 @@ public class ProfessionalExternalUserControllerTest {
 
         ResponseEntity<?> actual = professionalExternalUserController.findUsersByOrganisation(organisation
                         .getOrganisationIdentifier(), "true", "", true, null, null,
-                null);
+                null, null);
 
         assertThat(actual).isNotNull();
         assertThat(actual.getStatusCode().value()).isEqualTo(expectedHttpStatus.value());
@@ -172,7 +172,7 @@ public class ProfessionalExternalUserControllerTest {
 
         ResponseEntity<?> actual = professionalExternalUserController
                 .findUsersByOrganisation(organisation.getOrganisationIdentifier(), "true", "",
-                        true, null, null, null);
+                        true, null, null, null, null);
         assertThat(actual).isNotNull();
         assertThat(actual.getStatusCode().value()).isEqualTo(expectedHttpStatus.value());
 
@@ -223,7 +223,7 @@ public class ProfessionalExternalUserControllerTest {
 
         ResponseEntity<?> actual = professionalExternalUserController
                 .findUsersByOrganisation(organisation.getOrganisationIdentifier(), "true", "",
-                        false, null, null, null);
+                        false, null, null, null, null);
         assertThat(actual).isNotNull();
         assertThat(actual.getStatusCode().value()).isEqualTo(expectedHttpStatus.value());
 
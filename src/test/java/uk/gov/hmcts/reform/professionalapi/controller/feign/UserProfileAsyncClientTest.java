@@ -0,0 +1,76 @@
+package uk.gov.hmcts.reform.professionalapi.controller.feign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import feign.Response;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class UserProfileAsyncClientTest {
+
+    private final UserProfileFeignClient userProfileFeignClient = mock(UserProfileFeignClient.class);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final UserProfileAsyncClient sut = new UserProfileAsyncClient(userProfileFeignClient, executor);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void test_timeout_interruptsTheRunningCall() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(userProfileFeignClient.getUserProfileById("id")).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+
+        CompletableFuture<Response> call = sut.getUserProfileById("id").orTimeout(50, TimeUnit.MILLISECONDS);
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(call::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void test_cancel_dropsAQueuedCallAndClosesALateResponse() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Response lateResponse = mock(Response.class);
+        when(userProfileFeignClient.getUserProfileById("slow")).thenAnswer(invocation -> {
+            release.await();
+            return lateResponse;
+        });
+
+        CompletableFuture<Response> running = sut.getUserProfileById("slow");
+        CompletableFuture<Response> queued = sut.getUserProfileByEmail("queued@test.com");
+        queued.cancel(true);
+        running.complete(null);
+        release.countDown();
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        verify(lateResponse).close();
+        verify(userProfileFeignClient, never()).getUserProfileByEmail("queued@test.com");
+    }
+}
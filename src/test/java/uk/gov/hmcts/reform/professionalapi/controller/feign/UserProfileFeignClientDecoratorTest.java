@@ -0,0 +1,354 @@
+package uk.gov.hmcts.reform.professionalapi.controller.feign;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.professionalapi.configuration.CacheConfiguration.IDAM_USER_INFO_CACHE;
+import static uk.gov.hmcts.reform.professionalapi.oidc.TokenHashing.sha256;
+
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.hmcts.reform.authorisation.validators.AuthTokenValidator;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+import uk.gov.hmcts.reform.professionalapi.configuration.CacheConfiguration;
+import uk.gov.hmcts.reform.professionalapi.configuration.FeignHeaderConfig;
+import uk.gov.hmcts.reform.professionalapi.controller.request.DeleteUserProfilesRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.RetrieveUserProfilesRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.UserProfileCreationRequest;
+import uk.gov.hmcts.reform.professionalapi.domain.UserProfileUpdatedData;
+import uk.gov.hmcts.reform.professionalapi.oidc.UserInfoCacheEntry;
+
+public class UserProfileFeignClientDecoratorTest {
+
+    private static final String USER_ID = "1cb88d5f-ef2c-4587-aca0-f77a7f6f3742";
+    private static final String BODY = "{\"userIdentifier\": \"" + USER_ID + "\", \"idamStatus\": \"ACTIVE\"}";
+    private static final String BODY_WITH_EMAIL = "{\"idamId\": \"" + USER_ID
+            + "\", \"email\": \"Some@Email.com\"}";
+    private static final FeignHeaderConfig FEIGN_HEADERS
+            = new FeignHeaderConfig(List.of("authorization", "serviceauthorization"));
+
+    private static final UserProfileHedgingPolicy HEDGING_DISABLED = new UserProfileHedgingPolicy(false, 0.95, 50,
+            5, Runnable::run, new SimpleMeterRegistry());
+
+    private final UserProfileFeignClient userProfileFeignClient = mock(UserProfileFeignClient.class);
+    private final AuthTokenValidator authTokenValidator = mock(AuthTokenValidator.class);
+    private final CacheManager cacheManager = new CacheConfiguration().cacheManager(
+            "maximumSize=100,expireAfterWrite=60s,recordStats", "maximumSize=100", "maximumSize=0", 100, 60);
+
+    private UserProfileFeignClientDecorator sut;
+
+    @After
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Before
+    public void setUp() {
+        sut = new UserProfileFeignClientDecorator(userProfileFeignClient, cacheManager, HEDGING_DISABLED,
+                FEIGN_HEADERS, authTokenValidator);
+        when(authTokenValidator.getServiceName("Bearer s2s")).thenReturn("xui_webapp");
+    }
+
+    @Test
+    public void test_getUserProfileById_isServedFromCacheOnSecondCall() throws Exception {
+        when(userProfileFeignClient.getUserProfileById(USER_ID)).thenAnswer(invocation -> response(200));
+
+        sut.getUserProfileById(USER_ID);
+        Response response = sut.getUserProfileById(USER_ID);
+
+        assertThat(new String(Util.toByteArray(response.body().asInputStream()), UTF_8)).isEqualTo(BODY);
+        verify(userProfileFeignClient, times(1)).getUserProfileById(USER_ID);
+    }
+
+    @Test
+    public void test_failedLookupsAreNotCached() {
+        when(userProfileFeignClient.getUserProfileByEmail(anyString())).thenAnswer(invocation -> response(404));
+
+        sut.getUserProfileByEmail("some@email.com");
+        sut.getUserProfileByEmail("some@email.com");
+
+        verify(userProfileFeignClient, times(2)).getUserProfileByEmail("some@email.com");
+    }
+
+    @Test
+    public void test_modifyUserRoles_evictsEntriesForTheUser() {
+        when(userProfileFeignClient.getUserProfileByEmail(anyString())).thenAnswer(invocation -> response(200));
+        when(userProfileFeignClient.getUserProfiles(any(), anyString(), anyString()))
+                .thenAnswer(invocation -> response(200));
+        when(userProfileFeignClient.modifyUserRoles(any(), eq(USER_ID), anyString())).thenReturn(response(200));
+        RetrieveUserProfilesRequest retrieveUserProfilesRequest = new RetrieveUserProfilesRequest(List.of(USER_ID));
+
+        sut.getUserProfileByEmail("some@email.com");
+        sut.getUserProfiles(retrieveUserProfilesRequest, "false", "true");
+        sut.modifyUserRoles(new UserProfileUpdatedData(), USER_ID, "EXUI");
+        sut.getUserProfileByEmail("some@email.com");
+        sut.getUserProfiles(retrieveUserProfilesRequest, "false", "true");
+
+        verify(userProfileFeignClient, times(2)).getUserProfileByEmail("some@email.com");
+        verify(userProfileFeignClient, times(2)).getUserProfiles(retrieveUserProfilesRequest, "false", "true");
+    }
+
+    @Test
+    public void test_createUserProfile_evictsEntriesWhoseBodyHasTheEmailInAnotherCase() {
+        when(userProfileFeignClient.getUserProfileById(USER_ID))
+                .thenAnswer(invocation -> response(200, BODY_WITH_EMAIL));
+        when(userProfileFeignClient.createUserProfile(any())).thenReturn(response(201));
+        UserProfileCreationRequest userProfileCreationRequest = UserProfileCreationRequest
+                .anUserProfileCreationRequest().email("some@email.com").build();
+
+        sut.getUserProfileById(USER_ID);
+        sut.createUserProfile(userProfileCreationRequest);
+        sut.getUserProfileById(USER_ID);
+
+        verify(userProfileFeignClient, times(2)).getUserProfileById(USER_ID);
+    }
+
+    @Test
+    public void test_cachedResponseIsSharedBetweenCallersFromTheSameServiceWithTheSameRoles() {
+        when(userProfileFeignClient.getUserProfileById(USER_ID)).thenAnswer(invocation -> response(200));
+        givenUserInfo("caller-1", "prd-admin", "caseworker");
+        givenUserInfo("caller-2", "caseworker", "prd-admin");
+
+        actAs("Bearer caller-1");
+        sut.getUserProfileById(USER_ID);
+        actAs("Bearer caller-2");
+        sut.getUserProfileById(USER_ID);
+
+        verify(userProfileFeignClient, times(1)).getUserProfileById(USER_ID);
+    }
+
+    @Test
+    public void test_cachedResponseIsNotSharedBetweenCallersWithDifferentRolesOrServices() {
+        when(userProfileFeignClient.getUserProfileById(USER_ID)).thenAnswer(invocation -> response(200));
+        when(authTokenValidator.getServiceName("Bearer other-s2s")).thenReturn("other_service");
+        givenUserInfo("caller-1", "prd-admin");
+        givenUserInfo("caller-2", "pui-user-manager");
+
+        actAs("Bearer caller-1");
+        sut.getUserProfileById(USER_ID);
+        actAs("Bearer caller-2");
+        sut.getUserProfileById(USER_ID);
+        actAs("Bearer caller-1", "Bearer other-s2s");
+        sut.getUserProfileById(USER_ID);
+
+        verify(userProfileFeignClient, times(3)).getUserProfileById(USER_ID);
+    }
+
+    @Test
+    public void test_cachedResponseIsNotSharedWithACallerWhoseRolesAreUnknown() {
+        when(userProfileFeignClient.getUserProfileById(USER_ID)).thenAnswer(invocation -> response(200));
+        givenUserInfo("caller-1", "prd-admin");
+
+        actAs("Bearer caller-1");
+        sut.getUserProfileById(USER_ID);
+        actAs("Bearer caller-2");
+        sut.getUserProfileById(USER_ID);
+        sut.getUserProfileById(USER_ID);
+
+        verify(userProfileFeignClient, times(2)).getUserProfileById(USER_ID);
+    }
+
+    @Test
+    public void test_failedDeleteKeepsCachedEntries() {
+        when(userProfileFeignClient.getUserProfileById(USER_ID)).thenAnswer(invocation -> response(200));
+        when(userProfileFeignClient.deleteUserProfile(any())).thenReturn(response(500));
+
+        sut.getUserProfileById(USER_ID);
+        sut.deleteUserProfile(new DeleteUserProfilesRequest(new HashSet<>(Collections.singletonList(USER_ID))));
+        sut.getUserProfileById(USER_ID);
+
+        verify(userProfileFeignClient, times(1)).getUserProfileById(USER_ID);
+    }
+
+    @Test
+    public void test_concurrentIdenticalLookupsShareOneCall() throws Exception {
+        CountDownLatch secondCallJoined = new CountDownLatch(1);
+        sut = new UserProfileFeignClientDecorator(userProfileFeignClient, new CacheConfiguration()
+                .cacheManager("maximumSize=0", "maximumSize=0", "maximumSize=0", 0, 0), HEDGING_DISABLED,
+                FEIGN_HEADERS, authTokenValidator) {
+            @Override
+            Response awaitInFlightCall(CompletableFuture<Response> inFlightCall) {
+                secondCallJoined.countDown();
+                return super.awaitInFlightCall(inFlightCall);
+            }
+        };
+        CountDownLatch callStarted = new CountDownLatch(1);
+        when(userProfileFeignClient.getUserProfileByEmail("some@email.com")).thenAnswer(invocation -> {
+            callStarted.countDown();
+            secondCallJoined.await(5, TimeUnit.SECONDS);
+            return response(200);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Response> first = executor.submit(() -> sut.getUserProfileByEmail("some@email.com"));
+            assertThat(callStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Response> second = executor.submit(() -> sut.getUserProfileByEmail("some@email.com"));
+
+            assertThat(first.get(5, TimeUnit.SECONDS).status()).isEqualTo(200);
+            assertThat(second.get(5, TimeUnit.SECONDS).status()).isEqualTo(200);
+            assertThat(secondCallJoined.getCount()).isZero();
+            verify(userProfileFeignClient, times(1)).getUserProfileByEmail("some@email.com");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_errorInSharedCallReachesEveryCaller() throws Exception {
+        CountDownLatch secondCallJoined = new CountDownLatch(1);
+        sut = new UserProfileFeignClientDecorator(userProfileFeignClient, new CacheConfiguration()
+                .cacheManager("maximumSize=0", "maximumSize=0", "maximumSize=0", 0, 0), HEDGING_DISABLED,
+                FEIGN_HEADERS, authTokenValidator) {
+            @Override
+            Response awaitInFlightCall(CompletableFuture<Response> inFlightCall) {
+                secondCallJoined.countDown();
+                return super.awaitInFlightCall(inFlightCall);
+            }
+        };
+        CountDownLatch callStarted = new CountDownLatch(1);
+        when(userProfileFeignClient.getUserProfileByEmail("some@email.com")).thenAnswer(invocation -> {
+            callStarted.countDown();
+            secondCallJoined.await(5, TimeUnit.SECONDS);
+            throw new AssertionError("decoder failure");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Response> first = executor.submit(() -> sut.getUserProfileByEmail("some@email.com"));
+            assertThat(callStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<Response> second = executor.submit(() -> sut.getUserProfileByEmail("some@email.com"));
+
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(AssertionError.class);
+            assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasRootCauseInstanceOf(AssertionError.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_lookupInFlightDuringAWriteIsNotCached() throws Exception {
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        when(userProfileFeignClient.getUserProfileById(USER_ID)).thenAnswer(invocation -> {
+            callStarted.countDown();
+            releaseCall.await(5, TimeUnit.SECONDS);
+            return response(200);
+        }).thenAnswer(invocation -> response(200));
+        when(userProfileFeignClient.modifyUserRoles(any(), eq(USER_ID), anyString())).thenReturn(response(200));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Response> staleLookup = executor.submit(() -> sut.getUserProfileById(USER_ID));
+            assertThat(callStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            sut.modifyUserRoles(new UserProfileUpdatedData(), USER_ID, "EXUI");
+            releaseCall.countDown();
+            assertThat(staleLookup.get(5, TimeUnit.SECONDS).status()).isEqualTo(200);
+
+            sut.getUserProfileById(USER_ID);
+
+            verify(userProfileFeignClient, times(2)).getUserProfileById(USER_ID);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_getUserProfileById_fallsBackToLastKnownResponseWhenCallFails() throws Exception {
+        sut = new UserProfileFeignClientDecorator(userProfileFeignClient, new CacheConfiguration()
+                .cacheManager("expireAfterWrite=0s", "maximumSize=100", "maximumSize=0", 0, 0),
+                HEDGING_DISABLED, FEIGN_HEADERS, authTokenValidator);
+        when(userProfileFeignClient.getUserProfileById(USER_ID)).thenReturn(response(200))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        sut.getUserProfileById(USER_ID);
+        Response response = sut.getUserProfileById(USER_ID);
+
+        assertThat(response.status()).isEqualTo(200);
+        assertThat(new String(Util.toByteArray(response.body().asInputStream()), UTF_8)).isEqualTo(BODY);
+        verify(userProfileFeignClient, times(2)).getUserProfileById(USER_ID);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_getUserProfileById_rethrowsTheFailureWhenThereIsNoLastKnownResponse() {
+        when(userProfileFeignClient.getUserProfileById(USER_ID))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        sut.getUserProfileById(USER_ID);
+    }
+
+    @Test
+    public void test_serverErrorIsReturnedToCallerWithoutLastKnownResponse() {
+        when(userProfileFeignClient.getUserProfiles(any(), anyString(), anyString())).thenReturn(response(500));
+
+        Response response = sut.getUserProfiles(new RetrieveUserProfilesRequest(List.of(USER_ID)), "false",
+                "false");
+
+        assertThat(response.status()).isEqualTo(500);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_getUserProfileByEmail_doesNotDegradeToLastKnownResponse() {
+        sut = new UserProfileFeignClientDecorator(userProfileFeignClient, new CacheConfiguration()
+                .cacheManager("expireAfterWrite=0s", "maximumSize=100", "maximumSize=0", 0, 0),
+                HEDGING_DISABLED, FEIGN_HEADERS, authTokenValidator);
+        when(userProfileFeignClient.getUserProfileByEmail("some@email.com")).thenReturn(response(200))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        sut.getUserProfileByEmail("some@email.com");
+        sut.getUserProfileByEmail("some@email.com");
+    }
+
+    private Response response(int status) {
+        return response(status, BODY);
+    }
+
+    private Response response(int status, String body) {
+        return Response.builder().status(status).reason("").headers(new HashMap<>()).body(body, UTF_8)
+                .request(mock(Request.class)).build();
+    }
+
+    private void givenUserInfo(String token, String... roles) {
+        cacheManager.getCache(IDAM_USER_INFO_CACHE).put(sha256(token),
+                new UserInfoCacheEntry(new UserInfo("", "", "", "", "", List.of(roles)), null));
+    }
+
+    private static void actAs(String authorization) {
+        actAs(authorization, "Bearer s2s");
+    }
+
+    private static void actAs(String authorization, String serviceAuthorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", authorization);
+        request.addHeader("ServiceAuthorization", serviceAuthorization);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,108 @@
+package uk.gov.hmcts.reform.professionalapi.controller.feign;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class UserProfileHedgingPolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch releaseFirstAttempt = new CountDownLatch(1);
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @After
+    public void tearDown() {
+        releaseFirstAttempt.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void test_execute_callsDirectlyWhenDisabled() {
+        UserProfileHedgingPolicy sut = new UserProfileHedgingPolicy(false, 0.95, 10, 100,
+                command -> {
+                    throw new IllegalStateException("executor must not be used");
+                }, meterRegistry);
+
+        Response response = sut.execute("getUserProfileById", () -> response(attempts.incrementAndGet()));
+
+        assertThat(response.status()).isEqualTo(201);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_execute_returnsHedgeWhenFirstAttemptIsSlow() {
+        UserProfileHedgingPolicy sut = new UserProfileHedgingPolicy(true, 0.95, 10, 100, executor,
+                meterRegistry);
+
+        Response response = sut.execute("getUserProfileById", slowFirstAttempt());
+
+        assertThat(response.status()).isEqualTo(202);
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("user.profile.hedging.fired", "method", "getUserProfileById").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("user.profile.hedging.won", "method", "getUserProfileById").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void test_execute_waitsForFirstAttemptWhenBudgetIsSpent() {
+        UserProfileHedgingPolicy sut = new UserProfileHedgingPolicy(true, 0.95, 10, 0, executor,
+                meterRegistry);
+        executor.execute(() -> {
+            sleep(100);
+            releaseFirstAttempt.countDown();
+        });
+
+        Response response = sut.execute("getUserProfileById", slowFirstAttempt());
+
+        assertThat(response.status()).isEqualTo(201);
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("user.profile.hedging.skipped", "method", "getUserProfileById").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("user.profile.hedging.fired", "method", "getUserProfileById").count())
+                .isZero();
+    }
+
+    private Supplier<Response> slowFirstAttempt() {
+        return () -> {
+            int attempt = attempts.incrementAndGet();
+            if (attempt == 1) {
+                try {
+                    releaseFirstAttempt.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return response(attempt);
+        };
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Response response(int attempt) {
+        return Response.builder().status(200 + attempt).reason("OK").headers(new HashMap<>())
+                .body("{}", UTF_8).request(mock(Request.class)).build();
+    }
+}
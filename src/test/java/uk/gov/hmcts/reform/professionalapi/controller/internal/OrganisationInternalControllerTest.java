@@ -24,9 +24,13 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -44,9 +48,12 @@ import uk.gov.hmcts.reform.professionalapi.controller.request.validator.PaymentA
 import uk.gov.hmcts.reform.professionalapi.controller.response.DeleteOrganisationResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationEntityResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationResponse;
+import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationSearchResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationsDetailResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.UserProfileCreationResponse;
 import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchCriteria;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchResult;
 import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
 import uk.gov.hmcts.reform.professionalapi.domain.PaymentAccount;
 import uk.gov.hmcts.reform.professionalapi.domain.PrdEnum;
@@ -366,4 +373,32 @@ public class OrganisationInternalControllerTest {
         organisationInternalController.deleteOrganisation(orgId,"123456789");
         verify(organisationServiceMock, times(1)).getOrganisationByOrgIdentifier(orgId);
     }
+
+    @Test
+    public void test_SearchOrganisations() {
+        OrganisationSearchResponse searchResponse = new OrganisationSearchResponse(new OrganisationSearchResult(
+                "Smith Solicitors", "ABC1234", OrganisationStatus.ACTIVE, "sra-id", "12345678"));
+        when(organisationServiceMock.searchOrganisations(any(OrganisationSearchCriteria.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(singletonList(searchResponse), PageRequest.of(0, 10), 1));
+
+        ResponseEntity<?> actual = organisationInternalController.searchOrganisations("smith solicitors", null,
+                null, null, null, null, 10);
+
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actual.getBody()).isEqualTo(singletonList(searchResponse));
+        assertThat(actual.getHeaders().getFirst("paginationInfo")).contains("totalElements = 1");
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(organisationServiceMock).searchOrganisations(any(OrganisationSearchCriteria.class), pageable.capture());
+        assertThat(pageable.getValue().getSort().isUnsorted()).isTrue();
+    }
+
+    @Test(expected = InvalidRequest.class)
+    public void test_SearchOrganisationsThrows400WhenNoParameterGiven() {
+        organisationInternalController.searchOrganisations(" ", null, null, null, null, null, 10);
+    }
+
+    @Test(expected = InvalidRequest.class)
+    public void test_SearchOrganisationsThrows400WhenNameTooShort() {
+        organisationInternalController.searchOrganisations("sm", null, null, null, null, null, 10);
+    }
 }
\ No newline at end of file
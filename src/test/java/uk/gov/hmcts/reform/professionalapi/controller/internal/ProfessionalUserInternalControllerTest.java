@@ -1,9 +1,12 @@
 package uk.gov.hmcts.reform.professionalapi.controller.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -23,6 +26,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 import uk.gov.hmcts.reform.professionalapi.controller.constants.IdamStatus;
+import uk.gov.hmcts.reform.professionalapi.controller.request.InvalidRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.validator.OrganisationCreationRequestValidator;
 import uk.gov.hmcts.reform.professionalapi.controller.request.validator.OrganisationIdentifierValidator;
 import uk.gov.hmcts.reform.professionalapi.controller.request.validator.UserProfileUpdateRequestValidator;
@@ -89,6 +93,39 @@ public class ProfessionalUserInternalControllerTest {
         testFindUsersByOrganisation(systemUserRoles);
     }
 
+    @Test
+    public void testFindUsersByOrganisation_rejectsAPageSizeOfZero() {
+        givenAnActiveOrganisation();
+
+        assertThatThrownBy(() -> professionalUserInternalController.findUsersByOrganisation(
+                organisation.getOrganisationIdentifier(), "true", true, null, 0, ""))
+                .isInstanceOf(InvalidRequest.class);
+
+        verify(professionalUserServiceMock, never()).findProfessionalUsersByOrganisationWithPageToken(
+                any(Organisation.class), any(String.class), any(Boolean.class), any(String.class), any(String.class),
+                anyInt());
+    }
+
+    @Test
+    public void testFindUsersByOrganisation_rejectsANegativePageSize() {
+        givenAnActiveOrganisation();
+
+        assertThatThrownBy(() -> professionalUserInternalController.findUsersByOrganisation(
+                organisation.getOrganisationIdentifier(), "true", true, 0, -1, null))
+                .isInstanceOf(InvalidRequest.class);
+
+        verify(professionalUserServiceMock, never()).findProfessionalUsersByOrganisationWithPageable(
+                any(Organisation.class), any(String.class), any(Boolean.class), any(String.class), any());
+    }
+
+    private void givenAnActiveOrganisation() {
+        organisation.setStatus(OrganisationStatus.ACTIVE);
+        when(organisationServiceMock.getOrganisationByOrgIdentifier(organisation.getOrganisationIdentifier()))
+                .thenReturn(organisation);
+        when(jwtGrantedAuthoritiesConverterMock.getUserInfo())
+                .thenReturn(new UserInfo("", "", "", "", "", prdAdminRoles));
+    }
+
     public void testFindUsersByOrganisation(List<String> userRoles) {
         final HttpStatus expectedHttpStatus = HttpStatus.OK;
         ProfessionalUser professionalUser =
@@ -114,7 +151,7 @@ public class ProfessionalUserInternalControllerTest {
 
         ResponseEntity<?> actual = professionalUserInternalController
                 .findUsersByOrganisation(organisation
-                        .getOrganisationIdentifier(), "true", true, null, null);
+                        .getOrganisationIdentifier(), "true", true, null, null, null);
         assertThat(actual).isNotNull();
         assertThat(actual.getStatusCode().value()).isEqualTo(expectedHttpStatus.value());
 
@@ -153,7 +190,7 @@ public class ProfessionalUserInternalControllerTest {
 
         ResponseEntity<?> actualRolesFalse = professionalUserInternalController
                 .findUsersByOrganisation(organisation.getOrganisationIdentifier(), "true", true,
-                        null, null);
+                        null, null, null);
         assertThat(actualRolesFalse).isNotNull();
         assertThat(actualRolesFalse.getStatusCode().value()).isEqualTo(expectedHttpStatus.value());
 
@@ -190,7 +227,7 @@ public class ProfessionalUserInternalControllerTest {
 
         ResponseEntity<?> actualRolesFalse = professionalUserInternalController
                 .findUsersByOrganisation(organisation.getOrganisationIdentifier(), "true", true,
-                        null, null);
+                        null, null, null);
         assertThat(actualRolesFalse).isNotNull();
         assertThat(actualRolesFalse.getStatusCode().value()).isEqualTo(expectedHttpStatus.value());
 
@@ -0,0 +1,104 @@
+package uk.gov.hmcts.reform.professionalapi.controller.request;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+public class BulkOrganisationRequestReaderTest {
+
+    private final BulkOrganisationRequestReader sut = new BulkOrganisationRequestReader(new ObjectMapper());
+
+    @Test
+    public void test_read_ndjsonRecordsAreNumberedAndInvalidLinesReported() throws IOException {
+        String body = "{\"name\":\"Org One\",\"superUser\":{\"firstName\":\"a\",\"lastName\":\"b\","
+                + "\"email\":\"a@b.com\"},\"paymentAccount\":[\"PBA1234567\"],\"contactInformation\":[]}\n"
+                + "\n"
+                + "{\"name\":\n";
+
+        List<BulkOrganisationRecord> records = read(body, "application/x-ndjson");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).getRecordNumber()).isEqualTo(1);
+        assertThat(records.get(0).getError()).isNull();
+        assertThat(records.get(0).getOrganisationCreationRequest().getName()).isEqualTo("Org One");
+        assertThat(records.get(0).getOrganisationCreationRequest().getSuperUser().getEmail()).isEqualTo("a@b.com");
+        assertThat(records.get(1).getRecordNumber()).isEqualTo(2);
+        assertThat(records.get(1).getOrganisationCreationRequest()).isNull();
+        assertThat(records.get(1).getError()).startsWith("Invalid JSON");
+    }
+
+    @Test
+    public void test_read_csvRowsBecomeOrganisationCreationRequests() throws IOException {
+        String body = "name,sraId,sraRegulated,companyNumber,companyUrl,superUserFirstName,superUserLastName,"
+                + "superUserEmail,paymentAccounts,addressLine1,addressLine2,addressLine3,townCity,county,country,"
+                + "postCode,dxNumber,dxExchange\n"
+                + "Org One,SRA1,true,12345678,,Jo,Bloggs,jo@org.com,PBA1234567;PBA7654321,1 High St,,,London,,UK,"
+                + "SW1 1AA,DX 123,Exchange\n"
+                + "Org Two,,,,,,,,,,,,,,,,,\n";
+
+        List<BulkOrganisationRecord> records = read(body, "text/csv");
+
+        assertThat(records).hasSize(2);
+        OrganisationCreationRequest first = records.get(0).getOrganisationCreationRequest();
+        assertThat(first.getName()).isEqualTo("Org One");
+        assertThat(first.getCompanyUrl()).isNull();
+        assertThat(first.getSuperUser().getLastName()).isEqualTo("Bloggs");
+        assertThat(first.getPaymentAccount()).containsExactly("PBA1234567", "PBA7654321");
+        assertThat(first.getContactInformation()).hasSize(1);
+        assertThat(first.getContactInformation().get(0).getPostCode()).isEqualTo("SW1 1AA");
+        assertThat(first.getContactInformation().get(0).getDxAddress().get(0).getDxNumber()).isEqualTo("DX 123");
+
+        OrganisationCreationRequest second = records.get(1).getOrganisationCreationRequest();
+        assertThat(second.getSuperUser()).isNull();
+        assertThat(second.getPaymentAccount()).isNull();
+        assertThat(second.getContactInformation()).isNull();
+    }
+
+    @Test
+    public void test_read_readsEachRecordAsItIsIterated() throws IOException {
+        InputStream unreadable = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("the rest of the body has not arrived");
+            }
+        };
+        Iterator<BulkOrganisationRecord> records = sut.read(new SequenceInputStream(
+                new ByteArrayInputStream("{\"name\":\"Org One\"}\n".getBytes(UTF_8)), unreadable),
+                MediaType.parseMediaType("application/x-ndjson"));
+
+        assertThat(records.next().getOrganisationCreationRequest().getName()).isEqualTo("Org One");
+        assertThatThrownBy(records::hasNext).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    public void test_read_endsWithTheLastRecord() throws IOException {
+        Iterator<BulkOrganisationRecord> records = sut.read(new ByteArrayInputStream(
+                "{\"name\":\"Org One\"}\n\n".getBytes(UTF_8)), MediaType.parseMediaType("application/x-ndjson"));
+
+        assertThat(records.next().getRecordNumber()).isEqualTo(1);
+        assertThat(records.hasNext()).isFalse();
+        assertThatThrownBy(records::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    private List<BulkOrganisationRecord> read(String body, String contentType) throws IOException {
+        List<BulkOrganisationRecord> records = new ArrayList<>();
+        sut.read(new ByteArrayInputStream(body.getBytes(UTF_8)), MediaType.parseMediaType(contentType))
+                .forEachRemaining(records::add);
+        return records;
+    }
+}
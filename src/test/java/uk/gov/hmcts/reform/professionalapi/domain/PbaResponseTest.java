@@ -2,6 +2,8 @@ package uk.gov.hmcts.reform.professionalapi.domain;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+
 import org.junit.Test;
 
 public class PbaResponseTest {
@@ -30,4 +32,12 @@ public class PbaResponseTest {
         assertThat(pbaResponse.getStatusCode()).isEqualTo(statusCode);
         assertThat(pbaResponse.getStatusMessage()).isEqualTo(success);
     }
+
+    @Test
+    public void test_pbaResponseWithAddedAndRemovedPbas() {
+        PbaResponse pbaResponse = new PbaResponse("200", "Success", List.of("PBA0000001"), List.of("PBA0000002"));
+
+        assertThat(pbaResponse.getPbasAdded()).containsExactly("PBA0000001");
+        assertThat(pbaResponse.getPbasRemoved()).containsExactly("PBA0000002");
+    }
 }
\ No newline at end of file
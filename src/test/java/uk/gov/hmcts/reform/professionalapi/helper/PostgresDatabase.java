@@ -0,0 +1,56 @@
+package uk.gov.hmcts.reform.professionalapi.helper;
+
+import static org.junit.Assume.assumeTrue;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * A Postgres database, of the version in database/Dockerfile, migrated with both the db/migration and the
+ * Postgres only db/postgres scripts, for the tests of SQL that H2 cannot run. It is started once per test JVM
+ * and the tests using it are skipped where Docker is not available.
+ */
+public final class PostgresDatabase {
+
+    private static final String[] MIGRATIONS = {"classpath:db/migration", "classpath:db/postgres"};
+
+    private static PostgreSQLContainer<?> container;
+
+    private PostgresDatabase() {
+    }
+
+    public static synchronized PostgreSQLContainer<?> start() {
+        assumeTrue("Docker is not available", DockerClientFactory.instance().isDockerAvailable());
+        if (container == null) {
+            PostgreSQLContainer<?> started = new PostgreSQLContainer<>("postgres:9.6")
+                    .withDatabaseName("dbrefdata").withUsername("dbrefdata").withPassword("dbrefdata");
+            started.start();
+            Flyway.configure().dataSource(started.getJdbcUrl(), started.getUsername(), started.getPassword())
+                    .locations(MIGRATIONS).load().migrate();
+            container = started;
+        }
+        return container;
+    }
+
+    /**
+     * Points a Spring test context at the database instead of H2.
+     */
+    public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            PostgreSQLContainer<?> database = start();
+            TestPropertyValues.of(
+                    "spring.datasource.driverClassName=" + database.getDriverClassName(),
+                    "spring.datasource.url=" + database.getJdbcUrl(),
+                    "spring.datasource.username=" + database.getUsername(),
+                    "spring.datasource.password=" + database.getPassword(),
+                    "spring.flyway.locations=" + String.join(",", MIGRATIONS)
+            ).applyTo(context.getEnvironment());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.hmcts.reform.professionalapi.oidc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+public class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.now();
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final CachingJwtDecoder sut = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(5),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    public void test_decode_decodesATokenOnce() {
+        Jwt jwt = jwt(NOW.plusSeconds(60));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        assertThat(sut.decode("token")).isSameAs(jwt);
+        assertThat(sut.decode("token")).isSameAs(jwt);
+
+        verify(delegate, times(1)).decode("token");
+    }
+
+    @Test
+    public void test_decode_doesNotCacheAnExpiredToken() {
+        when(delegate.decode("token")).thenReturn(jwt(NOW.minusSeconds(1)));
+
+        sut.decode("token");
+        sut.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    public void test_decode_doesNotCacheATokenThatFailsToDecode() {
+        Jwt jwt = jwt(NOW.plusSeconds(60));
+        when(delegate.decode("token")).thenThrow(new BadJwtException("Signed JWT rejected")).thenReturn(jwt);
+
+        assertThatThrownBy(() -> sut.decode("token")).isInstanceOf(BadJwtException.class);
+        assertThat(sut.decode("token")).isSameAs(jwt);
+    }
+
+    private static Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue("token").header("alg", "RS256").subject("user")
+                .issuedAt(NOW.minusSeconds(60)).expiresAt(expiresAt).build();
+    }
+}
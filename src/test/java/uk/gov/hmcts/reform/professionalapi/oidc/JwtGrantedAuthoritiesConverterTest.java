@@ -9,6 +9,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -19,6 +23,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+import uk.gov.hmcts.reform.professionalapi.configuration.CacheConfiguration;
 import uk.gov.hmcts.reform.professionalapi.controller.constants.TestConstants;
 import uk.gov.hmcts.reform.professionalapi.repository.IdamRepository;
 
@@ -34,7 +39,8 @@ public class JwtGrantedAuthoritiesConverterTest {
         idamRepositoryMock = mock(IdamRepository.class);
         userInfoMock = mock(UserInfo.class);
         jwtMock = mock(Jwt.class);
-        converter = new JwtGrantedAuthoritiesConverter(idamRepositoryMock);
+        converter = new JwtGrantedAuthoritiesConverter(idamRepositoryMock, new UserInfoHolder(),
+                new CacheConfiguration().cacheManager("maximumSize=0", "maximumSize=0", "maximumSize=0", 100, 300));
     }
 
     @Test
@@ -139,4 +145,47 @@ public class JwtGrantedAuthoritiesConverterTest {
         verify(userInfoMock, times(1)).getRoles();
         verify(idamRepositoryMock, times(1)).getUserInfo(anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_shouldCallIdamOncePerToken() {
+        List<String> roles = new ArrayList<>();
+        roles.add(TestConstants.PUI_CASE_MANAGER);
+        Jwt otherJwtMock = mock(Jwt.class);
+        UserInfo otherUserInfoMock = mock(UserInfo.class);
+
+        when(jwtMock.containsClaim(anyString())).thenReturn(true);
+        when(jwtMock.getClaim(anyString())).thenReturn("access_token");
+        when(jwtMock.getTokenValue()).thenReturn("first_token");
+        when(otherJwtMock.containsClaim(anyString())).thenReturn(true);
+        when(otherJwtMock.getClaim(anyString())).thenReturn("access_token");
+        when(otherJwtMock.getTokenValue()).thenReturn("second_token");
+        when(userInfoMock.getRoles()).thenReturn(roles);
+        when(otherUserInfoMock.getRoles()).thenReturn(roles);
+        when(idamRepositoryMock.getUserInfo("first_token")).thenReturn(userInfoMock);
+        when(idamRepositoryMock.getUserInfo("second_token")).thenReturn(otherUserInfoMock);
+
+        converter.convert(jwtMock);
+        converter.convert(jwtMock);
+        assertThat(converter.getUserInfo()).isSameAs(userInfoMock);
+        converter.convert(otherJwtMock);
+        assertThat(converter.getUserInfo()).isSameAs(otherUserInfoMock);
+
+        verify(idamRepositoryMock, times(1)).getUserInfo("first_token");
+        verify(idamRepositoryMock, times(1)).getUserInfo("second_token");
+    }
+
+    @Test
+    public void test_userInfoCacheExpiresWithTheToken() {
+        Instant now = Instant.parse("2020-10-01T10:00:00Z");
+        UserInfoCacheExpiry expiry = new UserInfoCacheExpiry(Duration.ofMinutes(5), Clock.fixed(now, ZoneOffset.UTC));
+
+        assertThat(expiry.expireAfterCreate("key", new UserInfoCacheEntry(userInfoMock, now.plusSeconds(60)), 0))
+                .isEqualTo(Duration.ofSeconds(60).toNanos());
+        assertThat(expiry.expireAfterCreate("key", new UserInfoCacheEntry(userInfoMock, now.plusSeconds(3600)), 0))
+                .isEqualTo(Duration.ofMinutes(5).toNanos());
+        assertThat(expiry.expireAfterCreate("key", new UserInfoCacheEntry(userInfoMock, null), 0))
+                .isEqualTo(Duration.ofMinutes(5).toNanos());
+        assertThat(expiry.expireAfterCreate("key", new UserInfoCacheEntry(userInfoMock, now.minusSeconds(1)), 0))
+                .isZero();
+    }
+}
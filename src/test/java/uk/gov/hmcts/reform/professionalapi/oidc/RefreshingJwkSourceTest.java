@@ -0,0 +1,108 @@
+package uk.gov.hmcts.reform.professionalapi.oidc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RefreshingJwkSourceTest {
+
+    private static final String ISSUER = "http://idam.local/o";
+    private static final String DISCOVERY = "{\"issuer\": \"" + ISSUER + "\", \"jwks_uri\": \"" + ISSUER + "/jwks\"}";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ResourceRetriever resourceRetriever = mock(ResourceRetriever.class);
+    private RSAKey snapshotKey;
+    private RSAKey rotatedKey;
+    private Path snapshot;
+
+    @Before
+    public void setUp() throws Exception {
+        snapshotKey = new RSAKeyGenerator(2048).keyID("snapshot").generate();
+        rotatedKey = new RSAKeyGenerator(2048).keyID("rotated").generate();
+        snapshot = temporaryFolder.getRoot().toPath().resolve("jwks.json");
+        Files.write(snapshot, new JWKSet(snapshotKey).toString().getBytes(UTF_8));
+    }
+
+    @Test
+    public void test_get_startsFromTheSnapshotWithoutCallingIdam() {
+        RefreshingJwkSource sut = jwkSource();
+
+        assertThat(sut.get(selector("snapshot"), null)).hasSize(1);
+        verifyNoInteractions(resourceRetriever);
+    }
+
+    @Test
+    public void test_get_refreshesForAnUnknownKeyAndWritesTheSnapshot() throws Exception {
+        stubIdam();
+        RefreshingJwkSource sut = jwkSource();
+
+        assertThat(sut.get(selector("rotated"), null)).hasSize(1);
+
+        JWKSet written = JWKSet.parse(new String(Files.readAllBytes(snapshot), UTF_8));
+        assertThat(written.getKeyByKeyId("rotated")).isNotNull();
+        assertThat(written.getKeyByKeyId("rotated").isPrivate()).isFalse();
+    }
+
+    @Test
+    public void test_get_refreshesForUnknownKeysAtMostOncePerMinimumInterval() throws Exception {
+        stubIdam();
+        RefreshingJwkSource sut = jwkSource();
+
+        assertThat(sut.get(selector("unknown"), null)).isEmpty();
+        assertThat(sut.get(selector("unknown"), null)).isEmpty();
+
+        verify(resourceRetriever, times(2)).retrieveResource(any(URL.class));
+    }
+
+    @Test
+    public void test_refresh_keepsTheKeysHeldWhenIdamIsUnavailable() throws Exception {
+        when(resourceRetriever.retrieveResource(any(URL.class))).thenThrow(new IOException("Connection refused"));
+        RefreshingJwkSource sut = jwkSource();
+
+        assertThat(sut.get(selector("rotated"), null)).isEmpty();
+        assertThat(sut.get(selector("snapshot"), null)).hasSize(1);
+    }
+
+    private RefreshingJwkSource jwkSource() {
+        return new RefreshingJwkSource(ISSUER + "/", "", snapshot, Duration.ofMinutes(1), resourceRetriever,
+                Clock.systemUTC());
+    }
+
+    private void stubIdam() throws IOException {
+        when(resourceRetriever.retrieveResource(new URL(ISSUER + "/.well-known/openid-configuration")))
+                .thenReturn(new Resource(DISCOVERY, "application/json"));
+        when(resourceRetriever.retrieveResource(new URL(ISSUER + "/jwks")))
+                .thenReturn(new Resource(new JWKSet(rotatedKey).toString(), "application/json"));
+    }
+
+    private static JWKSelector selector(String keyId) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+    }
+}
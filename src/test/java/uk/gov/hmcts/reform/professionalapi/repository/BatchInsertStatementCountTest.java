@@ -0,0 +1,58 @@
+package uk.gov.hmcts.reform.professionalapi.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit4.SpringRunner;
+import uk.gov.hmcts.reform.professionalapi.domain.ContactInformation;
+import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
+
+/**
+ * Checks that rows saved together are written in JDBC batches of hibernate.jdbc.batch_size, so a flush
+ * prepares one statement per batch rather than one per row.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+public class BatchInsertStatementCountTest {
+
+    private static final int CONTACTS = 120;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ContactInformationRepository contactInformationRepository;
+
+    @Test
+    public void test_saveAll_insertsContactsInBatches() {
+        Organisation organisation = entityManager.persistAndFlush(new Organisation("org-name",
+                OrganisationStatus.ACTIVE, "sra-id", "cn", Boolean.FALSE, "company-url"));
+        List<ContactInformation> contacts = new ArrayList<>();
+        for (int i = 0; i < CONTACTS; i++) {
+            ContactInformation contactInformation = new ContactInformation();
+            contactInformation.setAddressLine1("address-" + i);
+            contactInformation.setPostCode("post-code");
+            contactInformation.setOrganisation(organisation);
+            contacts.add(contactInformation);
+        }
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        contactInformationRepository.saveAll(contacts);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(CONTACTS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo((CONTACTS + 49) / 50);
+    }
+}
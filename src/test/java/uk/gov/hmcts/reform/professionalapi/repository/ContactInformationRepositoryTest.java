@@ -10,6 +10,8 @@ import org.junit.runner.RunWith;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.junit4.SpringRunner;
 import uk.gov.hmcts.reform.professionalapi.domain.ContactInformation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationAddress;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
 import uk.gov.hmcts.reform.professionalapi.helper.BaseRepository;
 
 @RunWith(SpringRunner.class)
@@ -32,5 +34,18 @@ public class ContactInformationRepositoryTest extends BaseRepository {
         assertThat(contactInfo).contains(contactInformation);
         assertThat(contactInfo.get().getAddressLine1()).isEqualTo(contactInformation.getAddressLine1());
     }
+
+    @Test
+    public void test_findAddressesByOrganisationStatus() {
+        List<OrganisationAddress> addresses = contactInformationRepository
+                .findAddressesByOrganisationStatus(OrganisationStatus.ACTIVE);
+
+        assertThat(addresses).hasSize(1);
+        assertThat(addresses.get(0).getOrganisationId()).isEqualTo(organisation.getId());
+        assertThat(addresses.get(0).getAddressLine1()).isEqualTo(contactInformation.getAddressLine1());
+        assertThat(addresses.get(0).getPostCode()).isEqualTo(contactInformation.getPostCode());
+        assertThat(contactInformationRepository.findAddressesByOrganisationStatus(OrganisationStatus.PENDING))
+                .isEmpty();
+    }
 }
 
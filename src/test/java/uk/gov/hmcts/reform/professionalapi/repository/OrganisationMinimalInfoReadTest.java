@@ -0,0 +1,91 @@
+package uk.gov.hmcts.reform.professionalapi.repository;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit4.SpringRunner;
+import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationMinimalInfoResponse;
+import uk.gov.hmcts.reform.professionalapi.domain.ContactInformation;
+import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
+import uk.gov.hmcts.reform.professionalapi.service.impl.OrganisationServiceImpl;
+
+/**
+ * Checks that the projection read path of OrganisationServiceImpl.getOrganisationMinimalInfoByStatus answers
+ * exactly as the entity path it replaced, with and without addresses.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class OrganisationMinimalInfoReadTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private OrganisationRepository organisationRepository;
+    @Autowired
+    private ContactInformationRepository contactInformationRepository;
+
+    private final OrganisationServiceImpl sut = new OrganisationServiceImpl();
+
+    @Before
+    public void setUp() {
+        sut.setOrganisationRepository(organisationRepository);
+        sut.setContactInformationRepository(contactInformationRepository);
+
+        persistOrganisation("org-with-address", OrganisationStatus.ACTIVE, 1);
+        persistOrganisation("org-without-address", OrganisationStatus.ACTIVE, 0);
+        persistOrganisation("org-pending", OrganisationStatus.PENDING, 1);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void test_getOrganisationMinimalInfoByStatus_matchesTheEntityPathWithAddresses() {
+        List<OrganisationMinimalInfoResponse> expected = entityPath(true);
+        entityManager.clear();
+
+        List<OrganisationMinimalInfoResponse> responses = sut.getOrganisationMinimalInfoByStatus(
+                OrganisationStatus.ACTIVE, true);
+
+        assertThat(responses).hasSize(2).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    public void test_getOrganisationMinimalInfoByStatus_matchesTheEntityPathWithoutAddresses() {
+        List<OrganisationMinimalInfoResponse> expected = entityPath(false);
+        entityManager.clear();
+
+        List<OrganisationMinimalInfoResponse> responses = sut.getOrganisationMinimalInfoByStatus(
+                OrganisationStatus.ACTIVE, false);
+
+        assertThat(responses).hasSize(2).allMatch(response -> response.getContactInformation() == null)
+                .usingRecursiveFieldByFieldElementComparator().containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private List<OrganisationMinimalInfoResponse> entityPath(boolean address) {
+        return organisationRepository.findByStatus(OrganisationStatus.ACTIVE).stream()
+                .map(organisation -> new OrganisationMinimalInfoResponse(organisation, address))
+                .collect(toList());
+    }
+
+    private void persistOrganisation(String name, OrganisationStatus status, int addresses) {
+        Organisation organisation = entityManager.persist(new Organisation(name, status, "sra-id", "cn",
+                Boolean.FALSE, "company-url"));
+        for (int i = 0; i < addresses; i++) {
+            ContactInformation contactInformation = new ContactInformation();
+            contactInformation.setAddressLine1(name + "-address-" + i);
+            contactInformation.setPostCode("post-code");
+            contactInformation.setOrganisation(organisation);
+            entityManager.persist(contactInformation);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.runner.RunWith;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.junit4.SpringRunner;
 import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationMinimalInfo;
 import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
 import uk.gov.hmcts.reform.professionalapi.helper.BaseRepository;
 
@@ -35,6 +36,22 @@ public class OrganisationRepositoryTest extends BaseRepository {
         assertThat(org.getOrganisationIdentifier()).isEqualTo(organisation.getOrganisationIdentifier());
     }
 
+    @Test
+    public void test_findByOrganisationIdentifier_returnsNullWhenNotFound() {
+        assertThat(organisationRepository.findByOrganisationIdentifier("UNKNOWN")).isNull();
+        assertThat(organisationRepository.findByOrganisationIdentifier(null)).isNull();
+    }
+
+    @Test
+    public void test_organisationIdentifierCanBeReplacedAfterSave() {
+        String replacedIdentifier = organisation.getOrganisationIdentifier();
+        organisation.setOrganisationIdentifier("REPLACD");
+        organisationRepository.saveAndFlush(organisation);
+
+        assertThat(organisationRepository.findByOrganisationIdentifier("REPLACD")).isEqualTo(organisation);
+        assertThat(organisationRepository.findByOrganisationIdentifier(replacedIdentifier)).isNull();
+    }
+
     @Test
     public void test_findByStatus() {
         List<Organisation> activeOrganisations = organisationRepository.findByStatus(OrganisationStatus.ACTIVE);
@@ -45,6 +62,19 @@ public class OrganisationRepositoryTest extends BaseRepository {
                 .getOrganisationIdentifier());
     }
 
+    @Test
+    public void test_findMinimalInfoByStatus() {
+        List<OrganisationMinimalInfo> activeOrganisations = organisationRepository
+                .findMinimalInfoByStatus(OrganisationStatus.ACTIVE);
+
+        assertThat(activeOrganisations).hasSize(1);
+        assertThat(activeOrganisations.get(0).getId()).isEqualTo(organisation.getId());
+        assertThat(activeOrganisations.get(0).getName()).isEqualTo(organisation.getName());
+        assertThat(activeOrganisations.get(0).getOrganisationIdentifier())
+                .isEqualTo(organisation.getOrganisationIdentifier());
+        assertThat(organisationRepository.findMinimalInfoByStatus(OrganisationStatus.PENDING)).isEmpty();
+    }
+
     @Test
     public void test_findByName() {
         Organisation org = organisationRepository.findByName(organisation.getName());
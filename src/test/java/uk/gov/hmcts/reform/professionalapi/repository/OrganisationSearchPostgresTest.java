@@ -0,0 +1,153 @@
+package uk.gov.hmcts.reform.professionalapi.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchCriteria;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchResult;
+import uk.gov.hmcts.reform.professionalapi.helper.PostgresDatabase;
+
+/**
+ * Runs OrganisationRepositoryCustomImpl.search against Postgres with the V6_19 indexes, since H2 has neither
+ * pg_trgm nor tsvector. Each test's rows are rolled back.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(initializers = PostgresDatabase.Initializer.class)
+public class OrganisationSearchPostgresTest {
+
+    @Autowired
+    private OrganisationRepository organisationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeClass
+    public static void startPostgres() {
+        PostgresDatabase.start();
+    }
+
+    @Test
+    public void test_search_findsNamesByPrefixTypoAndWordClosestFirst() {
+        organisation("Smith Jones Solicitors", "SJ-1", "11111111");
+        organisation("Smith Solicitors", "S-1", "22222222");
+        organisation("Brown Legal", "B-1", "33333333");
+
+        assertThat(names(byName("smith solicitors"))).containsExactly("Smith Solicitors", "Smith Jones Solicitors");
+        assertThat(names(byName("smi"))).containsExactlyInAnyOrder("Smith Solicitors", "Smith Jones Solicitors");
+        assertThat(names(byName("smtih solicitors"))).containsExactly("Smith Solicitors", "Smith Jones Solicitors");
+        assertThat(names(byName("jones"))).containsExactly("Smith Jones Solicitors");
+    }
+
+    @Test
+    public void test_search_treatsLikeWildcardsInTheNameAsText() {
+        organisation("%%% Partners", "P-1", "11111111");
+        organisation("___ Holdings", "H-1", "22222222");
+        organisation("Brown Legal", "B-1", "33333333");
+
+        assertThat(names(byName("%%%"))).containsExactly("%%% Partners");
+        assertThat(names(byName("___"))).containsExactly("___ Holdings");
+    }
+
+    @Test
+    public void test_search_matchesTheOtherCriteriaExactlyIgnoringCaseAndPostcodeSpaces() {
+        UUID smith = organisation("Smith Solicitors", "SRA-1", "AB123456");
+        UUID brown = organisation("Brown Legal", "SRA-2", "CD123456");
+        address(smith, "SW1A 1AA", "DX1234");
+        address(brown, "EC1A 1BB", "DX5678");
+
+        assertThat(names(search(new OrganisationSearchCriteria(null, "sra-1", null, null, null))))
+                .containsExactly("Smith Solicitors");
+        assertThat(names(search(new OrganisationSearchCriteria(null, null, "cd123456", null, null))))
+                .containsExactly("Brown Legal");
+        assertThat(names(search(new OrganisationSearchCriteria(null, null, null, "sw1a1aa", null))))
+                .containsExactly("Smith Solicitors");
+        assertThat(names(search(new OrganisationSearchCriteria(null, null, null, null, "dx5678"))))
+                .containsExactly("Brown Legal");
+        assertThat(names(search(new OrganisationSearchCriteria("smith", null, null, null, "dx5678"))))
+                .isEmpty();
+    }
+
+    @Test
+    public void test_search_pagesAndCountsAllMatches() {
+        organisation("Smith Solicitors", "S-1", "11111111");
+        organisation("Smith Solicitors North", "S-2", "22222222");
+        organisation("Smith Solicitors South", "S-3", "33333333");
+
+        Page<OrganisationSearchResult> secondPage = organisationRepository.search(
+                new OrganisationSearchCriteria("smith solicitors", null, null, null, null), PageRequest.of(1, 2));
+
+        assertThat(secondPage.getTotalElements()).isEqualTo(3);
+        assertThat(secondPage.getContent()).hasSize(1);
+    }
+
+    @Test
+    public void test_search_refusesASortedPageable() {
+        OrganisationSearchCriteria criteria = new OrganisationSearchCriteria("smith", null, null, null, null);
+
+        assertThatThrownBy(() -> organisationRepository.search(criteria, PageRequest.of(0, 10, Sort.by("name"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void test_searchPredicates_canUseTheSearchIndexes() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        assertThat(plan("lower(o.name) LIKE 'smi%' OR lower(o.name) % 'smith'"
+                + " OR to_tsvector('simple', o.name) @@ plainto_tsquery('simple', 'smith')"))
+                .contains("organisation_name_trgm_idx", "organisation_name_tsv_idx");
+        assertThat(plan("lower(o.sra_id) = 'sra-1'")).contains("organisation_sra_id_lower_idx");
+        assertThat(plan("lower(o.company_number) = 'ab123456'"))
+                .contains("organisation_company_number_lower_idx");
+    }
+
+    private Page<OrganisationSearchResult> byName(String name) {
+        return search(new OrganisationSearchCriteria(name, null, null, null, null));
+    }
+
+    private Page<OrganisationSearchResult> search(OrganisationSearchCriteria criteria) {
+        return organisationRepository.search(criteria, PageRequest.of(0, 10));
+    }
+
+    private static List<String> names(Page<OrganisationSearchResult> results) {
+        return results.map(OrganisationSearchResult::getName).getContent();
+    }
+
+    private String plan(String predicate) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT o.id FROM organisation o WHERE "
+                + predicate, String.class));
+    }
+
+    private UUID organisation(String name, String sraId, String companyNumber) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO organisation (id, name, status, sra_id, company_number, "
+                + "organisation_identifier, last_updated, created) VALUES (?, ?, 'ACTIVE', ?, ?, ?, now(), now())",
+                id, name, sraId, companyNumber, id.toString().substring(0, 7).toUpperCase());
+        return id;
+    }
+
+    private void address(UUID organisationId, String postCode, String dxNumber) {
+        UUID contactInformationId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO contact_information (id, address_line1, postcode, organisation_id, "
+                + "last_updated, created) VALUES (?, 'addressLine1', ?, ?, now(), now())", contactInformationId,
+                postCode, organisationId);
+        jdbcTemplate.update("INSERT INTO dx_address (id, dx_exchange, dx_number, contact_information_id, "
+                + "last_updated, created) VALUES (?, 'dxExchange', ?, ?, now(), now())", UUID.randomUUID(),
+                dxNumber, contactInformationId);
+    }
+}
@@ -0,0 +1,126 @@
+package uk.gov.hmcts.reform.professionalapi.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import uk.gov.hmcts.reform.professionalapi.helper.PostgresDatabase;
+
+/**
+ * Writes professional_user and user_attribute rows on Postgres and checks that the V6_18 triggers keep
+ * super_user in step. Each test's rows are rolled back.
+ */
+public class SuperUserTriggerPostgresTest {
+
+    private Connection connection;
+    private JdbcTemplate jdbcTemplate;
+    private UUID organisationId;
+
+    @Before
+    public void setUp() throws SQLException {
+        PostgreSQLContainer<?> database = PostgresDatabase.start();
+        connection = DriverManager.getConnection(database.getJdbcUrl(), database.getUsername(),
+                database.getPassword());
+        connection.setAutoCommit(false);
+        jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+        organisationId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO organisation (id, name, status, organisation_identifier, last_updated, "
+                + "created) VALUES (?, 'some-name', 'ACTIVE', 'SU12345', now(), now())", organisationId);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.rollback();
+            connection.close();
+        }
+    }
+
+    @Test
+    public void test_onlyAUserWithTheAdminAttributeIsASuperUser() {
+        UUID admin = professionalUser("admin@test.com");
+        UUID user = professionalUser("user@test.com");
+
+        attribute(admin, 4, "ADMIN_ROLE");
+        attribute(user, 0, "SIDAM_ROLE");
+
+        assertThat(superUserIds()).containsExactly(admin);
+        assertThat(superUser(admin)).containsEntry("email_address", "admin@test.com")
+                .containsEntry("first_name", "fName").containsEntry("organisation_id", organisationId);
+    }
+
+    @Test
+    public void test_updatingAProfessionalUserUpdatesTheSuperUser() {
+        UUID admin = professionalUser("admin@test.com");
+        attribute(admin, 4, "ADMIN_ROLE");
+
+        jdbcTemplate.update("UPDATE professional_user SET first_name = 'newName', email_address = 'new@test.com', "
+                + "user_identifier = 'new-identifier', deleted = now() WHERE id = ?", admin);
+
+        assertThat(superUser(admin)).containsEntry("first_name", "newName")
+                .containsEntry("email_address", "new@test.com").containsEntry("user_identifier", "new-identifier");
+        assertThat(superUser(admin).get("deleted")).isNotNull();
+    }
+
+    @Test
+    public void test_changingOrRemovingTheAdminAttributeRemovesTheSuperUser() {
+        UUID changed = professionalUser("changed@test.com");
+        UUID removed = professionalUser("removed@test.com");
+        attribute(changed, 4, "ADMIN_ROLE");
+        attribute(removed, 4, "ADMIN_ROLE");
+
+        jdbcTemplate.update("UPDATE user_attribute SET prd_enum_code = 0, prd_enum_type = 'SIDAM_ROLE' "
+                + "WHERE professional_user_id = ?", changed);
+        jdbcTemplate.update("DELETE FROM user_attribute WHERE professional_user_id = ?", removed);
+
+        assertThat(superUserIds()).isEmpty();
+    }
+
+    @Test
+    public void test_deletingAProfessionalUserOrItsOrganisationRemovesTheSuperUser() {
+        UUID deleted = professionalUser("deleted@test.com");
+        UUID kept = professionalUser("kept@test.com");
+        attribute(deleted, 4, "ADMIN_ROLE");
+        attribute(kept, 4, "ADMIN_ROLE");
+
+        jdbcTemplate.update("DELETE FROM professional_user WHERE id = ?", deleted);
+        assertThat(superUserIds()).containsExactly(kept);
+
+        jdbcTemplate.update("DELETE FROM organisation WHERE id = ?", organisationId);
+        assertThat(superUserIds()).isEmpty();
+    }
+
+    private UUID professionalUser(String email) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO professional_user (id, first_name, last_name, email_address, "
+                + "organisation_id, user_identifier, last_updated, created) "
+                + "VALUES (?, 'fName', 'lName', ?, ?, ?, now(), now())", id, email, organisationId, id.toString());
+        return id;
+    }
+
+    private void attribute(UUID professionalUserId, int prdEnumCode, String prdEnumType) {
+        jdbcTemplate.update("INSERT INTO user_attribute (id, professional_user_id, prd_enum_code, prd_enum_type) "
+                + "VALUES (?, ?, ?, ?)", UUID.randomUUID(), professionalUserId, prdEnumCode, prdEnumType);
+    }
+
+    private List<UUID> superUserIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM super_user WHERE organisation_id = ?", UUID.class,
+                organisationId);
+    }
+
+    private Map<String, Object> superUser(UUID id) {
+        return jdbcTemplate.queryForMap("SELECT * FROM super_user WHERE id = ?", id);
+    }
+}
@@ -0,0 +1,234 @@
+package uk.gov.hmcts.reform.professionalapi.service.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+import uk.gov.hmcts.reform.professionalapi.controller.request.BulkOrganisationRecord;
+import uk.gov.hmcts.reform.professionalapi.controller.request.BulkOrganisationRequestReader;
+import uk.gov.hmcts.reform.professionalapi.controller.request.ContactInformationCreationRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.InvalidRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.OrganisationCreationRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.UserCreationRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.validator.OrganisationCreationRequestValidator;
+import uk.gov.hmcts.reform.professionalapi.controller.response.BulkOrganisationRecordResponse;
+import uk.gov.hmcts.reform.professionalapi.controller.response.BulkOrganisationResponse;
+import uk.gov.hmcts.reform.professionalapi.domain.BulkOrganisation;
+import uk.gov.hmcts.reform.professionalapi.domain.PrdEnum;
+import uk.gov.hmcts.reform.professionalapi.domain.PrdEnumId;
+import uk.gov.hmcts.reform.professionalapi.repository.OrganisationBulkLoadRepository;
+import uk.gov.hmcts.reform.professionalapi.service.PrdEnumService;
+
+public class BulkOrganisationServiceImplTest {
+
+    private final OrganisationBulkLoadRepository organisationBulkLoadRepository =
+            mock(OrganisationBulkLoadRepository.class);
+    private final PrdEnumService prdEnumService = mock(PrdEnumService.class);
+    private final BulkOrganisationServiceImpl sut = new BulkOrganisationServiceImpl();
+
+    @Before
+    public void setUp() {
+        sut.organisationBulkLoadRepository = organisationBulkLoadRepository;
+        sut.organisationCreationRequestValidator = new OrganisationCreationRequestValidator(Collections.emptyList());
+        sut.prdEnumService = prdEnumService;
+        sut.validator = Validation.buildDefaultValidatorFactory().getValidator();
+        sut.bulkOnboardingMaximumRecords = 3;
+        when(prdEnumService.findAllPrdEnums()).thenReturn(List.of(
+                new PrdEnum(new PrdEnumId(0, "SIDAM_ROLE"), "pui-user-manager", "SIDAM_ROLE"),
+                new PrdEnum(new PrdEnumId(4, "ADMIN_ROLE"), "organisation-admin", "ADMIN_ROLE"),
+                new PrdEnum(new PrdEnumId(7, "JURISD_ID"), "PROBATE", "JURISD_ID")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_onboardOrganisations_loadsValidRecordsAndReportsEachOne() {
+        when(organisationBulkLoadRepository.load(anyList(), anyList(), any(LocalDateTime.class)))
+                .thenReturn(Map.of(3, "SRA ID SRA3 already exists"));
+
+        BulkOrganisationResponse response = sut.onboardOrganisations(records(
+                new BulkOrganisationRecord(1, request("SRA1", "one@org.com", "PBA0000001"), null),
+                new BulkOrganisationRecord(2, null, "Invalid JSON: unexpected end-of-input"),
+                new BulkOrganisationRecord(3, request("SRA3", "Three@Org.com", "pba0000003"), null)));
+
+        assertThat(response.getTotalRecords()).isEqualTo(3);
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(2);
+        BulkOrganisationRecordResponse created = response.getRecords().get(0);
+        assertThat(created.getStatus()).isEqualTo(BulkOrganisationRecordResponse.CREATED);
+        assertThat(created.getOrganisationIdentifier()).hasSize(7);
+        assertThat(response.getRecords().get(1).getErrorDescription()).isEqualTo(
+                "Invalid JSON: unexpected end-of-input");
+        assertThat(response.getRecords().get(2).getErrorDescription()).isEqualTo("SRA ID SRA3 already exists");
+
+        ArgumentCaptor<List<BulkOrganisation>> organisations = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<PrdEnum>> roles = ArgumentCaptor.forClass(List.class);
+        verify(organisationBulkLoadRepository).load(organisations.capture(), roles.capture(),
+                any(LocalDateTime.class));
+        assertThat(organisations.getValue()).hasSize(2);
+        BulkOrganisation third = organisations.getValue().get(1);
+        assertThat(third.getSuperUser().getEmailAddress()).isEqualTo("three@org.com");
+        assertThat(third.getOrganisation().getPaymentAccounts().get(0).getPbaNumber()).isEqualTo("PBA0000003");
+        assertThat(third.getOrganisation().getSraRegulated()).isFalse();
+        assertThat(roles.getValue()).hasSize(2);
+    }
+
+    @Test
+    public void test_onboardOrganisations_failsRecordsRepeatingAnEarlierRecord() {
+        BulkOrganisationResponse response = sut.onboardOrganisations(records(
+                new BulkOrganisationRecord(1, request("SRA1", "one@org.com", "PBA0000001"), null),
+                new BulkOrganisationRecord(2, request("SRA2", "one@org.com", "PBA0000001"), null)));
+
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getRecords().get(1).getErrorDescription()).isEqualTo(
+                "Email address one@org.com is already used by record 1, "
+                        + "PBA number PBA0000001 is already used by record 1");
+    }
+
+    @Test
+    public void test_onboardOrganisations_failsRecordsThatAreInvalid() {
+        BulkOrganisationResponse response = sut.onboardOrganisations(records(
+                new BulkOrganisationRecord(1, request("SRA1", "one@org.com", "XYZ"), null),
+                new BulkOrganisationRecord(2, request("SRA2", "not-an-email", "PBA0000002"), null)));
+
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getRecords().get(0).getErrorDescription()).contains("The following PBAs entered "
+                + "are invalid: XYZ");
+        assertThat(response.getRecords().get(1).getErrorDescription()).isEqualTo(
+                "Email format invalid for email: not-an-email");
+        verifyNoInteractions(organisationBulkLoadRepository);
+    }
+
+    @Test
+    public void test_onboardOrganisations_failsNdjsonRecordsMissingAMandatoryValue() throws IOException {
+        List<BulkOrganisationRecord> records = read("application/x-ndjson",
+                "{\"name\":\"Org One\",\"sraId\":\"SRA1\",\"companyUrl\":\"org.com\","
+                        + "\"superUser\":{\"firstName\":\"Jo\",\"lastName\":\"Bloggs\"},"
+                        + "\"contactInformation\":[{\"addressLine1\":\"1 High St\"}]}\n"
+                        + "{\"name\":\"Org Two\",\"sraId\":\"SRA2\",\"companyUrl\":\"org.com\","
+                        + "\"superUser\":{\"firstName\":\"Jo\",\"lastName\":\"Bloggs\",\"email\":\"two@org.com\"},"
+                        + "\"contactInformation\":[null]}\n"
+                        + "{\"name\":\"Org Three\",\"sraId\":\"SRA3\",\"companyUrl\":\"org.com\","
+                        + "\"superUser\":{\"firstName\":\"Jo\",\"lastName\":\"Bloggs\",\"email\":\"three@org.com\"},"
+                        + "\"contactInformation\":[{\"addressLine1\":\"1 High St\"}]}\n");
+
+        BulkOrganisationResponse response = sut.onboardOrganisations(records.iterator());
+
+        assertThat(response.getRecords()).extracting(BulkOrganisationRecordResponse::getStatus).containsExactly(
+                BulkOrganisationRecordResponse.FAILED, BulkOrganisationRecordResponse.FAILED,
+                BulkOrganisationRecordResponse.CREATED);
+        assertThat(response.getRecords().get(0).getErrorDescription())
+                .isEqualTo("superUser.email must not be blank");
+        assertThat(response.getRecords().get(1).getErrorDescription())
+                .isEqualTo("contactInformation must not contain null");
+    }
+
+    @Test
+    public void test_onboardOrganisations_failsCsvRowsMissingTheSuperUserEmail() throws IOException {
+        List<BulkOrganisationRecord> records = read("text/csv",
+                "name,sraId,sraRegulated,companyNumber,companyUrl,superUserFirstName,superUserLastName,"
+                        + "superUserEmail,paymentAccounts,addressLine1,addressLine2,addressLine3,townCity,county,"
+                        + "country,postCode,dxNumber,dxExchange\n"
+                        + "Org One,SRA1,,,org.com,Jo,Bloggs,,PBA0000001,1 High St,,,London,,UK,SW1 1AA,,\n"
+                        + "Org Two,SRA2,,,org.com,Jo,Bloggs,two@org.com,PBA0000002,1 High St,,,London,,UK,SW1 1AA,,\n");
+
+        BulkOrganisationResponse response = sut.onboardOrganisations(records.iterator());
+
+        assertThat(response.getRecords()).extracting(BulkOrganisationRecordResponse::getStatus).containsExactly(
+                BulkOrganisationRecordResponse.FAILED, BulkOrganisationRecordResponse.CREATED);
+        assertThat(response.getRecords().get(0).getErrorDescription())
+                .isEqualTo("superUser.email must not be blank");
+    }
+
+    @Test
+    public void test_onboardOrganisations_failsARecordThatCannotBeProcessedWithoutFailingTheBatch() {
+        Validator validator = mock(Validator.class);
+        when(validator.validate(any())).thenThrow(new IllegalStateException("validator unavailable"));
+        sut.validator = validator;
+
+        BulkOrganisationResponse response = sut.onboardOrganisations(records(
+                new BulkOrganisationRecord(1, request("SRA1", "one@org.com", "PBA0000001"), null)));
+
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getRecords().get(0).getErrorDescription())
+                .isEqualTo("The record could not be processed");
+        verifyNoInteractions(organisationBulkLoadRepository);
+    }
+
+    @Test
+    public void test_onboardOrganisations_rejectsEmptyAndOversizedRequests() {
+        BulkOrganisationRecord record = new BulkOrganisationRecord(1, request("SRA1", "one@org.com",
+                "PBA0000001"), null);
+
+        assertThatThrownBy(() -> sut.onboardOrganisations(records()))
+                .isInstanceOf(InvalidRequest.class);
+        assertThatThrownBy(() -> sut.onboardOrganisations(records(record, record, record, record)))
+                .isInstanceOf(InvalidRequest.class)
+                .hasMessage("A bulk request must not contain more than 3 organisations");
+    }
+
+    @Test
+    public void test_onboardOrganisations_givesEachRecordADifferentOrganisationIdentifier() {
+        Iterator<String> organisationIdentifiers = List.of("AAAAAAA", "AAAAAAA", "BBBBBBB").iterator();
+        sut.organisationIdentifierGenerator = organisationIdentifiers::next;
+
+        BulkOrganisationResponse response = sut.onboardOrganisations(records(
+                new BulkOrganisationRecord(1, request("SRA1", "one@org.com", "PBA0000001"), null),
+                new BulkOrganisationRecord(2, request("SRA2", "two@org.com", "PBA0000002"), null)));
+
+        assertThat(response.getRecords()).extracting(BulkOrganisationRecordResponse::getOrganisationIdentifier)
+                .containsExactly("AAAAAAA", "BBBBBBB");
+    }
+
+    @Test
+    public void test_onboardOrganisations_stopsReadingAnOversizedRequest() {
+        BulkOrganisationRecord record = new BulkOrganisationRecord(1, request("SRA1", "one@org.com",
+                "PBA0000001"), null);
+        Iterator<BulkOrganisationRecord> records = Stream.generate(() -> record).iterator();
+
+        assertThatThrownBy(() -> sut.onboardOrganisations(records)).isInstanceOf(InvalidRequest.class);
+        verifyNoInteractions(organisationBulkLoadRepository);
+    }
+
+    private static Iterator<BulkOrganisationRecord> records(BulkOrganisationRecord... records) {
+        return List.of(records).iterator();
+    }
+
+    private static List<BulkOrganisationRecord> read(String contentType, String body) throws IOException {
+        List<BulkOrganisationRecord> records = new ArrayList<>();
+        new BulkOrganisationRequestReader(new ObjectMapper()).read(new ByteArrayInputStream(body.getBytes(UTF_8)),
+                MediaType.parseMediaType(contentType)).forEachRemaining(records::add);
+        return records;
+    }
+
+    private OrganisationCreationRequest request(String sraId, String email, String pbaNumber) {
+        return new OrganisationCreationRequest("Org " + sraId, null, sraId, null, null, "org.com",
+                new UserCreationRequest("Jo", "Bloggs", email), Set.of(pbaNumber),
+                List.of(new ContactInformationCreationRequest("1 High St", null, null, "London", null, "UK",
+                        "SW1 1AA", null)));
+    }
+}
@@ -1,12 +1,24 @@
 package uk.gov.hmcts.reform.professionalapi.service.impl;
 
+import com.launchdarkly.sdk.LDUser;
 import com.launchdarkly.sdk.server.LDClient;
+import com.launchdarkly.sdk.server.interfaces.FlagChangeEvent;
+import com.launchdarkly.sdk.server.interfaces.FlagChangeListener;
+import com.launchdarkly.sdk.server.interfaces.FlagTracker;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class FeatureToggleServiceImplTest {
 
@@ -25,4 +37,59 @@ public class FeatureToggleServiceImplTest {
         flaFeatureToggleService.mapServiceToFlag();
         assertTrue(flaFeatureToggleService.getLaunchDarklyMap().size() >= 1);
     }
+
+    @Test
+    public void testIsFlagEnabledServesSnapshotUntilFlagChanges() {
+        FlagTracker flagTracker = mock(FlagTracker.class);
+        when(ldClient.getFlagTracker()).thenReturn(flagTracker);
+        when(ldClient.isInitialized()).thenReturn(true);
+        when(ldClient.boolVariation(eq("test-flag"), any(LDUser.class), eq(false))).thenReturn(true, false);
+        flaFeatureToggleService = new FeatureToggleServiceImpl(ldClient, "rd");
+        flaFeatureToggleService.init();
+        ArgumentCaptor<FlagChangeListener> listener = ArgumentCaptor.forClass(FlagChangeListener.class);
+        verify(flagTracker).addFlagChangeListener(listener.capture());
+
+        assertTrue(flaFeatureToggleService.isFlagEnabled("rd_professional_api", "test-flag"));
+        assertTrue(flaFeatureToggleService.isFlagEnabled("rd_professional_api", "test-flag"));
+        verify(ldClient, times(1)).boolVariation(eq("test-flag"), any(LDUser.class), eq(false));
+
+        listener.getValue().onFlagChange(new FlagChangeEvent("test-flag"));
+        assertFalse(flaFeatureToggleService.isFlagEnabled("rd_professional_api", "test-flag"));
+        verify(ldClient, times(2)).boolVariation(eq("test-flag"), any(LDUser.class), eq(false));
+    }
+
+    @Test
+    public void testIsFlagEnabledDoesNotKeepAValueEvaluatedBeforeAChange() {
+        FlagTracker flagTracker = mock(FlagTracker.class);
+        when(ldClient.getFlagTracker()).thenReturn(flagTracker);
+        when(ldClient.isInitialized()).thenReturn(true);
+        flaFeatureToggleService = new FeatureToggleServiceImpl(ldClient, "rd");
+        flaFeatureToggleService.init();
+        ArgumentCaptor<FlagChangeListener> listener = ArgumentCaptor.forClass(FlagChangeListener.class);
+        verify(flagTracker).addFlagChangeListener(listener.capture());
+        AtomicInteger evaluations = new AtomicInteger();
+        when(ldClient.boolVariation(eq("test-flag"), any(LDUser.class), eq(false))).thenAnswer(invocation -> {
+            if (evaluations.incrementAndGet() == 1) {
+                listener.getValue().onFlagChange(new FlagChangeEvent("test-flag"));
+                return true;
+            }
+            return false;
+        });
+
+        assertTrue(flaFeatureToggleService.isFlagEnabled("rd_professional_api", "test-flag"));
+        assertFalse(flaFeatureToggleService.isFlagEnabled("rd_professional_api", "test-flag"));
+        assertFalse(flaFeatureToggleService.isFlagEnabled("rd_professional_api", "test-flag"));
+        verify(ldClient, times(2)).boolVariation(eq("test-flag"), any(LDUser.class), eq(false));
+    }
+
+    @Test
+    public void testIsFlagEnabledIsNotKeptBeforeClientInitialises() {
+        when(ldClient.isInitialized()).thenReturn(false);
+        flaFeatureToggleService = new FeatureToggleServiceImpl(ldClient, "rd");
+
+        flaFeatureToggleService.isFlagEnabled("rd_professional_api", "test-flag");
+        flaFeatureToggleService.isFlagEnabled("rd_professional_api", "test-flag");
+
+        verify(ldClient, times(2)).boolVariation(eq("test-flag"), any(LDUser.class), eq(false));
+    }
 }
@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -32,14 +33,23 @@ import org.assertj.core.api.Assertions;
 import org.hibernate.exception.ConstraintViolationException;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ExternalApiException;
 import uk.gov.hmcts.reform.professionalapi.controller.constants.IdamStatus;
 import uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants;
+import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileAsyncClient;
 import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileFeignClient;
 import uk.gov.hmcts.reform.professionalapi.controller.request.ContactInformationCreationRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.DxAddressCreationRequest;
@@ -51,13 +61,19 @@ import uk.gov.hmcts.reform.professionalapi.controller.response.DeleteOrganisatio
 import uk.gov.hmcts.reform.professionalapi.controller.response.GetUserProfileResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.NewUserResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationEntityResponse;
+import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationMinimalInfoResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationResponse;
+import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationSearchResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.OrganisationsDetailResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.ProfessionalUsersEntityResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.ProfessionalUsersResponse;
 import uk.gov.hmcts.reform.professionalapi.domain.ContactInformation;
 import uk.gov.hmcts.reform.professionalapi.domain.DxAddress;
 import uk.gov.hmcts.reform.professionalapi.domain.Organisation;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationAddress;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationMinimalInfo;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchCriteria;
+import uk.gov.hmcts.reform.professionalapi.domain.OrganisationSearchResult;
 import uk.gov.hmcts.reform.professionalapi.domain.OrganisationStatus;
 import uk.gov.hmcts.reform.professionalapi.domain.PaymentAccount;
 import uk.gov.hmcts.reform.professionalapi.domain.PrdEnum;
@@ -76,6 +92,7 @@ import uk.gov.hmcts.reform.professionalapi.repository.PrdEnumRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.ProfessionalUserRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.UserAccountMapRepository;
 import uk.gov.hmcts.reform.professionalapi.service.PrdEnumService;
+import uk.gov.hmcts.reform.professionalapi.service.ProfessionalUserService;
 import uk.gov.hmcts.reform.professionalapi.service.UserAccountMapService;
 import uk.gov.hmcts.reform.professionalapi.service.UserAttributeService;
 
@@ -94,6 +111,8 @@ public class OrganisationServiceImplTest {
     private final UserAccountMapService userAccountMapServiceMock = mock(UserAccountMapService.class);
     private final UserAttributeService userAttributeServiceMock = mock(UserAttributeService.class);
     private final UserProfileFeignClient userProfileFeignClient = mock(UserProfileFeignClient.class);
+    private final ProfessionalUserService professionalUserServiceMock = mock(ProfessionalUserService.class);
+    private final PlatformTransactionManager transactionManagerMock = mock(PlatformTransactionManager.class);
 
     private final Organisation organisation = new Organisation("some-org-name", null,
             "PENDING", null, null, null);
@@ -144,10 +163,12 @@ public class OrganisationServiceImplTest {
         sut.setContactInformationRepository(contactInformationRepositoryMock);
         sut.setPrdEnumRepository(prdEnumRepositoryMock);
         sut.setUserAccountMapService(userAccountMapServiceMock);
-        sut.setUserProfileFeignClient(userProfileFeignClient);
+        sut.setUserProfileAsyncClient(new UserProfileAsyncClient(userProfileFeignClient, Runnable::run));
         sut.setPrdEnumService(prdEnumService);
         sut.setUserAttributeService(userAttributeServiceMock);
         sut.setPaymentAccountValidator(paymentAccountValidator);
+        sut.setProfessionalUserService(professionalUserServiceMock);
+        sut.setTransactionManager(transactionManagerMock);
 
         paymentAccountList = new HashSet<>();
         String pbaNumber = "PBA1234567";
@@ -215,8 +236,8 @@ public class OrganisationServiceImplTest {
 
         verify(organisationRepository, times(1)).save(any(Organisation.class));
         verify(professionalUserRepositoryMock, times(1)).save(any(ProfessionalUser.class));
-        verify(paymentAccountRepositoryMock, times(1)).save(any(PaymentAccount.class));
-        verify(contactInformationRepositoryMock, times(1)).save(any(ContactInformation.class));
+        verify(paymentAccountRepositoryMock, times(1)).saveAll(anyList());
+        verify(contactInformationRepositoryMock, times(1)).saveAll(anyList());
         verify(dxAddressRepositoryMock, times(1)).saveAll(any());
         verify(userAccountMapServiceMock, times(1))
                 .persistedUserAccountMap(any(ProfessionalUser.class), anyList());
@@ -236,6 +257,29 @@ public class OrganisationServiceImplTest {
         verify(organisationMock, times(1)).setOrganisationIdentifier(any(String.class));
     }
 
+    @Test
+    public void test_saveOrganisation_retriesWithANewIdentifierWhenTheIdentifierCollides() {
+        Organisation newOrganisation = new Organisation("some-org-name", OrganisationStatus.PENDING, "sra-id",
+                "companyN", false, "www.org.com");
+        String collidingIdentifier = newOrganisation.getOrganisationIdentifier();
+        List<String> savedIdentifiers = new ArrayList<>();
+        when(organisationRepository.save(newOrganisation)).thenAnswer(invocation -> {
+            savedIdentifiers.add(newOrganisation.getOrganisationIdentifier());
+            if (savedIdentifiers.size() == 1) {
+                throw new ConstraintViolationException("duplicate organisation identifier", null,
+                        "organisation_identifier_uq1");
+            }
+            return newOrganisation;
+        });
+
+        Organisation savedOrganisation = sut.saveOrganisation(newOrganisation);
+
+        assertThat(savedOrganisation).isSameAs(newOrganisation);
+        assertThat(savedIdentifiers).hasSize(2).startsWith(collidingIdentifier);
+        assertThat(savedIdentifiers.get(1)).isNotEqualTo(collidingIdentifier)
+                .hasSize(LENGTH_OF_ORGANISATION_IDENTIFIER);
+    }
+
     @Test
     public void test_addPbaAccountToOrganisation() {
         Organisation organisationMock = mock(Organisation.class);
@@ -370,6 +414,29 @@ public class OrganisationServiceImplTest {
                 .findByOrganisationIdentifier(any(String.class));
     }
 
+    @Test
+    public void test_retrieveOrganisation_callsUserProfileOnceTheReadOnlyTransactionHasCommitted() throws Exception {
+        superUser.setUserIdentifier(UUID.randomUUID().toString());
+        organisation.setStatus(OrganisationStatus.ACTIVE);
+        organisation.setUsers(new ArrayList<>(List.of(superUser)));
+        when(organisationRepository.findByOrganisationIdentifier(organisationIdentifier)).thenReturn(organisation);
+
+        String body = new ObjectMapper().writeValueAsString(new GetUserProfileResponse(new UserProfile(
+                UUID.randomUUID().toString(), "email@org.com", "firstName", "lastName", IdamStatus.ACTIVE), false));
+        when(userProfileFeignClient.getUserProfileById(anyString())).thenReturn(Response.builder()
+                .request(mock(Request.class)).body(body, Charset.defaultCharset()).status(200).build());
+
+        sut.retrieveOrganisation(organisationIdentifier);
+
+        ArgumentCaptor<TransactionDefinition> transaction = ArgumentCaptor.forClass(TransactionDefinition.class);
+        InOrder inOrder = inOrder(transactionManagerMock, organisationRepository, userProfileFeignClient);
+        inOrder.verify(transactionManagerMock).getTransaction(transaction.capture());
+        inOrder.verify(organisationRepository).findByOrganisationIdentifier(organisationIdentifier);
+        inOrder.verify(transactionManagerMock).commit(any());
+        inOrder.verify(userProfileFeignClient).getUserProfileById(superUser.getUserIdentifier());
+        assertThat(transaction.getValue().isReadOnly()).isTrue();
+    }
+
     @Test
     public void test_RetrieveAnOrganisationsByWhenStatusActive() throws Exception {
         superUser.setUserIdentifier(UUID.randomUUID().toString());
@@ -595,6 +662,20 @@ public class OrganisationServiceImplTest {
         assertEquals("postCode", contactInformationCreationRequests.get(0).getPostCode());
     }
 
+    @Test
+    public void test_AddContactInformationToOrganisation_savesEachTableOnce() {
+        contactInformationCreationRequests.add(new ContactInformationCreationRequest("addressLine-1",
+                null, null, "townCity", null, null, "postCode", dxAddressRequests));
+        contactInformationCreationRequests.add(new ContactInformationCreationRequest("addressLine-1b",
+                null, null, "townCity", null, null, "postCode", dxAddressRequests));
+
+        sut.addContactInformationToOrganisation(contactInformationCreationRequests, this.organisation);
+
+        verify(contactInformationRepositoryMock, times(1)).saveAll(anyList());
+        verify(contactInformationRepositoryMock, times(0)).save(any(ContactInformation.class));
+        verify(dxAddressRepositoryMock, times(1)).saveAll(anyList());
+    }
+
     private void assertExpectedOrganisationResponse(OrganisationResponse organisationResponse) {
         final int orgIdLength = 7;
         assertThat(organisationResponse).isNotNull();
@@ -611,6 +692,7 @@ public class OrganisationServiceImplTest {
         assertThat(deleteOrganisationResponse.getStatusCode()).isEqualTo(ProfessionalApiConstants.STATUS_CODE_204);
         assertThat(deleteOrganisationResponse.getMessage()).isEqualTo(ProfessionalApiConstants.DELETION_SUCCESS_MSG);
         verify(organisationRepository, times(1)).deleteById(any());
+        verify(professionalUserServiceMock, times(1)).evictOrganisationIdentifiers(organisation);
     }
 
     @Test
@@ -817,4 +899,59 @@ public class OrganisationServiceImplTest {
         return organisation;
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_getOrganisationMinimalInfoByStatus_groupsAddressesByOrganisation() {
+        UUID organisationId = UUID.randomUUID();
+        OrganisationMinimalInfo minimalInfo = mock(OrganisationMinimalInfo.class);
+        when(minimalInfo.getId()).thenReturn(organisationId);
+        when(minimalInfo.getName()).thenReturn("some-org-name");
+        when(minimalInfo.getOrganisationIdentifier()).thenReturn("ORG0001");
+        OrganisationMinimalInfo minimalInfoWithoutAddress = mock(OrganisationMinimalInfo.class);
+        when(minimalInfoWithoutAddress.getId()).thenReturn(UUID.randomUUID());
+        OrganisationAddress address = mock(OrganisationAddress.class);
+        when(address.getOrganisationId()).thenReturn(organisationId);
+        when(address.getPostCode()).thenReturn("some-post-code");
+        when(organisationRepository.findMinimalInfoByStatus(OrganisationStatus.ACTIVE))
+                .thenReturn(List.of(minimalInfo, minimalInfoWithoutAddress));
+        when(contactInformationRepositoryMock.findAddressesByOrganisationStatus(OrganisationStatus.ACTIVE))
+                .thenReturn(List.of(address));
+
+        List<OrganisationMinimalInfoResponse> responses = sut.getOrganisationMinimalInfoByStatus(
+                OrganisationStatus.ACTIVE, true);
+
+        assertThat(responses).hasSize(2);
+        assertThat(responses.get(0).getOrganisationIdentifier()).isEqualTo("ORG0001");
+        assertThat(responses.get(0).getContactInformation()).hasSize(1);
+        assertThat(responses.get(0).getContactInformation().get(0).getPostCode()).isEqualTo("some-post-code");
+        assertThat(responses.get(1).getContactInformation()).isEmpty();
+    }
+
+    @Test
+    public void test_getOrganisationMinimalInfoByStatus_doesNotReadAddressesUnlessAsked() {
+        when(organisationRepository.findMinimalInfoByStatus(OrganisationStatus.ACTIVE))
+                .thenReturn(List.of(mock(OrganisationMinimalInfo.class)));
+
+        List<OrganisationMinimalInfoResponse> responses = sut.getOrganisationMinimalInfoByStatus(
+                OrganisationStatus.ACTIVE, false);
+
+        assertThat(responses).hasSize(1);
+        assertThat(responses.get(0).getContactInformation()).isNull();
+        verify(contactInformationRepositoryMock, times(0)).findAddressesByOrganisationStatus(any());
+    }
+
+    @Test
+    public void test_searchOrganisations_mapsResultsToResponses() {
+        OrganisationSearchCriteria criteria = new OrganisationSearchCriteria("smith", null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(organisationRepository.search(criteria, pageable)).thenReturn(new PageImpl<>(List.of(
+                new OrganisationSearchResult("Smith Solicitors", "ORG0001", OrganisationStatus.ACTIVE, null,
+                        "12345678")), pageable, 1));
+
+        Page<OrganisationSearchResponse> responses = sut.searchOrganisations(criteria, pageable);
+
+        assertThat(responses.getTotalElements()).isEqualTo(1);
+        assertThat(responses.getContent().get(0).getName()).isEqualTo("Smith Solicitors");
+        assertThat(responses.getContent().get(0).getStatus()).isEqualTo(OrganisationStatus.ACTIVE);
+        assertThat(responses.getContent().get(0).getCompanyNumber()).isEqualTo("12345678");
+    }
+}
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
@@ -14,14 +15,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import javax.persistence.EntityManager;
-import javax.persistence.EntityManagerFactory;
-import javax.persistence.EntityTransaction;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import uk.gov.hmcts.reform.professionalapi.configuration.ApplicationConfiguration;
+import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileAsyncClient;
 import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileFeignClient;
 import uk.gov.hmcts.reform.professionalapi.controller.request.PbaEditRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.request.validator.PaymentAccountValidator;
@@ -32,10 +32,10 @@ import uk.gov.hmcts.reform.professionalapi.domain.PbaResponse;
 import uk.gov.hmcts.reform.professionalapi.domain.ProfessionalUser;
 import uk.gov.hmcts.reform.professionalapi.domain.SuperUser;
 import uk.gov.hmcts.reform.professionalapi.domain.UserAccountMap;
-import uk.gov.hmcts.reform.professionalapi.domain.UserAccountMapId;
 import uk.gov.hmcts.reform.professionalapi.repository.OrganisationRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.PaymentAccountRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.ProfessionalUserRepository;
+import uk.gov.hmcts.reform.professionalapi.repository.UserAccountMapRepository;
 import uk.gov.hmcts.reform.professionalapi.service.UserAccountMapService;
 import uk.gov.hmcts.reform.professionalapi.util.RefDataUtil;
 
@@ -49,9 +49,8 @@ public class PaymentAccountServiceImplTest {
     private final UserAccountMapService userAccountMapServiceMock = mock(UserAccountMapService.class);
     private final UserAccountMap userAccountMapMock = mock(UserAccountMap.class);
     private final PaymentAccountValidator paymentAccountValidatorMock = mock(PaymentAccountValidator.class);
-    private final EntityManagerFactory entityManagerFactoryMock =  mock(EntityManagerFactory.class);
-    private final EntityManager entityManagerMock = mock(EntityManager.class);
-    private final EntityTransaction entityTransactionMock = mock(EntityTransaction.class);
+    private final UserAccountMapRepository userAccountMapRepositoryMock = mock(UserAccountMapRepository.class);
+    private final PlatformTransactionManager transactionManagerMock = mock(PlatformTransactionManager.class);
 
     private OrganisationServiceImpl organisationService;
     private PaymentAccountServiceImpl sut;
@@ -73,10 +72,12 @@ public class PaymentAccountServiceImplTest {
         organisationService = new OrganisationServiceImpl();
         organisationService.setPaymentAccountValidator(paymentAccountValidatorMock);
         organisationService.setPaymentAccountRepository(paymentAccountRepositoryMock);
+        organisationService.setOrganisationRepository(organisationRepositoryMock);
 
         sut = new PaymentAccountServiceImpl(
-                applicationConfigurationMock, userProfileFeignClientMock, entityManagerFactoryMock,
-                professionalUserRepositoryMock, organisationService, userAccountMapServiceMock);
+                applicationConfigurationMock, new UserProfileAsyncClient(userProfileFeignClientMock, Runnable::run),
+                professionalUserRepositoryMock, paymentAccountRepositoryMock, userAccountMapRepositoryMock,
+                organisationService, userAccountMapServiceMock, transactionManagerMock);
 
         superUsers.add(superUser);
         paymentAccounts.add(paymentAccount);
@@ -122,71 +123,62 @@ public class PaymentAccountServiceImplTest {
 
     @Test
     public void testEditPaymentAccountsByOrganisationIdentifier() {
-
-        Organisation organisationMock = mock(Organisation.class);
-        final List<PaymentAccount> paymentAccounts = new ArrayList<>();
-        paymentAccounts.add(new PaymentAccount());
-        ProfessionalUser professionalUserMock = mock(ProfessionalUser.class);
-
-        when(professionalUserMock.getOrganisation()).thenReturn(organisationMock);
-        when(organisationMock.getStatus()).thenReturn(OrganisationStatus.ACTIVE);
-        when(organisationMock.getPaymentAccounts()).thenReturn(paymentAccounts);
         when(organisationRepositoryMock.findByOrganisationIdentifier(any(String.class))).thenReturn(organisation);
-        when(entityManagerFactoryMock.createEntityManager()).thenReturn(entityManagerMock);
-        when(entityManagerMock.getTransaction()).thenReturn(entityTransactionMock);
-
-        RefDataUtil.getPaymentAccount(paymentAccounts);
 
         PbaResponse response = sut.editPaymentAccountsByOrganisation(organisation, pbaEditRequest);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatusCode()).isEqualTo("200 OK");
-
-        verify(paymentAccountRepositoryMock, times(1)).save(any(PaymentAccount.class));
+        assertThat(response.getPbasAdded()).containsExactly("PBA0000001");
+        assertThat(response.getPbasRemoved()).containsExactly("PBA1234567");
+        assertThat(organisation.getPaymentAccounts()).extracting(PaymentAccount::getPbaNumber)
+                .containsExactly("PBA0000001");
+
+        verify(userAccountMapRepositoryMock, times(1)).deleteByPaymentAccountIdIn(List.of(paymentAccount.getId()));
+        verify(paymentAccountRepositoryMock, times(1)).deleteByIdIn(List.of(paymentAccount.getId()));
+        verify(paymentAccountRepositoryMock, times(1)).saveAll(anyList());
         verify(userAccountMapServiceMock, times(1))
                 .persistedUserAccountMap(any(ProfessionalUser.class), anyList());
-        verify(entityManagerFactoryMock, times(1)).createEntityManager();
-        verify(entityManagerMock, times(1)).getTransaction();
-        verify(entityManagerMock, times(2)).find(any(), any());
-        verify(entityManagerMock, times(2)).remove(any());
     }
 
     @Test
-    public void testDeleteUserAccountMapsAndPaymentAccounts() {
-        when(organisationRepositoryMock.findByOrganisationIdentifier(any(String.class))).thenReturn(organisation);
-        when(entityManagerFactoryMock.createEntityManager()).thenReturn(entityManagerMock);
-        when(entityManagerMock.getTransaction()).thenReturn(entityTransactionMock);
+    public void testEditPaymentAccountsByOrganisationIdentifierKeepsUnchangedAccounts() {
+        pbas.add("pba1234567");
+
+        PbaResponse response = sut.editPaymentAccountsByOrganisation(organisation, pbaEditRequest);
 
-        sut.deleteUserAccountMapsAndPaymentAccounts(entityManagerMock, organisation);
+        assertThat(response.getPbasAdded()).containsExactly("PBA0000001");
+        assertThat(response.getPbasRemoved()).isEmpty();
+        assertThat(organisation.getPaymentAccounts()).hasSize(2).contains(paymentAccount);
+
+        verify(userAccountMapRepositoryMock, never()).deleteByPaymentAccountIdIn(anyList());
+        verify(paymentAccountRepositoryMock, never()).deleteByIdIn(anyList());
+        verify(paymentAccountRepositoryMock, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    public void testDeleteUserAccountMapsAndPaymentAccounts() {
+        sut.deleteUserAccountMapsAndPaymentAccounts(organisation, paymentAccounts);
 
         assertThat(organisation.getPaymentAccounts()).isEmpty();
-        verify(entityManagerMock, times(2)).find(any(), any());
-        verify(entityManagerMock, times(2)).remove(any());
+        verify(userAccountMapRepositoryMock, times(1)).deleteByPaymentAccountIdIn(List.of(paymentAccount.getId()));
+        verify(paymentAccountRepositoryMock, times(1)).deleteByIdIn(List.of(paymentAccount.getId()));
     }
 
     @Test
     public void testAddPaymentAccountsToOrganisationTest() {
         when(organisationRepositoryMock.findByOrganisationIdentifier(any(String.class))).thenReturn(organisation);
-        sut.addPaymentAccountsToOrganisation(pbaEditRequest, organisation);
-        verify(paymentAccountRepositoryMock, times(1)).save(any(PaymentAccount.class));
+        List<PaymentAccount> addedAccounts = sut.addPaymentAccountsToOrganisation(pbas, organisation);
+
+        assertThat(addedAccounts).extracting(PaymentAccount::getPbaNumber).containsExactly("PBA0000001");
+        verify(paymentAccountRepositoryMock, times(1)).saveAll(anyList());
     }
 
     @Test
     public void testAddUserAndPaymentAccountsToUserAccountMapTest() {
         when(organisationRepositoryMock.findByOrganisationIdentifier(any(String.class))).thenReturn(organisation);
-        sut.addUserAndPaymentAccountsToUserAccountMap(organisation);
-        assertThat(sut.addUserAndPaymentAccountsToUserAccountMap(organisation)).isNotNull();
-        verify(userAccountMapServiceMock, times(2))
+        sut.addUserAndPaymentAccountsToUserAccountMap(organisation, paymentAccounts);
+        verify(userAccountMapServiceMock, times(1))
                 .persistedUserAccountMap(any(ProfessionalUser.class), anyList());
     }
-
-    @Test
-    public void testGenerateListOfAccountsToDelete() {
-        ProfessionalUser prefU = new ProfessionalUser("Con", "Hal",
-                "email@gmail.com", organisation);
-        List<UserAccountMapId> listUserMap = new ArrayList<>();
-        assertThat(sut.generateListOfAccountsToDelete(prefU, paymentAccounts)).isNotNull();
-        listUserMap = sut.generateListOfAccountsToDelete(prefU, paymentAccounts);
-        assertThat(listUserMap.get(0).getProfessionalUser().getFirstName()).isEqualTo("Con");
-    }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.ERROR_MESSAGE_UP_FAILED;
 import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.LENGTH_OF_ORGANISATION_IDENTIFIER;
+import static uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants.NEXT_PAGE_TOKEN;
 import static uk.gov.hmcts.reform.professionalapi.generator.ProfessionalApiGenerator.generateUniqueAlphanumericId;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -36,12 +37,15 @@ import org.mockito.Mockito;
 
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.professionalapi.configuration.CacheConfiguration;
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ErrorResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ExternalApiException;
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ResourceNotFoundException;
@@ -67,6 +71,7 @@ import uk.gov.hmcts.reform.professionalapi.repository.OrganisationRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.PrdEnumRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.ProfessionalUserRepository;
 import uk.gov.hmcts.reform.professionalapi.repository.UserAttributeRepository;
+import uk.gov.hmcts.reform.professionalapi.util.KeysetPageToken;
 
 public class ProfessionalUserServiceImplTest {
 
@@ -88,7 +93,9 @@ public class ProfessionalUserServiceImplTest {
 
     private final ProfessionalUserServiceImpl professionalUserService = new ProfessionalUserServiceImpl(
             organisationRepository, professionalUserRepository, userAttributeRepository,
-            prdEnumRepository, userAttributeService, userProfileFeignClient);
+            prdEnumRepository, userAttributeService, userProfileFeignClient, new CacheConfiguration()
+            .cacheManager("maximumSize=0", "maximumSize=0", "maximumSize=100", 0, 0),
+            mock(PlatformTransactionManager.class));
 
     private final ProfessionalUser professionalUser = new ProfessionalUser("some-fname",
             "some-lname", "some-email", organisation);
@@ -451,6 +458,46 @@ public class ProfessionalUserServiceImplTest {
         verify(userProfileFeignClient, times(1)).getUserProfiles(any(), any(), any());
     }
 
+    @Test
+    public void test_shouldReturnUsersAndNextPageTokenWithPageToken() throws JsonProcessingException {
+        ProfessionalUser firstUser = new ProfessionalUser("fName", "lName", "some@email.com",
+                organisation);
+        firstUser.setId(UUID.randomUUID());
+        ProfessionalUser secondUser = new ProfessionalUser("gName", "lName", "some1@email.com",
+                organisation);
+        secondUser.setId(UUID.randomUUID());
+        when(firstUserRepository.findByOrganisationOrderByFirstNameAscIdAsc(organisation,
+                PageRequest.of(0, 2))).thenReturn(List.of(firstUser, secondUser));
+
+        ProfessionalUsersEntityResponse firstUsersEntityResponse = new ProfessionalUsersEntityResponse();
+        firstUsersEntityResponse.setUserProfiles(List.of(new ProfessionalUsersResponse(firstUser)));
+        String body = mapper.writeValueAsString(firstUsersEntityResponse);
+        when(userProfileFeignClient.getUserProfiles(any(), any(), any())).thenReturn(Response.builder()
+                .request(mock(Request.class)).body(body, Charset.defaultCharset()).status(200).build());
+
+        ResponseEntity<Object> responseEntity = firstUserService
+                .findProfessionalUsersByOrganisationWithPageToken(organisation, "false", true, null, "", 1);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getHeaders().get("paginationInfo")).isNotEmpty();
+        String nextPageToken = responseEntity.getHeaders().getFirst(NEXT_PAGE_TOKEN);
+        assertThat(KeysetPageToken.decode(nextPageToken).getId()).isEqualTo(firstUser.getId());
+        verify(userProfileFeignClient, times(1)).getUserProfiles(any(), any(), any());
+    }
+
+    @Test(expected = ResourceNotFoundException.class)
+    public void test_shouldThrowResourceNotFoundExceptionWhenNoUsersAfterPageToken() {
+        ProfessionalUser firstUser = new ProfessionalUser("fName", "lName", "some@email.com",
+                organisation);
+        firstUser.setId(UUID.randomUUID());
+        String pageToken = KeysetPageToken.after(firstUser).encode();
+        when(firstUserRepository.findByOrganisationAfter(organisation, "fName", firstUser.getId(),
+                PageRequest.of(0, 11))).thenReturn(List.of());
+
+        firstUserService.findProfessionalUsersByOrganisationWithPageToken(organisation, "false", true,
+                null, pageToken, 10);
+    }
+
     @Test(expected = ResourceNotFoundException.class)
     @SuppressWarnings("unchecked")
     public void shouldThrowResourceNotFoundExceptionWhenNoUsersReturnedWithPageable() {
@@ -727,4 +774,29 @@ public class ProfessionalUserServiceImplTest {
         assertThat(((ExternalApiException) thrown).getHttpStatus()).isEqualTo(status);
         verify(userProfileFeignClient, times(1)).modifyUserRoles(any(), any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_findOrganisationIdentifierByUserIdentifier_isCachedUntilEvicted() {
+        when(professionalUserRepository.findOrganisationIdentifierByUserIdentifier("user-id")).thenReturn("ORG1234");
+        when(professionalUserRepository.findUserIdentifiersByOrganisation(organisation))
+                .thenReturn(List.of("user-id"));
+
+        assertThat(professionalUserService.findOrganisationIdentifierByUserIdentifier("user-id")).isEqualTo("ORG1234");
+        assertThat(professionalUserService.findOrganisationIdentifierByUserIdentifier("user-id")).isEqualTo("ORG1234");
+        verify(professionalUserRepository, times(1)).findOrganisationIdentifierByUserIdentifier("user-id");
+
+        professionalUserService.evictOrganisationIdentifiers(organisation);
+        professionalUserService.findOrganisationIdentifierByUserIdentifier("user-id");
+        verify(professionalUserRepository, times(2)).findOrganisationIdentifierByUserIdentifier("user-id");
+    }
+
+    @Test
+    public void test_findOrganisationIdentifierByUserIdentifier_doesNotCacheUnknownUsers() {
+        when(professionalUserRepository.findOrganisationIdentifierByUserIdentifier("new-user-id")).thenReturn(null)
+                .thenReturn("ORG1234");
+
+        assertThat(professionalUserService.findOrganisationIdentifierByUserIdentifier("new-user-id")).isNull();
+        assertThat(professionalUserService.findOrganisationIdentifierByUserIdentifier("new-user-id"))
+                .isEqualTo("ORG1234");
+    }
+}
@@ -6,6 +6,7 @@ import io.jsonwebtoken.impl.TextCodec;
 import java.lang.reflect.Method;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -14,9 +15,13 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import uk.gov.hmcts.reform.professionalapi.controller.WelcomeController;
 import uk.gov.hmcts.reform.professionalapi.exception.ForbiddenException;
 import uk.gov.hmcts.reform.professionalapi.service.impl.FeatureToggleServiceImpl;
@@ -26,6 +31,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -57,6 +63,7 @@ public class FeatureConditionEvaluationTest {
         launchDarklyMap.put("WelcomeController.test", "test-flag");
         RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
         when(featureToggleService.getLaunchDarklyMap()).thenReturn(launchDarklyMap);
+        featureConditionEvaluation.resolveFlagNames(List.of(handlerMethod));
         String token = generateDummyS2SToken("rd_professional_api");
         when(httpRequest.getHeader(SERVICE_AUTHORIZATION)).thenReturn(BEARER + token);
         when(featureToggleService.isFlagEnabled(anyString(),anyString())).thenReturn(true);
@@ -70,6 +77,7 @@ public class FeatureConditionEvaluationTest {
         Map<String, String> launchDarklyMap = new HashMap<>();
         launchDarklyMap.put("WelcomeController.test", "test-flag");
         when(featureToggleService.getLaunchDarklyMap()).thenReturn(launchDarklyMap);
+        featureConditionEvaluation.resolveFlagNames(List.of(handlerMethod));
         RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
         String token = generateDummyS2SToken("rd_professional_api");
         when(httpRequest.getHeader(SERVICE_AUTHORIZATION)).thenReturn(BEARER + token);
@@ -85,6 +93,7 @@ public class FeatureConditionEvaluationTest {
         Map<String, String> launchDarklyMap = new HashMap<>();
         launchDarklyMap.put("WelcomeController.test", "test-flag");
         when(featureToggleService.getLaunchDarklyMap()).thenReturn(launchDarklyMap);
+        featureConditionEvaluation.resolveFlagNames(List.of(handlerMethod));
         assertThrows(ForbiddenException.class,() -> featureConditionEvaluation.preHandle(httpRequest,
             httpServletResponse, handlerMethod));
         verify(featureConditionEvaluation, times(1))
@@ -103,11 +112,55 @@ public class FeatureConditionEvaluationTest {
         Map<String, String> launchDarklyMap = new HashMap<>();
         launchDarklyMap.put("DummyController.test", "test-flag");
         when(featureToggleService.getLaunchDarklyMap()).thenReturn(launchDarklyMap);
+        featureConditionEvaluation.resolveFlagNames(List.of(handlerMethod));
         assertTrue(featureConditionEvaluation.preHandle(httpRequest, httpServletResponse, handlerMethod));
         verify(featureConditionEvaluation, times(1))
             .preHandle(httpRequest, httpServletResponse, handlerMethod);
     }
 
+    @Test
+    public void testPreHandleResolvesFlagAndServiceNameOnce() throws Exception {
+        Map<String, String> launchDarklyMap = new HashMap<>();
+        launchDarklyMap.put("WelcomeController.test", "test-flag");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
+        when(featureToggleService.getLaunchDarklyMap()).thenReturn(launchDarklyMap);
+        featureConditionEvaluation.resolveFlagNames(List.of(handlerMethod));
+        String token = generateDummyS2SToken("rd_professional_api");
+        when(httpRequest.getHeader(SERVICE_AUTHORIZATION)).thenReturn(BEARER + token);
+        when(featureToggleService.isFlagEnabled("rd_professional_api", "test-flag")).thenReturn(true);
+
+        assertTrue(featureConditionEvaluation.preHandle(httpRequest, httpServletResponse, handlerMethod));
+        assertTrue(featureConditionEvaluation.preHandle(httpRequest, httpServletResponse, handlerMethod));
+
+        verify(method, times(1)).getName();
+        verify(featureToggleService, times(2)).isFlagEnabled("rd_professional_api", "test-flag");
+    }
+
+    @Test
+    public void testFlagsAreResolvedOnlyWhenThisContextIsRefreshed() throws Exception {
+        Map<String, String> launchDarklyMap = new HashMap<>();
+        launchDarklyMap.put("WelcomeController.test", "test-flag");
+        when(featureToggleService.getLaunchDarklyMap()).thenReturn(launchDarklyMap);
+        RequestMappingHandlerMapping handlerMapping = mock(RequestMappingHandlerMapping.class);
+        when(handlerMapping.getHandlerMethods()).thenReturn(Map.of(mock(RequestMappingInfo.class), handlerMethod));
+        ApplicationContext applicationContext = mock(ApplicationContext.class);
+        when(applicationContext.getBeansOfType(RequestMappingHandlerMapping.class))
+            .thenReturn(Map.of("requestMappingHandlerMapping", handlerMapping));
+        featureConditionEvaluation.setApplicationContext(applicationContext);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
+        when(httpRequest.getHeader(SERVICE_AUTHORIZATION))
+            .thenReturn(BEARER + generateDummyS2SToken("rd_professional_api"));
+        when(featureToggleService.isFlagEnabled("rd_professional_api", "test-flag")).thenReturn(false);
+
+        featureConditionEvaluation.resolveFlagNames(new ContextRefreshedEvent(mock(ApplicationContext.class)));
+        assertTrue(featureConditionEvaluation.preHandle(httpRequest, httpServletResponse, handlerMethod));
+        verify(featureToggleService, never()).isFlagEnabled(anyString(), anyString());
+
+        featureConditionEvaluation.resolveFlagNames(new ContextRefreshedEvent(applicationContext));
+        assertThrows(ForbiddenException.class, () -> featureConditionEvaluation.preHandle(httpRequest,
+            httpServletResponse, handlerMethod));
+    }
+
     public static String generateDummyS2SToken(String serviceName) {
         return Jwts.builder()
             .setSubject(serviceName)
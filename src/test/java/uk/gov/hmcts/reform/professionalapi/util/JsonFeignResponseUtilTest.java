@@ -17,12 +17,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.junit.Test;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.MultiValueMap;
+import uk.gov.hmcts.reform.professionalapi.controller.advice.ExternalApiException;
 import uk.gov.hmcts.reform.professionalapi.controller.response.ProfessionalUsersResponse;
 
 public class JsonFeignResponseUtilTest {
@@ -98,6 +100,32 @@ public class JsonFeignResponseUtilTest {
         assertThat(((ProfessionalUsersResponse) entity.getBody()).getUserIdentifier()).isEqualTo("1");
     }
 
+    @Test
+    public void test_streamUserProfiles_handsEachUserToConsumer() {
+        String body = "{\"organisationIdentifier\": \"ORG1\", \"meta\": {\"users\": [1]}, \"userProfiles\": ["
+                + "{\"userIdentifier\": \"1\", \"idamStatus\": \"ACTIVE\", \"roles\": [\"pui-case-manager\"]},"
+                + "null,"
+                + "{\"userIdentifier\": \"2\", \"idamStatus\": \"PENDING\"}]}";
+        Response response = Response.builder().status(200).reason("OK").headers(new HashMap<>())
+                .body(body, UTF_8).request(mock(Request.class)).build();
+
+        List<ProfessionalUsersResponse> users = new ArrayList<>();
+        JsonFeignResponseUtil.streamUserProfiles(response, ProfessionalUsersResponse.class, users::add);
+
+        assertThat(users).extracting(ProfessionalUsersResponse::getUserIdentifier).containsExactly("1", "2");
+        assertThat(users.get(0).getRoles()).containsExactly("pui-case-manager");
+    }
+
+    @Test(expected = ExternalApiException.class)
+    public void test_streamUserProfiles_fails_with_ioException() throws IOException {
+        Response.Body bodyMock = mock(Response.Body.class);
+        when(bodyMock.asInputStream()).thenThrow(new IOException());
+        Response response = Response.builder().status(200).reason("OK").headers(new HashMap<>()).body(bodyMock)
+                .request(mock(Request.class)).build();
+
+        JsonFeignResponseUtil.streamUserProfiles(response, ProfessionalUsersResponse.class, user -> { });
+    }
+
     @Test
     public void test_privateConstructor() throws Exception {
         Constructor<JsonFeignResponseUtil> constructor = JsonFeignResponseUtil.class.getDeclaredConstructor();
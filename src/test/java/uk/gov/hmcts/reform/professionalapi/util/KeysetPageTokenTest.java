@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.professionalapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.Test;
+import uk.gov.hmcts.reform.professionalapi.controller.request.InvalidRequest;
+import uk.gov.hmcts.reform.professionalapi.domain.ProfessionalUser;
+
+public class KeysetPageTokenTest {
+
+    @Test
+    public void test_encode_and_decode_roundTrip() {
+        ProfessionalUser professionalUser = new ProfessionalUser("first|name", "lName", "some@email.com", null);
+        professionalUser.setId(UUID.randomUUID());
+
+        KeysetPageToken decoded = KeysetPageToken.decode(KeysetPageToken.after(professionalUser).encode());
+
+        assertThat(decoded.getFirstName()).isEqualTo("first|name");
+        assertThat(decoded.getId()).isEqualTo(professionalUser.getId());
+    }
+
+    @Test
+    public void test_decode_returnsNullForFirstPage() {
+        assertThat(KeysetPageToken.decode("")).isNull();
+        assertThat(KeysetPageToken.decode(null)).isNull();
+    }
+
+    @Test(expected = InvalidRequest.class)
+    public void test_decode_rejectsTamperedToken() {
+        KeysetPageToken.decode("bm90LWEtdG9rZW4");
+    }
+}
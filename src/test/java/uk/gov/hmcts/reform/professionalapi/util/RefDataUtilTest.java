@@ -4,12 +4,15 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -48,11 +52,15 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ExternalApiException;
 import uk.gov.hmcts.reform.professionalapi.controller.advice.ResourceNotFoundException;
+import uk.gov.hmcts.reform.professionalapi.controller.advice.UserProfileChunkFailureException;
 import uk.gov.hmcts.reform.professionalapi.controller.constants.IdamStatus;
+import uk.gov.hmcts.reform.professionalapi.controller.constants.ProfessionalApiConstants;
+import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileAsyncClient;
 import uk.gov.hmcts.reform.professionalapi.controller.feign.UserProfileFeignClient;
-import uk.gov.hmcts.reform.professionalapi.controller.request.RetrieveUserProfilesRequest;
+import uk.gov.hmcts.reform.professionalapi.controller.request.DeleteUserProfilesRequest;
 import uk.gov.hmcts.reform.professionalapi.controller.response.DeleteOrganisationResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.GetUserProfileResponse;
 import uk.gov.hmcts.reform.professionalapi.controller.response.NewUserResponse;
@@ -576,10 +584,11 @@ public class RefDataUtilTest {
 
         when(userProfileFeignClient.getUserProfileById(any())).thenReturn(responseMock);
 
-        ProfessionalUser result = RefDataUtil.getSingleUserIdFromUserProfile(new ProfessionalUser("firstName",
+        SuperUser result = RefDataUtil.getUserIdFromUserProfile(singletonList(new SuperUser("firstName",
                 "lastName", "some@email.com", new Organisation("name",
                 OrganisationStatus.PENDING, "sraId", "companyNumber", Boolean.TRUE,
-                "companyUrl")), userProfileFeignClient, Boolean.TRUE);
+                "companyUrl"))), new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), Boolean.TRUE)
+                .get(0);
         assertThat(result).isNotNull();
         assertThat(result.getFirstName()).isEqualTo("firstName");
         assertThat(result.getLastName()).isEqualTo("lastName");
@@ -597,10 +606,11 @@ public class RefDataUtilTest {
 
         when(userProfileFeignClient.getUserProfileById(any())).thenThrow(feignExceptionMock);
 
-        ProfessionalUser result = RefDataUtil.getSingleUserIdFromUserProfile(new ProfessionalUser("firstName",
+        SuperUser result = RefDataUtil.getUserIdFromUserProfile(singletonList(new SuperUser("firstName",
                 "lastName", "some@email.com", new Organisation("name",
                 OrganisationStatus.PENDING, "sraId", "companyNumber", Boolean.TRUE,
-                "companyUrl")), userProfileFeignClient, Boolean.TRUE);
+                "companyUrl"))), new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), Boolean.TRUE)
+                .get(0);
         assertThat(result).isNotNull();
         assertThat(result.getFirstName()).isEqualTo("firstName");
         assertThat(result.getLastName()).isEqualTo("lastName");
@@ -623,10 +633,11 @@ public class RefDataUtilTest {
                 .request(mock(Request.class)).build();
         when(userProfileFeignClient.getUserProfileById(any())).thenReturn(response);
 
-        ProfessionalUser result = RefDataUtil.getSingleUserIdFromUserProfile(new ProfessionalUser("firstName",
+        SuperUser result = RefDataUtil.getUserIdFromUserProfile(singletonList(new SuperUser("firstName",
                 "lastName", "some@email.com", new Organisation("name",
                 OrganisationStatus.PENDING, "sraId", "companyNumber", Boolean.TRUE,
-                "companyUrl")), userProfileFeignClient, Boolean.TRUE);
+                "companyUrl"))), new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), Boolean.TRUE)
+                .get(0);
         assertThat(result).isNotNull();
         assertThat(result.getFirstName()).isEqualTo("firstName");
         assertThat(result.getLastName()).isEqualTo("lastName");
@@ -656,13 +667,13 @@ public class RefDataUtilTest {
         when(response.status()).thenReturn(realResponse.status());
         when(userProfileFeignClient.getUserProfiles(any(), any(), any())).thenReturn(response);
 
-        List<Organisation> orgResponse = RefDataUtil.getMultipleUserProfilesFromUp(userProfileFeignClient,
-                mock(RetrieveUserProfilesRequest.class), "true", activeOrganisationDetails);
+        List<Organisation> orgResponse = RefDataUtil.getMultipleUserProfilesFromUp(
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), "true", activeOrganisationDetails);
         assertThat(orgResponse).isNotNull();
         assertThat(orgResponse.get(0).getOrganisationIdentifier()).isEqualTo(organisation.getOrganisationIdentifier());
         verify(userProfileFeignClient, times(1)).getUserProfiles(any(), any(), any());
         verify(response, times(1)).body();
-        verify(response, times(3)).status();
+        verify(response, times(1)).status();
         verify(response, times(1)).close();
     }
 
@@ -685,12 +696,81 @@ public class RefDataUtilTest {
                 .request(mock(Request.class)).build();
         when(userProfileFeignClient.getUserProfiles(any(), any(), any())).thenReturn(response);
 
-        List<Organisation> orgResponse = RefDataUtil.getMultipleUserProfilesFromUp(userProfileFeignClient,
-                mock(RetrieveUserProfilesRequest.class), "true", activeOrganisationDetails);
-        assertThat(orgResponse).isNotNull();
-        verify(userProfileFeignClient, times(1)).getUserProfiles(any(), any(), any());
+        assertThatThrownBy(() -> RefDataUtil.getMultipleUserProfilesFromUp(
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), "true", activeOrganisationDetails))
+                .isInstanceOfSatisfying(UserProfileChunkFailureException.class, ex -> {
+                    assertThat(ex.getHttpStatus()).isEqualTo(HttpStatus.MULTIPLE_CHOICES);
+                    assertThat(ex.getFailedUserIds()).containsExactly("someId");
+                });
+    }
+
+    @Test
+    public void test_getMultipleUserProfilesFromUp_doesNotCallUpWithoutUsers() {
+        List<Organisation> orgResponse = RefDataUtil.getMultipleUserProfilesFromUp(
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), "true", new HashMap<>());
+
+        assertThat(orgResponse).isEmpty();
+        verify(userProfileFeignClient, never()).getUserProfiles(any(), any(), any());
+    }
+
+    @Test
+    public void test_getMultipleUserProfilesFromUp_sendsOneRequestPerChunk() {
+        Organisation organisation2 = new Organisation("Org-Name-2", OrganisationStatus.ACTIVE, "sra-id",
+                "companyN", false, "www.org.com");
+        Map<String, Organisation> activeOrganisationDetails = new ConcurrentHashMap<>();
+        activeOrganisationDetails.put("id-1", organisation);
+        activeOrganisationDetails.put("id-2", organisation2);
+
+        when(userProfileFeignClient.getUserProfiles(any(), any(), any())).thenAnswer(invocation -> Response.builder()
+                .status(200).reason("OK").headers(new HashMap<>()).body("{\"userProfiles\": []}", UTF_8)
+                .request(mock(Request.class)).build());
+
+        ReflectionTestUtils.setField(RefDataUtil.class, "userProfileBatchSize", 1);
+        try {
+            List<Organisation> orgResponse = RefDataUtil.getMultipleUserProfilesFromUp(
+                    new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), "false",
+                    activeOrganisationDetails);
+
+            assertThat(orgResponse).containsExactlyInAnyOrder(organisation, organisation2);
+            verify(userProfileFeignClient, times(2)).getUserProfiles(any(), any(), any());
+        } finally {
+            ReflectionTestUtils.setField(RefDataUtil.class, "userProfileBatchSize",
+                    ProfessionalApiConstants.DEFAULT_USER_PROFILE_BATCH_SIZE);
+        }
     }
 
+    @Test
+    public void test_getMultipleUserProfilesFromUp_failsWhenAnyChunkFails() {
+        Organisation organisation2 = new Organisation("Org-Name-2", OrganisationStatus.ACTIVE, "sra-id",
+                "companyN", false, "www.org.com");
+        Map<String, Organisation> activeOrganisationDetails = new ConcurrentHashMap<>();
+        activeOrganisationDetails.put("id-1", organisation);
+        activeOrganisationDetails.put("id-2", organisation2);
+
+        Response okResponse = Response.builder().status(200).reason("OK").headers(new HashMap<>())
+                .body("{\"userProfiles\": []}", UTF_8).request(mock(Request.class)).build();
+        when(userProfileFeignClient.getUserProfiles(any(), any(), any())).thenReturn(okResponse)
+                .thenThrow(new ExternalApiException(HttpStatus.INTERNAL_SERVER_ERROR, "UP down"));
+
+        ReflectionTestUtils.setField(RefDataUtil.class, "userProfileBatchSize", 1);
+        try {
+            assertThatThrownBy(() -> RefDataUtil.getMultipleUserProfilesFromUp(
+                    new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), "false",
+                    activeOrganisationDetails)).isInstanceOfSatisfying(UserProfileChunkFailureException.class,
+                        ex -> {
+                            assertThat(ex.getHttpStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+                            assertThat(ex.getErrorMessage()).isEqualTo("Error while invoking UP for 1 of 2 chunks "
+                                    + "(1 users)");
+                            assertThat(ex.getFailedChunks()).containsExactly(2);
+                            assertThat(ex.getFailedUserIds()).containsExactly("id-2");
+                        });
+
+            verify(userProfileFeignClient, times(2)).getUserProfiles(any(), any(), any());
+        } finally {
+            ReflectionTestUtils.setField(RefDataUtil.class, "userProfileBatchSize",
+                    ProfessionalApiConstants.DEFAULT_USER_PROFILE_BATCH_SIZE);
+        }
+    }
 
     @Test(expected = ExternalApiException.class)
     public void test_GetSingleUserIdFromUserProfileForException() throws Exception {
@@ -710,10 +790,11 @@ public class RefDataUtilTest {
         when(response.status()).thenReturn(realResponse.status());
         when(userProfileFeignClient.getUserProfileById(any())).thenReturn(response);
 
-        ProfessionalUser result = RefDataUtil.getSingleUserIdFromUserProfile(new ProfessionalUser("firstName",
+        SuperUser result = RefDataUtil.getUserIdFromUserProfile(singletonList(new SuperUser("firstName",
                 "lastName", "emailAddress", new Organisation("name",
                 OrganisationStatus.PENDING, "sraId", "companyNumber", Boolean.TRUE,
-                "companyUrl")), userProfileFeignClient, Boolean.TRUE);
+                "companyUrl"))), new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), Boolean.TRUE)
+                .get(0);
         assertThat(result).isNotNull();
         verify(userProfileFeignClient, times(1)).getUserProfileById(any());
         verify(response, times(1)).body();
@@ -830,8 +911,8 @@ public class RefDataUtilTest {
                 .request(mock(Request.class)).build();
         when(userProfileFeignClient.getUserProfileById(any())).thenReturn(response);
 
-        List<SuperUser> userProfileDtls = RefDataUtil.getUserIdFromUserProfile(users, userProfileFeignClient,
-                true);
+        List<SuperUser> userProfileDtls = RefDataUtil.getUserIdFromUserProfile(users,
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), true);
 
         assertThat(userProfileDtls).isNotNull();
         assertThat(userProfileDtls.size()).isNotZero();
@@ -839,6 +920,119 @@ public class RefDataUtilTest {
 
     }
 
+    @Test
+    public void test_getUserIdFromUserProfile_resolvesMultipleUsersInOneBatch() {
+        SuperUser superUser1 = new SuperUser("fName1", "lName1", "someone1@email.com", organisation);
+        superUser1.setUserIdentifier("id-1");
+        SuperUser superUser2 = new SuperUser("fName2", "lName2", "someone2@email.com", organisation);
+        superUser2.setUserIdentifier("id-2");
+
+        String body = "{\"userProfiles\": ["
+                + "{\"userIdentifier\": \"id-1\", \"firstName\": \"first1\", \"lastName\": \"last1\","
+                + " \"email\": \"one@email.com\"},"
+                + "{\"userIdentifier\": \"id-2\", \"firstName\": \"first2\", \"lastName\": \"last2\","
+                + " \"email\": \"two@email.com\"}]}";
+
+        Response response = Response.builder().status(200).reason("OK").headers(new HashMap<>())
+                .body(body, UTF_8).request(mock(Request.class)).build();
+        when(userProfileFeignClient.getUserProfiles(any(), any(), any())).thenReturn(response);
+
+        List<SuperUser> userProfileDtls = RefDataUtil.getUserIdFromUserProfile(asList(superUser1, superUser2),
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), false);
+
+        assertThat(userProfileDtls).hasSize(2);
+        assertThat(userProfileDtls.get(0).getFirstName()).isEqualTo("first1");
+        assertThat(userProfileDtls.get(0).getEmailAddress()).isEqualTo("one@email.com");
+        assertThat(userProfileDtls.get(1).getLastName()).isEqualTo("last2");
+        assertThat(userProfileDtls.get(1).getUserIdentifier()).isEqualTo("id-2");
+        verify(userProfileFeignClient, times(1)).getUserProfiles(any(), any(), any());
+        verify(userProfileFeignClient, times(0)).getUserProfileById(any());
+    }
+
+    @Test
+    public void test_getUserIdFromUserProfile_requestsRolesInBatchWhenRolesAreRequired() {
+        SuperUser superUser1 = new SuperUser("fName1", "lName1", "someone1@email.com", organisation);
+        superUser1.setUserIdentifier("id-1");
+        SuperUser superUser2 = new SuperUser("fName2", "lName2", "someone2@email.com", organisation);
+        superUser2.setUserIdentifier("id-2");
+
+        String body = "{\"userProfiles\": ["
+                + "{\"userIdentifier\": \"id-1\", \"firstName\": \"first1\", \"lastName\": \"last1\","
+                + " \"email\": \"one@email.com\", \"idamStatus\": \"ACTIVE\", \"roles\": [\"pui-user-manager\"]},"
+                + "{\"userIdentifier\": \"id-2\", \"firstName\": \"first2\", \"lastName\": \"last2\","
+                + " \"email\": \"two@email.com\", \"idamStatus\": \"PENDING\", \"roles\": []}]}";
+        when(userProfileFeignClient.getUserProfiles(any(), any(), any())).thenReturn(Response.builder().status(200)
+                .reason("OK").headers(new HashMap<>()).body(body, UTF_8).request(mock(Request.class)).build());
+
+        List<SuperUser> userProfileDtls = RefDataUtil.getUserIdFromUserProfile(asList(superUser1, superUser2),
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), true);
+
+        assertThat(userProfileDtls).extracting(SuperUser::getUserIdentifier).containsExactly("id-1", "id-2");
+        assertThat(userProfileDtls).extracting(SuperUser::getFirstName).containsExactly("first1", "first2");
+        verify(userProfileFeignClient, times(1)).getUserProfiles(any(), eq("true"), eq("true"));
+        verify(userProfileFeignClient, times(0)).getUserProfileById(any());
+    }
+
+    @Test
+    public void test_getUserIdFromUserProfile_fallsBackToSingleLookupsWhenBatchFails() throws Exception {
+        SuperUser superUser1 = new SuperUser("fName1", "lName1", "someone1@email.com", organisation);
+        superUser1.setUserIdentifier("id-1");
+        SuperUser superUser2 = new SuperUser("fName2", "lName2", "someone2@email.com", organisation);
+        superUser2.setUserIdentifier("id-2");
+
+        Response batchResponse = Response.builder().status(500).reason("").headers(new HashMap<>())
+                .body("{}", UTF_8).request(mock(Request.class)).build();
+        when(userProfileFeignClient.getUserProfiles(any(), any(), any())).thenReturn(batchResponse);
+
+        String body = new ObjectMapper().writeValueAsString(getUserProfileResponse);
+        when(userProfileFeignClient.getUserProfileById(any())).thenAnswer(invocation -> Response.builder()
+                .status(200).reason("OK").headers(new HashMap<>()).body(body, UTF_8)
+                .request(mock(Request.class)).build());
+
+        List<SuperUser> userProfileDtls = RefDataUtil.getUserIdFromUserProfile(asList(superUser1, superUser2),
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), false);
+
+        assertThat(userProfileDtls).hasSize(2);
+        assertThat(userProfileDtls.get(0).getFirstName()).isEqualTo("firstName");
+        verify(userProfileFeignClient, times(1)).getUserProfiles(any(), any(), any());
+        verify(userProfileFeignClient, times(2)).getUserProfileById(any());
+    }
+
+    @Test
+    public void test_getUserIdFromUserProfile_async_resolvesUsersMissingFromBatchIndividually() throws Exception {
+        SuperUser superUser1 = new SuperUser("fName1", "lName1", "someone1@email.com", organisation);
+        superUser1.setUserIdentifier("id-1");
+        SuperUser superUser2 = new SuperUser("fName2", "lName2", "someone2@email.com", organisation);
+        superUser2.setUserIdentifier("id-2");
+
+        String batchBody = "{\"userProfiles\": [{\"userIdentifier\": \"id-1\", \"firstName\": \"first1\","
+                + " \"lastName\": \"last1\", \"email\": \"one@email.com\"}]}";
+        when(userProfileFeignClient.getUserProfiles(any(), any(), any())).thenReturn(Response.builder().status(200)
+                .reason("OK").headers(new HashMap<>()).body(batchBody, UTF_8).request(mock(Request.class)).build());
+        String body = new ObjectMapper().writeValueAsString(getUserProfileResponse);
+        when(userProfileFeignClient.getUserProfileById("id-2")).thenReturn(Response.builder().status(200)
+                .reason("OK").headers(new HashMap<>()).body(body, UTF_8).request(mock(Request.class)).build());
+
+        List<SuperUser> userProfileDtls = RefDataUtil.getUserIdFromUserProfile(asList(superUser1, superUser2),
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run), false);
+
+        assertThat(userProfileDtls).hasSize(2);
+        assertThat(userProfileDtls.get(0).getFirstName()).isEqualTo("first1");
+        assertThat(userProfileDtls.get(1).getFirstName()).isEqualTo("firstName");
+        verify(userProfileFeignClient, times(1)).getUserProfiles(any(), any(), any());
+        verify(userProfileFeignClient, times(1)).getUserProfileById("id-2");
+    }
+
+    @Test(expected = ExternalApiException.class)
+    public void test_deleteUserProfilesFromUp_async_rethrowsFeignExceptionAsExternalApiException() {
+        FeignException feignException = mock(FeignException.class);
+        when(feignException.status()).thenReturn(500);
+        when(userProfileFeignClient.deleteUserProfile(any())).thenThrow(feignException);
+
+        RefDataUtil.deleteUserProfilesFromUp(new DeleteUserProfilesRequest(new HashSet<>(List.of("id-1"))),
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run));
+    }
+
     @Test
     public void test_setOrgIdInGetUserResponse_with_roles_response() {
         List<ProfessionalUsersResponse> professionalUsersResponses = new ArrayList<>();
@@ -900,8 +1094,9 @@ public class RefDataUtilTest {
                 .request(mock(Request.class)).build();
         when(userProfileFeignClient.deleteUserProfile(any())).thenReturn(response);
 
-        DeleteOrganisationResponse deleteOrganisationResponse = RefDataUtil
-                .deleteUserProfilesFromUp(any(), userProfileFeignClient);
+        DeleteOrganisationResponse deleteOrganisationResponse = RefDataUtil.deleteUserProfilesFromUp(
+                new DeleteUserProfilesRequest(new HashSet<>(List.of("id-1"))),
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run));
 
         assertThat(deleteOrganisationResponse).isNotNull();
         assertThat(deleteOrganisationResponse.getStatusCode()).isEqualTo(204);
@@ -922,8 +1117,9 @@ public class RefDataUtilTest {
                 .request(mock(Request.class)).build();
         when(userProfileFeignClient.deleteUserProfile(any())).thenReturn(response);
 
-        DeleteOrganisationResponse deleteOrganisationResponse = RefDataUtil
-                .deleteUserProfilesFromUp(any(), userProfileFeignClient);
+        DeleteOrganisationResponse deleteOrganisationResponse = RefDataUtil.deleteUserProfilesFromUp(
+                new DeleteUserProfilesRequest(new HashSet<>(List.of("id-1"))),
+                new UserProfileAsyncClient(userProfileFeignClient, Runnable::run));
 
         assertThat(deleteOrganisationResponse).isNotNull();
         assertThat(deleteOrganisationResponse.getStatusCode()).isEqualTo(500);